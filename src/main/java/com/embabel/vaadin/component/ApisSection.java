@@ -184,7 +184,7 @@ public class ApisSection extends VerticalLayout {
         formArea.add(progressBar, statusText);
 
         var ui = UI.getCurrent();
-        Thread.startVirtualThread(() -> {
+        UiScheduler.shared().submit(this, () -> {
             try {
                 var result = onLearn.apply(url);
                 ui.access(() -> buildStep2Form(url, result, onLearn, onSave));
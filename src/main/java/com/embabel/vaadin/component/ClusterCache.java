@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.ClusteredViewLoader.ClusteredView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers what the store returned for a Clusters view — the similarity clusters, the leftovers
+ * and the in-scope total — so flipping between List and Clusters, or across status filters
+ * and back, doesn't repeat a pairwise sweep over a context that hasn't changed. Least recently
+ * used views are dropped past a fixed size. Safe to use from a background refresh.
+ */
+final class ClusterCache {
+
+    /**
+     * Everything a clustering result depends on.
+     *
+     * @param contextId context the sweep was scoped to
+     * @param statuses  status filter on the query
+     * @param threshold similarity threshold handed to {@code findClusters}
+     * @param topK      neighbours per anchor handed to {@code findClusters}
+     * @param revision  the host's repository revision marker when the sweep ran, or null when the
+     *                  host doesn't provide one (the panel then invalidates on every external refresh)
+     */
+    record Key(String contextId, Set<PropositionStatus> statuses, double threshold, int topK, Object revision) {
+    }
+
+    private final Map<Key, ClusteredView> entries;
+    /** Bumped by every invalidation, so a load that started before one can't cache stale results. */
+    private long epoch;
+
+    ClusterCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ClusteredView> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized ClusteredView get(Key key) {
+        return entries.get(key);
+    }
+
+    /** Read before loading, and hand it back to {@link #put} with the result. */
+    synchronized long epoch() {
+        return epoch;
+    }
+
+    /** Caches {@code view} unless the cache was invalidated since {@code loadEpoch} was read. */
+    synchronized void put(Key key, ClusteredView view, long loadEpoch) {
+        if (loadEpoch == epoch) {
+            entries.put(key, view);
+        }
+    }
+
+    synchronized void invalidateAll() {
+        epoch++;
+        entries.clear();
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.vaadin.component.MemoryClusters.ClusterAdded;
+import com.embabel.vaadin.component.MemoryClusters.ClusterDelta;
+import com.embabel.vaadin.component.MemoryClusters.ClusterMemberView;
+import com.embabel.vaadin.component.MemoryClusters.ClusterRemoved;
+import com.embabel.vaadin.component.MemoryClusters.ClusteredMemories;
+import com.embabel.vaadin.component.MemoryClusters.EdgeProvenanceChanged;
+import com.embabel.vaadin.component.MemoryClusters.MemberAdded;
+import com.embabel.vaadin.component.MemoryClusters.MemberRemoved;
+import com.embabel.vaadin.component.MemoryClusters.MemoryClusterView;
+import com.embabel.vaadin.component.MemoryClusters.MemoryRemoved;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Applies a host's {@link ClusterDelta}s to the snapshot the Clusters view was rendered from,
+ * working out what the panel has to rebuild: which cluster containers changed or went away, and
+ * which memories joined or left the Unclustered section. Touches no component.
+ */
+final class ClusterDeltas {
+
+    /**
+     * The outcome of a batch of deltas.
+     *
+     * @param snapshot            the view after the deltas, clusters in their original order with new ones last
+     * @param changedClusters     clusters added or modified, all present in {@code snapshot}
+     * @param removedClusters     clusters in the old snapshot that are gone
+     * @param unclusteredAdded    memories that joined the Unclustered section, in the order they left their clusters
+     * @param unclusteredRemoved  ids of memories that left the Unclustered section
+     */
+    record Applied(ClusteredMemories snapshot, Set<String> changedClusters, Set<String> removedClusters,
+                   List<Proposition> unclusteredAdded, Set<String> unclusteredRemoved) {
+    }
+
+    private ClusterDeltas() {
+    }
+
+    /**
+     * @return the patched view, or empty if a delta doesn't fit {@code snapshot} (an unknown
+     * cluster or member, or a cluster added twice) — the host and the panel disagree, and only a
+     * fresh snapshot can settle it
+     */
+    static Optional<Applied> apply(ClusteredMemories snapshot, List<ClusterDelta> deltas) {
+        var clusters = new LinkedHashMap<String, MemoryClusterView>();
+        var members = new LinkedHashMap<String, List<ClusterMemberView>>();
+        for (var cluster : snapshot.clusters()) {
+            clusters.put(cluster.id(), cluster);
+            members.put(cluster.id(), new ArrayList<>(cluster.members()));
+        }
+        var changed = new LinkedHashSet<String>();
+        var removed = new LinkedHashSet<String>();
+        var released = new LinkedHashMap<String, Proposition>();
+        var gone = new HashSet<String>();
+
+        for (var delta : deltas) {
+            switch (delta) {
+                case ClusterAdded added -> {
+                    var cluster = added.cluster();
+                    if (clusters.containsKey(cluster.id())) {
+                        return Optional.empty();
+                    }
+                    clusters.put(cluster.id(), cluster);
+                    members.put(cluster.id(), new ArrayList<>(cluster.members()));
+                    changed.add(cluster.id());
+                }
+                case ClusterRemoved clusterRemoved -> {
+                    var id = clusterRemoved.clusterId();
+                    if (clusters.remove(id) == null) {
+                        return Optional.empty();
+                    }
+                    members.remove(id).forEach(m -> released.put(m.proposition().getId(), m.proposition()));
+                    changed.remove(id);
+                    if (snapshot.clusters().stream().anyMatch(c -> c.id().equals(id))) {
+                        removed.add(id);
+                    }
+                }
+                case MemberAdded memberAdded -> {
+                    var list = members.get(memberAdded.clusterId());
+                    if (list == null) {
+                        return Optional.empty();
+                    }
+                    var member = memberAdded.member();
+                    int at = indexOf(list, member.proposition().getId());
+                    if (at >= 0) {
+                        list.set(at, member);
+                    } else {
+                        list.add(member);
+                    }
+                    gone.remove(member.proposition().getId());
+                    changed.add(memberAdded.clusterId());
+                }
+                case MemberRemoved memberRemoved -> {
+                    var list = members.get(memberRemoved.clusterId());
+                    int at = list == null ? -1 : indexOf(list, memberRemoved.propositionId());
+                    if (at < 0) {
+                        return Optional.empty();
+                    }
+                    var prop = list.remove(at).proposition();
+                    released.put(prop.getId(), prop);
+                    changed.add(memberRemoved.clusterId());
+                }
+                case EdgeProvenanceChanged edge -> {
+                    var list = members.get(edge.clusterId());
+                    int at = list == null ? -1 : indexOf(list, edge.propositionId());
+                    if (at < 0) {
+                        return Optional.empty();
+                    }
+                    list.set(at, new ClusterMemberView(list.get(at).proposition(), edge.provenance(), edge.edgeTag()));
+                    changed.add(edge.clusterId());
+                }
+                case MemoryRemoved memoryRemoved -> {
+                    var id = memoryRemoved.propositionId();
+                    members.forEach((clusterId, list) -> {
+                        if (list.removeIf(m -> m.proposition().getId().equals(id))) {
+                            changed.add(clusterId);
+                        }
+                    });
+                    released.remove(id);
+                    gone.add(id);
+                }
+            }
+        }
+
+        var clustered = new HashSet<String>();
+        members.values().forEach(list -> list.forEach(m -> clustered.add(m.proposition().getId())));
+        var unclustered = new ArrayList<Proposition>();
+        var unclusteredRemoved = new LinkedHashSet<String>();
+        var stillUnclustered = new HashSet<String>();
+        for (var prop : snapshot.unclustered()) {
+            if (clustered.contains(prop.getId()) || gone.contains(prop.getId())) {
+                unclusteredRemoved.add(prop.getId());
+            } else {
+                unclustered.add(prop);
+                stillUnclustered.add(prop.getId());
+            }
+        }
+        var unclusteredAdded = new ArrayList<Proposition>();
+        for (var prop : released.values()) {
+            var id = prop.getId();
+            if (!clustered.contains(id) && !gone.contains(id) && stillUnclustered.add(id)) {
+                unclusteredAdded.add(prop);
+            }
+        }
+        unclustered.addAll(unclusteredAdded);
+
+        var patched = new ArrayList<MemoryClusterView>(clusters.size());
+        for (Map.Entry<String, MemoryClusterView> entry : clusters.entrySet()) {
+            var cluster = entry.getValue();
+            patched.add(changed.contains(entry.getKey())
+                    ? new MemoryClusterView(cluster.id(), cluster.title(), cluster.kind(),
+                    List.copyOf(members.get(entry.getKey())))
+                    : cluster);
+        }
+        return Optional.of(new Applied(new ClusteredMemories(List.copyOf(patched), List.copyOf(unclustered)),
+                changed, removed, unclusteredAdded, unclusteredRemoved));
+    }
+
+    private static int indexOf(List<ClusterMemberView> members, String propositionId) {
+        for (int i = 0; i < members.size(); i++) {
+            if (members.get(i).proposition().getId().equals(propositionId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
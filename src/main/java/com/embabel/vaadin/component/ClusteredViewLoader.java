@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.service.Cluster;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Loads everything the panel's own Clusters view shows — the similarity clusters, the memories
+ * no cluster claimed, and the in-scope total — in one go. A host with a store that can answer
+ * that in a single round trip (one Cypher query that clusters and collects the leftovers, say)
+ * implements this instead of letting the panel call {@code findClusters} and then re-query the
+ * whole context just to find what's left over.
+ */
+@FunctionalInterface
+public interface ClusteredViewLoader {
+
+    /**
+     * @param clusters    similarity clusters, anchor first in each
+     * @param unclustered in-scope memories that belong to no cluster, newest first
+     * @param total       how many memories the query matched, clustered or not
+     */
+    record ClusteredView(List<Cluster<Proposition>> clusters, List<Proposition> unclustered, int total) {
+    }
+
+    /**
+     * @param query     context + status filter, exactly as the flat list would query it
+     * @param threshold minimum similarity for two memories to share a cluster
+     * @param topK      neighbours considered per anchor
+     * @return the clusters and leftovers for {@code query}
+     */
+    ClusteredView load(PropositionQuery query, double threshold, int topK);
+
+    /**
+     * The fallback the panel uses when the host doesn't supply a loader: {@code findClusters} plus
+     * one {@code query} for the unclustered memories and the total. Two round trips, but the
+     * leftovers are picked out in a single pass over the query result.
+     *
+     * @param repository store to cluster and query
+     * @return a loader backed by the repository's generic operations
+     */
+    static ClusteredViewLoader of(PropositionRepository repository) {
+        return (query, threshold, topK) -> {
+            var clusters = repository.findClusters(threshold, topK, query);
+            var clusteredIds = new HashSet<String>();
+            for (var cluster : clusters) {
+                clusteredIds.add(cluster.getAnchor().getId());
+                cluster.getSimilar().forEach(sim -> clusteredIds.add(sim.getMatch().getId()));
+            }
+            var inScope = repository.query(query);
+            var unclustered = new ArrayList<Proposition>();
+            for (var prop : inScope) {
+                if (!clusteredIds.contains(prop.getId())) {
+                    unclustered.add(prop);
+                }
+            }
+            unclustered.sort(Comparator.comparing(Proposition::getCreated).reversed());
+            return new ClusteredView(clusters, unclustered, inScope.size());
+        };
+    }
+}
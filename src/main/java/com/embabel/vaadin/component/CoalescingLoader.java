@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Turns a host's batch lookup into the one-id-at-a-time function the cards, entity dialogs and
+ * lineage section call, coalescing the ids asked for within a short window into a single batch
+ * call. The first caller of a window waits it out, then runs the batch for every id asked in the
+ * meantime and hands each caller its own result; an id asked twice in one window is looked up
+ * once. A host whose store answers a batch in one query (a single Cypher {@code UNWIND}, say)
+ * then sees one query per window instead of one per click or card.
+ *
+ * <p>The scope is the instance: one shared by every session's panels coalesces lookups across
+ * users of the same contexts, one per panel coalesces only that UI's. Within one UI lookups
+ * already run one after another on the request thread, so a per-UI loader mostly saves the
+ * repeated lookups, not round trips. Results aren't kept past their window.
+ *
+ * <pre>{@code
+ * // traceStore overrides lineageForAll with one query for the lot
+ * memorySection.setLineageProvider(CoalescingLoader.lineage(traceStore));
+ * memorySection.setRelatedRecordsLoader(new CoalescingLoader<>(crm::relatedRecordsFor));
+ * }</pre>
+ *
+ * @param <K> the id type
+ * @param <V> what the lookup returns for one id; ids missing from the batch result get null
+ */
+public final class CoalescingLoader<K, V> implements Function<K, V> {
+
+    /** How long the first lookup of a window waits for others to join it. */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+
+    private final Function<Collection<K>, Map<K, V>> batch;
+    private final long windowNanos;
+    private final Object lock = new Object();
+    /** Ids asked for in the window still collecting, or null when none is. */
+    private Map<K, CompletableFuture<V>> collecting;
+
+    /**
+     * @param batch looks up a set of ids in one go; returns results only for ids it found
+     */
+    public CoalescingLoader(Function<Collection<K>, Map<K, V>> batch) {
+        this(batch, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param batch  looks up a set of ids in one go; returns results only for ids it found
+     * @param window how long to collect ids before running the batch; zero still coalesces lookups
+     *               that arrive while the first one is being set up
+     */
+    public CoalescingLoader(Function<Collection<K>, Map<K, V>> batch, Duration window) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("window must not be negative: " + window);
+        }
+        this.batch = batch;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Coalesces {@link LineageProvider#lineageFor} calls into {@link LineageProvider#lineageForAll}
+     * on {@code provider}.
+     */
+    public static LineageProvider lineage(LineageProvider provider) {
+        var loader = new CoalescingLoader<String, LineageProvider.Lineage>(provider::lineageForAll);
+        return new LineageProvider() {
+            @Override
+            public Optional<Lineage> lineageFor(String propositionId) {
+                return Optional.ofNullable(loader.apply(propositionId));
+            }
+
+            @Override
+            public Map<String, Lineage> lineageForAll(Collection<String> propositionIds) {
+                return provider.lineageForAll(propositionIds);
+            }
+        };
+    }
+
+    /**
+     * Coalesces {@link CollapseExplanationProvider#explain} calls into
+     * {@link CollapseExplanationProvider#explainAll} on {@code provider}. The panel's own per-render
+     * {@code explainAll} goes straight through.
+     */
+    public static CollapseExplanationProvider collapseExplanations(CollapseExplanationProvider provider) {
+        var loader = new CoalescingLoader<String, CollapseExplanation>(provider::explainAll);
+        return new CollapseExplanationProvider() {
+            @Override
+            public Optional<CollapseExplanation> explain(String propositionId) {
+                return Optional.ofNullable(loader.apply(propositionId));
+            }
+
+            @Override
+            public Map<String, CollapseExplanation> explainAll(Collection<String> propositionIds) {
+                return provider.explainAll(propositionIds);
+            }
+        };
+    }
+
+    /**
+     * Looks up {@code key}, together with whatever else is asked for within the window. Blocks the
+     * calling thread for up to the window plus the batch call.
+     *
+     * @return the batch's result for {@code key}, or null if it had none
+     * @throws RuntimeException whatever the batch threw, rethrown to every caller of its window
+     */
+    @Override
+    public V apply(K key) {
+        Map<K, CompletableFuture<V>> window;
+        CompletableFuture<V> result;
+        boolean first;
+        synchronized (lock) {
+            first = collecting == null;
+            if (first) {
+                collecting = new LinkedHashMap<>();
+            }
+            window = collecting;
+            result = window.computeIfAbsent(key, k -> new CompletableFuture<>());
+        }
+        if (first) {
+            waitOutWindow();
+            synchronized (lock) {
+                collecting = null;
+            }
+            run(window);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void waitOutWindow() {
+        long deadline = System.nanoTime() + windowNanos;
+        for (long left = windowNanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, left);
+            if (Thread.currentThread().isInterrupted()) {
+                // Don't hold everyone up: run what's collected so far and keep the flag set.
+                return;
+            }
+        }
+    }
+
+    /** Runs the batch for a closed window; nothing can join it any more. */
+    private void run(Map<K, CompletableFuture<V>> window) {
+        Map<K, V> found;
+        try {
+            found = batch.apply(List.copyOf(window.keySet()));
+        } catch (RuntimeException | Error e) {
+            window.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        window.forEach((key, future) -> future.complete(found == null ? null : found.get(key)));
+    }
+}
@@ -163,7 +163,7 @@ public class CronExpressionField extends VerticalLayout {
 
         button.setEnabled(false);
         naturalField.setHelperText("Compiling...");
-        Thread.startVirtualThread(() -> {
+        UiScheduler.shared().submit(this, () -> {
             try {
                 var result = compiler.apply(String.format(TO_CRON_PROMPT, text.trim())).trim();
                 ui.access(() -> {
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * An {@link EntityResolver} that remembers what another one returned, meant to be shared by every
+ * session's Memory tab: one instance per application wrapping the host's resolver, handed to each
+ * {@link PropositionsPanel} in place of it. Entities then cost one lookup each until they change,
+ * rather than one per render of every user looking at the same context.
+ *
+ * <p>Bounded in size, least recently used dropped first, and each entry expires after a fixed time
+ * so an entity changed behind the host's back is picked up eventually. A host that knows when an
+ * entity changes calls {@link #invalidate(String)} and the next render sees the change. Ids that
+ * didn't resolve are remembered too, so a mention of an unknown entity isn't looked up again on
+ * every render — invalidate the id when that entity is created. Batch lookups pass only the ids
+ * not already cached on to the wrapped resolver's {@link EntityResolver#resolveAll}.
+ *
+ * <p>Safe to use from any thread; the wrapped resolver is never called with the cache locked.
+ */
+public final class EntityCache implements EntityResolver {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    /** A cached lookup; {@code entity} is null for an id that didn't resolve. */
+    private record Entry(NamedEntity entity, Instant expires) {
+    }
+
+    private final EntityResolver resolver;
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Bumped by every invalidation, so a lookup that started before one doesn't cache what it
+     * fetched: it may be the entity as it was before the change.
+     */
+    private long invalidations;
+
+    /**
+     * A cache of {@link #DEFAULT_MAX_SIZE} entities kept for {@link #DEFAULT_TTL}.
+     *
+     * @param resolver the resolver to cache; its batch lookup is used if it's an {@link EntityResolver}
+     */
+    public EntityCache(Function<String, NamedEntity> resolver) {
+        this(resolver, DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * @param resolver the resolver to cache; its batch lookup is used if it's an {@link EntityResolver}
+     * @param maxSize  most entities (and unresolved ids) kept at once
+     * @param ttl      how long a lookup is trusted
+     */
+    public EntityCache(Function<String, NamedEntity> resolver, int maxSize, Duration ttl) {
+        this(resolver, maxSize, ttl, Clock.systemUTC());
+    }
+
+    EntityCache(Function<String, NamedEntity> resolver, int maxSize, Duration ttl, Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1: " + maxSize);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        this.resolver = EntityResolver.of(resolver);
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > EntityCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public NamedEntity apply(String entityId) {
+        long started;
+        synchronized (this) {
+            var cached = fresh(entityId);
+            if (cached != null) {
+                hits.increment();
+                return cached.entity();
+            }
+            started = invalidations;
+        }
+        misses.increment();
+        var entity = resolver.apply(entityId);
+        synchronized (this) {
+            if (started == invalidations) {
+                entries.put(entityId, new Entry(entity, clock.instant().plus(ttl)));
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public Map<String, NamedEntity> resolveAll(Collection<String> entityIds) {
+        var result = new LinkedHashMap<String, NamedEntity>();
+        var missing = new ArrayList<String>();
+        long started;
+        synchronized (this) {
+            for (var id : entityIds) {
+                var cached = fresh(id);
+                if (cached == null) {
+                    missing.add(id);
+                } else if (cached.entity() != null) {
+                    result.put(id, cached.entity());
+                }
+            }
+            started = invalidations;
+        }
+        hits.add(entityIds.size() - missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        misses.add(missing.size());
+        var found = resolver.resolveAll(missing);
+        synchronized (this) {
+            if (started == invalidations) {
+                var expires = clock.instant().plus(ttl);
+                missing.forEach(id -> entries.put(id, new Entry(found.get(id), expires)));
+            }
+        }
+        // Keep the caller's order, as the wrapped resolver would.
+        var ordered = new LinkedHashMap<String, NamedEntity>();
+        for (var id : entityIds) {
+            var entity = result.containsKey(id) ? result.get(id) : found.get(id);
+            if (entity != null) {
+                ordered.put(id, entity);
+            }
+        }
+        return ordered;
+    }
+
+    /** An unexpired entry for {@code entityId}, dropping an expired one. Call with the cache locked. */
+    private Entry fresh(String entityId) {
+        var entry = entries.get(entityId);
+        if (entry != null && !clock.instant().isBefore(entry.expires())) {
+            entries.remove(entityId);
+            return null;
+        }
+        return entry;
+    }
+
+    /** Forgets {@code entityId}, so the next lookup asks the wrapped resolver. Call when it changes. */
+    public synchronized void invalidate(String entityId) {
+        invalidations++;
+        entries.remove(entityId);
+    }
+
+    /** Forgets everything, after a bulk change or import. */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    /** @return lookups answered from the cache since it was created */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /** @return lookups passed on to the wrapped resolver since the cache was created */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /** @return entries held now, expired ones not yet dropped included */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -20,13 +20,13 @@ import com.embabel.agent.rag.model.NamedEntityData;
 import com.embabel.dice.proposition.Proposition;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.HasComponents;
+import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.details.Details;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.NativeButton;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
-import com.vaadin.flow.dom.Element;
 
 import java.util.List;
 import java.util.Set;
@@ -35,6 +35,7 @@ import java.util.function.Function;
 /**
  * Reusable panel displaying a resolved entity with its type, name, and description.
  */
+@CssImport("./styles/entity-panel.css")
 public class EntityPanel extends Div {
 
     /**
@@ -93,21 +94,12 @@ public class EntityPanel extends Div {
         this.entity = entity;
         addClassName("entity-panel-360");
 
-        // Define dark-mode-aware color tokens as CSS custom properties. Light values are set
-        // as inline defaults; a real injected <style> element carries the dark-mode override
-        // via prefers-color-scheme so it works with no JS round-trip and is inspectable server-side
-        // (a plain executeJs() call can't be asserted on in a unit test — this can).
+        // Dark-mode-aware color tokens as CSS custom properties. Light values are set as inline
+        // defaults; the dark-mode override lives in entity-panel.css via prefers-color-scheme.
         getStyle().set("--entity-amber", "#b4790b");
         getStyle().set("--entity-violet", "#7548d6");
         getStyle().set("--entity-green", "#1c9a6c");
 
-        Element darkModeStyle = new Element("style");
-        darkModeStyle.setAttribute("class", "entity-panel-360-dark-mode-vars");
-        darkModeStyle.setText(
-                ".entity-panel-360 { --entity-amber: #b4790b; --entity-violet: #7548d6; --entity-green: #1c9a6c; } "
-                        + "@media (prefers-color-scheme: dark) { .entity-panel-360 { --entity-amber: #e0a840; --entity-violet: #a686f0; --entity-green: #3ecf8e; } }");
-        getElement().appendChild(darkModeStyle);
-
         // Use inline styles to apply Lumo-based design matching the entity-360 mock
         getStyle().set("display", "flex");
         getStyle().set("flex-direction", "column");
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves the entity ids on memory mentions to the entities themselves, so pills, the instant
+ * filter and cluster headers can show a name instead of the raw span. It's still a plain
+ * {@code Function<String, NamedEntity>}, so anything that took a resolver before takes this too;
+ * what it adds is a batch lookup the Memory tab calls once per render.
+ */
+@FunctionalInterface
+public interface EntityResolver extends Function<String, NamedEntity> {
+
+    /**
+     * @param entityId resolved id carried by a mention
+     * @return the entity, or null if it can't be resolved
+     */
+    @Override
+    NamedEntity apply(String entityId);
+
+    /**
+     * Resolves every entity id a render pass is about to show in one go — the panel calls this
+     * once per render instead of calling {@link #apply(String)} once per pill, so a host with a
+     * real batch query (a single Cypher lookup, say) can avoid one round trip per mention. The
+     * default just loops over {@link #apply(String)}, so existing resolvers keep working unchanged
+     * until they choose to override this.
+     *
+     * @param entityIds distinct entity ids being rendered
+     * @return a map from id to entity, containing only ids that actually resolved
+     */
+    default Map<String, NamedEntity> resolveAll(Collection<String> entityIds) {
+        var result = new LinkedHashMap<String, NamedEntity>();
+        for (var id : entityIds) {
+            var entity = apply(id);
+            if (entity != null) {
+                result.put(id, entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param resolver a plain resolver function, possibly already an {@code EntityResolver}
+     * @return the resolver itself if it already is one (keeping any batch override), otherwise a
+     * wrapper whose {@link #resolveAll(Collection)} loops; null for null
+     */
+    static EntityResolver of(Function<String, NamedEntity> resolver) {
+        if (resolver == null || resolver instanceof EntityResolver) {
+            return (EntityResolver) resolver;
+        }
+        return resolver::apply;
+    }
+}
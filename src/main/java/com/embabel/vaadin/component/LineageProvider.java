@@ -15,7 +15,10 @@
  */
 package com.embabel.vaadin.component;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,6 +36,22 @@ public interface LineageProvider {
      */
     Optional<Lineage> lineageFor(String propositionId);
 
+    /**
+     * Looks up the lineage of several propositions in one go — what {@link CoalescingLoader#lineage}
+     * calls with the ids asked for within its window, so a host with a real batch query can answer
+     * them in one round trip. The default just loops over {@link #lineageFor(String)}.
+     *
+     * @param propositionIds ids of the propositions to trace
+     * @return a map from id to lineage, containing only ids that had one on record
+     */
+    default Map<String, Lineage> lineageForAll(Collection<String> propositionIds) {
+        var result = new LinkedHashMap<String, Lineage>();
+        for (var id : propositionIds) {
+            lineageFor(id).ifPresent(lineage -> result.put(id, lineage));
+        }
+        return result;
+    }
+
     /**
      * A proposition's full trail: what it's grounded on, its provenance entries, and the collapse
      * that produced it, if any.
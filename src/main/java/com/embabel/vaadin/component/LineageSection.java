@@ -18,7 +18,6 @@ package com.embabel.vaadin.component;
 import com.vaadin.flow.component.ClickEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
-import com.vaadin.flow.component.Html;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
@@ -36,284 +35,14 @@ import java.util.function.Predicate;
  * {@link LineageProvider} supplied by the host, so this component doesn't know or care where the
  * trace is stored.
  */
+@CssImport("./styles/lineage-section.css")
 public class LineageSection extends VerticalLayout {
 
-    private static final String STYLES = """
-            .lineage-section {
-              --lumo-space-xs: 4px;
-              --lumo-space-s: 8px;
-              --lumo-space-m: 16px;
-              --lumo-space-l: 24px;
-              --lumo-border-radius: 6px;
-              --lumo-border-radius-l: 10px;
-              --lumo-shadow: 0 1px 2px rgba(20,22,28,.06), 0 4px 12px rgba(20,22,28,.05);
-              --lumo-text-secondary: var(--lumo-secondary-text-color, #5c6370);
-              --lumo-text-tertiary: var(--lumo-tertiary-text-color, #8a909c);
-              --lumo-surface-weak: var(--lumo-contrast-10pct, #eef0f3);
-              --color-blue: #1676f3;
-              --color-blue-weak: #e8f1fe;
-              --color-amber: #b4790b;
-              --color-amber-weak: #fdf1de;
-              --color-violet: #7548d6;
-              --color-violet-weak: #f1ebfd;
-              --color-green: #1c9a6c;
-              --color-green-weak: #e5f6ee;
-            }
-
-            @media (prefers-color-scheme: dark) {
-              .lineage-section {
-                --color-blue: #4c9aff;
-                --color-blue-weak: #123056;
-                --color-amber: #e0a840;
-                --color-amber-weak: #3a2c10;
-                --color-violet: #a686f0;
-                --color-violet-weak: #2a2140;
-                --color-green: #3ecf8e;
-                --color-green-weak: #123626;
-                --lumo-text-secondary: #a4aab4;
-                --lumo-text-tertiary: #767c87;
-                --lumo-surface-weak: #252932;
-              }
-            }
-
-            .lineage-section .lineage-card {
-              background: var(--lumo-base-color, #ffffff);
-              border: 1px solid var(--lumo-contrast-20pct, #e2e5ea);
-              border-radius: var(--lumo-border-radius-l);
-              box-shadow: var(--lumo-shadow);
-              margin-bottom: var(--lumo-space-m);
-            }
-
-            .lineage-card-header {
-              display: flex;
-              align-items: center;
-              gap: var(--lumo-space-s);
-              padding: var(--lumo-space-s) calc(var(--lumo-space-s) + 6px);
-              border-bottom: 1px solid var(--lumo-contrast-20pct, #e2e5ea);
-            }
-
-            .lineage-card-header .lineage-icon {
-              width: 22px;
-              height: 22px;
-              border-radius: 5px;
-              display: flex;
-              align-items: center;
-              justify-content: center;
-              flex-shrink: 0;
-            }
-
-            .lineage-card-header .lineage-icon.icon-grounding {
-              background: var(--color-amber-weak);
-              color: var(--color-amber);
-            }
-
-            .lineage-card-header .lineage-icon.icon-provenance {
-              background: var(--color-blue-weak);
-              color: var(--color-blue);
-            }
-
-            .lineage-card-header .lineage-icon.icon-collapse {
-              background: var(--color-violet-weak);
-              color: var(--color-violet);
-            }
-
-            .lineage-card-header h3 {
-              margin: 0;
-              font-size: 12.5px;
-              font-weight: 600;
-              flex: 1;
-            }
-
-            .lineage-card-header .lineage-count {
-              font-size: 11px;
-              color: var(--lumo-text-tertiary);
-              background: var(--lumo-surface-weak);
-              padding: 2px 7px;
-              border-radius: 999px;
-            }
-
-            .lineage-card-body {
-              padding: var(--lumo-space-s) calc(var(--lumo-space-s) + 6px) calc(var(--lumo-space-s) + 2px);
-            }
-
-            /* Grounding refs */
-            .lineage-grounding {
-              display: flex;
-              flex-direction: column;
-              gap: 6px;
-            }
-
-            .lineage-grounding .lineage-ref {
-              display: flex;
-              align-items: center;
-              gap: var(--lumo-space-s);
-              padding: 7px 10px;
-              border: 1px solid var(--lumo-contrast-20pct, #e2e5ea);
-              border-radius: var(--lumo-border-radius);
-              background: var(--lumo-contrast-5pct, #f7f8fa);
-              font-size: 12px;
-            }
-
-            .lineage-grounding .lineage-ref .ref-src {
-              color: var(--lumo-text-tertiary);
-              font-size: 11px;
-              flex-shrink: 0;
-              width: 96px;
-            }
-
-            .lineage-grounding .lineage-ref .ref-txt {
-              color: var(--lumo-body-text-color, #1f2329);
-              flex: 1;
-              font-style: italic;
-              white-space: nowrap;
-              overflow: hidden;
-              text-overflow: ellipsis;
-            }
-
-            .lineage-grounding .lineage-ref .ref-go {
-              color: var(--color-blue);
-              font-size: 11px;
-              font-weight: 600;
-              flex-shrink: 0;
-              cursor: pointer;
-            }
-
-            /* Provenance steps */
-            .lineage-provenance .lineage-steps {
-              display: flex;
-              flex-direction: column;
-            }
-
-            .lineage-provenance .lineage-step {
-              display: flex;
-              gap: 10px;
-              position: relative;
-              margin-bottom: 4px;
-            }
-
-            .lineage-provenance .lineage-rail {
-              display: flex;
-              flex-direction: column;
-              align-items: center;
-              width: 20px;
-              flex-shrink: 0;
-            }
-
-            .lineage-provenance .lineage-node-dot {
-              width: 8px;
-              height: 8px;
-              border-radius: 50%;
-              background: var(--color-blue);
-              margin-top: 5px;
-              flex-shrink: 0;
-            }
-
-            .lineage-provenance .lineage-line {
-              width: 1.5px;
-              flex: 1;
-              background: var(--lumo-contrast-20pct, #e2e5ea);
-              margin-top: 2px;
-            }
-
-            .lineage-provenance .lineage-step:last-child .lineage-line {
-              display: none;
-            }
-
-            .lineage-step-body {
-              padding: 0 0 16px;
-              flex: 1;
-            }
-
-            .lineage-step-body .t1 {
-              font-weight: 600;
-              font-size: 12.5px;
-            }
-
-            .lineage-step-body .t2 {
-              color: var(--lumo-text-tertiary);
-              font-size: 11.5px;
-              margin-top: 1px;
-            }
-
-            .lineage-step-body .lineage-badge {
-              display: inline-block;
-              font-size: 10.5px;
-              font-weight: 600;
-              padding: 1px 7px;
-              border-radius: 999px;
-              background: var(--color-green-weak);
-              color: var(--color-green);
-              margin-left: 6px;
-            }
-
-            /* Collapse merge chain */
-            .lineage-merge-chain {
-              display: flex;
-              align-items: stretch;
-              gap: 0;
-              overflow-x: auto;
-              padding: 2px 0 6px;
-            }
-
-            .lineage-merge-node {
-              flex-shrink: 0;
-              width: 150px;
-              border: 1px solid var(--lumo-contrast-20pct, #e2e5ea);
-              border-radius: var(--lumo-border-radius);
-              padding: 8px 10px;
-              background: var(--lumo-contrast-5pct, #f7f8fa);
-              font-size: 11.5px;
-            }
-
-            .lineage-merge-node .merge-tag {
-              font-size: 10px;
-              text-transform: uppercase;
-              letter-spacing: 0.03em;
-              color: var(--lumo-text-tertiary);
-              margin-bottom: 3px;
-            }
-
-            .lineage-merge-node .merge-txt {
-              color: var(--lumo-text-secondary);
-            }
-
-            .lineage-merge-node.merge-survivor {
-              background: var(--color-green-weak);
-              border-color: var(--color-green);
-            }
-
-            .lineage-merge-node.merge-survivor .merge-tag {
-              color: var(--color-green);
-            }
-
-            .lineage-merge-arrow {
-              flex-shrink: 0;
-              width: 26px;
-              display: flex;
-              align-items: center;
-              justify-content: center;
-              color: var(--lumo-text-tertiary);
-            }
-
-            .lineage-empty {
-              color: var(--lumo-text-tertiary);
-              font-size: 12px;
-              padding: 6px 0;
-            }
-
-            .lineage-undo-member {
-              font-size: 10px;
-              padding: 2px 6px;
-              margin-left: 6px;
-              vertical-align: middle;
-              height: auto;
-              min-height: auto;
-            }
-            """;
-
     private final LineageProvider lineageProvider;
     private BiConsumer<String, String> onUndoMember;
     private BiConsumer<String, String> onAfterUndo;
+    private BiConsumer<String, java.util.List<String>> onUndoMembers;
+    private BiConsumer<String, java.util.List<String>> onAfterUndoMembers;
     // The proposition currently on show, so an Undo can re-render this same lineage
     // against fresh data once the retired member has been restored.
     private String currentPropositionId;
@@ -329,11 +58,6 @@ public class LineageSection extends VerticalLayout {
         setPadding(false);
         setSpacing(false);
         addClassName("lineage-styled");
-
-        // Inject styles once
-        if (getElement().getParent() == null) {
-            add(new Html("<style>" + STYLES + "</style>"));
-        }
     }
 
     /**
@@ -363,6 +87,32 @@ public class LineageSection extends VerticalLayout {
         this.onAfterUndo = handler;
     }
 
+    /**
+     * Sets a batch undo: restores any number of a survivor's retired members in one call, so the
+     * host can do it in one transaction. When set, it's used instead of
+     * {@link #setOnUndoMember(BiConsumer)} (per-member Undo calls it with a single id), and a
+     * collapse with more than one retired member also gets an "Undo all" button that restores the
+     * whole collapse with one call, one re-render and one after-undo event.
+     *
+     * @param callback receives (survivorId, retiredMemberIds); may be null to fall back to the
+     *                 per-member callback
+     */
+    public void setOnUndoMembers(BiConsumer<String, java.util.List<String>> callback) {
+        this.onUndoMembers = callback;
+    }
+
+    /**
+     * Batch counterpart of {@link #setOnAfterUndo(BiConsumer)}, with the same ordering guarantee:
+     * fired once per undo, however many members it restored. When set, it's used instead of the
+     * per-member after-undo callback.
+     *
+     * @param handler receives (survivorId, retiredMemberIds) after the undo has landed and the
+     *                section has re-rendered; may be null to fall back to the per-member handler
+     */
+    public void setOnAfterUndoMembers(BiConsumer<String, java.util.List<String>> handler) {
+        this.onAfterUndoMembers = handler;
+    }
+
     /**
      * Sets the callback to invoke when a grounding or provenance ref is opened.
      *
@@ -389,13 +139,7 @@ public class LineageSection extends VerticalLayout {
      */
     public void show(String propositionId) {
         this.currentPropositionId = propositionId;
-        // Remove all but the style tag
-        var children = getChildren().toList();
-        for (var child : children) {
-            if (!(child instanceof Html)) {
-                remove(child);
-            }
-        }
+        removeAll();
 
         var lineage = lineageProvider.lineageFor(propositionId);
         if (lineage.isEmpty()) {
@@ -591,6 +335,28 @@ public class LineageSection extends VerticalLayout {
         return card;
     }
 
+    /**
+     * Order matters here: run the backend restore first, then re-render by calling show() again —
+     * which re-queries lineageProvider, so we're never just re-painting a stale snapshot — and only
+     * once that fresh render is on screen do we tell the host the undo landed. If the restore
+     * itself throws, we don't re-render and we don't fire the after-undo callback: nothing
+     * actually changed, so nothing should look like it changed. We let the exception propagate
+     * rather than swallow it, so the host finds out the restore failed.
+     */
+    private void undo(String survivorId, java.util.List<String> retiredIds) {
+        if (onUndoMembers != null) {
+            onUndoMembers.accept(survivorId, retiredIds);
+        } else {
+            retiredIds.forEach(retiredId -> onUndoMember.accept(survivorId, retiredId));
+        }
+        show(currentPropositionId);
+        if (onAfterUndoMembers != null) {
+            onAfterUndoMembers.accept(survivorId, retiredIds);
+        } else if (onAfterUndo != null) {
+            retiredIds.forEach(retiredId -> onAfterUndo.accept(survivorId, retiredId));
+        }
+    }
+
     private Div createCollapseSection(CollapseExplanation explanation) {
         var card = new Div();
         card.addClassName("lineage-card");
@@ -619,6 +385,18 @@ public class LineageSection extends VerticalLayout {
         count.addClassName("lineage-count");
         header.add(count);
 
+        if (onUndoMembers != null && mergedInCount > 1) {
+            var undoAllButton = new Button("Undo all");
+            undoAllButton.addClassName("lineage-undo-all");
+            undoAllButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
+            var survivorId = explanation.survivorId();
+            var retiredIds = explanation.retired().stream()
+                    .map(CollapseExplanation.RetiredMember::propositionId)
+                    .toList();
+            undoAllButton.addClickListener(event -> undo(survivorId, retiredIds));
+            header.add(undoAllButton);
+        }
+
         card.add(header);
 
         var body = new Div();
@@ -649,26 +427,13 @@ public class LineageSection extends VerticalLayout {
             text.add(textSpan);
 
             // Add undo button if callback is set
-            if (onUndoMember != null) {
+            if (onUndoMember != null || onUndoMembers != null) {
                 var undoButton = new Button("Undo");
                 undoButton.addClassName("lineage-undo-member");
                 undoButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
                 var survivorId = explanation.survivorId();
                 var retiredId = member.propositionId();
-                undoButton.addClickListener(event -> {
-                    // Order matters here: run the backend restore first, then re-render by
-                    // calling show() again — which re-queries lineageProvider, so we're never
-                    // just re-painting a stale snapshot — and only once that fresh render is on
-                    // screen do we tell the host the undo landed. If the restore itself throws,
-                    // we don't re-render and we don't fire onAfterUndo: nothing actually changed,
-                    // so nothing should look like it changed. We let the exception propagate
-                    // rather than swallow it, so the host finds out the restore failed.
-                    onUndoMember.accept(survivorId, retiredId);
-                    show(currentPropositionId);
-                    if (onAfterUndo != null) {
-                        onAfterUndo.accept(survivorId, retiredId);
-                    }
-                });
+                undoButton.addClickListener(event -> undo(survivorId, java.util.List.of(retiredId)));
                 text.add(undoButton);
             }
 
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.vaadin.component.MemoryClusters.ClusteredMemories;
+import com.embabel.vaadin.component.MemoryClusters.LinkTarget;
+import com.embabel.vaadin.component.MemoryClusters.LinkTargetKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the Link… popover searches for one provider snapshot. Without a host search function
+ * the panel matches the query against the snapshot itself — clusters then unclustered memories —
+ * through a sorted index of every word in the cluster titles and memory texts: each query word
+ * must be a prefix of some word in the target, and finding the targets for it is a binary search
+ * plus a walk over the words that start with it. With a host search function the index only
+ * remembers what the host returned, so retyping a query, or backspacing to one already seen,
+ * doesn't ask again.
+ *
+ * <p>Both kinds of result are cached per query, least recently used dropped past a fixed size.
+ * The built-in match also reuses a cached shorter query: typing one more letter can only narrow
+ * the result, so only the previous matches need checking. Safe to use from a background search.
+ */
+final class LinkTargetIndex {
+
+    /** How many distinct queries are remembered, per kind of result. */
+    private static final int CACHED_QUERIES = 32;
+
+    private final ClusteredMemories snapshot;
+    private final Map<String, List<LinkTarget>> hostResults = lruMap();
+    private final Map<String, BitSet> matches = lruMap();
+    /** Targets in the fallback order; built with the word index on the first built-in match. */
+    private List<LinkTarget> targets;
+    /** Lowercased words of each target, by position in {@link #targets}. */
+    private List<String[]> targetWords;
+    /** Every word of every target, sorted, with the target each one came from. */
+    private String[] words;
+    private int[] owners;
+
+    LinkTargetIndex(ClusteredMemories snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    ClusteredMemories snapshot() {
+        return snapshot;
+    }
+
+    /** @return what the host's search returned for {@code query} against this snapshot, or null */
+    synchronized List<LinkTarget> cachedSearch(String query) {
+        return hostResults.get(hostKey(query));
+    }
+
+    synchronized void cacheSearch(String query, List<LinkTarget> results) {
+        hostResults.put(hostKey(query), List.copyOf(results));
+    }
+
+    /** The host decides what a query means, so only surrounding blanks are ignored. */
+    private static String hostKey(String query) {
+        return query == null ? "" : query.strip();
+    }
+
+    /**
+     * The built-in target list: clusters then unclustered memories, in snapshot order, narrowed
+     * to those where every word of {@code query} starts some word of the cluster title or memory
+     * text. A blank query matches everything.
+     */
+    synchronized List<LinkTarget> match(String query) {
+        indexIfNeeded();
+        var key = normalize(query);
+        if (key.isEmpty()) {
+            return targets;
+        }
+        var hits = matches.get(key);
+        if (hits == null) {
+            var tokens = key.split(" ");
+            var narrowed = longestCachedPrefix(key);
+            hits = narrowed != null ? recheck(narrowed, tokens) : lookUp(tokens);
+            matches.put(key, hits);
+        }
+        var out = new ArrayList<LinkTarget>(hits.cardinality());
+        for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+            out.add(targets.get(i));
+        }
+        return out;
+    }
+
+    private void indexIfNeeded() {
+        if (targets != null) {
+            return;
+        }
+        var built = new ArrayList<LinkTarget>();
+        targetWords = new ArrayList<>();
+        for (var cluster : snapshot.clusters()) {
+            built.add(new LinkTarget(LinkTargetKind.CLUSTER, cluster.id(),
+                    cluster.title() + " (" + cluster.members().size() + " memories)"));
+            targetWords.add(tokenize(cluster.title()));
+        }
+        for (var memory : snapshot.unclustered()) {
+            built.add(new LinkTarget(LinkTargetKind.MEMORY, memory.getId(), memory.getText()));
+            targetWords.add(tokenize(memory.getText()));
+        }
+        targets = Collections.unmodifiableList(built);
+        var postings = new ArrayList<Posting>();
+        for (int owner = 0; owner < targetWords.size(); owner++) {
+            for (var word : targetWords.get(owner)) {
+                postings.add(new Posting(word, owner));
+            }
+        }
+        postings.sort(Comparator.comparing(Posting::word));
+        words = new String[postings.size()];
+        owners = new int[postings.size()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = postings.get(i).word();
+            owners[i] = postings.get(i).owner();
+        }
+    }
+
+    private record Posting(String word, int owner) {
+    }
+
+    /** Intersects, over the query's words, the targets having a word that starts with it. */
+    private BitSet lookUp(String[] tokens) {
+        BitSet hits = null;
+        for (var token : tokens) {
+            var withPrefix = new BitSet(targets.size());
+            int at = Arrays.binarySearch(words, token);
+            for (int i = at >= 0 ? firstOf(token, at) : -at - 1; i < words.length && words[i].startsWith(token); i++) {
+                withPrefix.set(owners[i]);
+            }
+            if (hits == null) {
+                hits = withPrefix;
+            } else {
+                hits.and(withPrefix);
+            }
+            if (hits.isEmpty()) {
+                break;
+            }
+        }
+        return hits;
+    }
+
+    /** Binary search lands on any one of equal words; step back to the first. */
+    private int firstOf(String word, int at) {
+        while (at > 0 && words[at - 1].equals(word)) {
+            at--;
+        }
+        return at;
+    }
+
+    /** Keeps only the earlier matches that still match every query word. */
+    private BitSet recheck(BitSet earlier, String[] tokens) {
+        var hits = (BitSet) earlier.clone();
+        for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+            if (!matchesAll(targetWords.get(i), tokens)) {
+                hits.clear(i);
+            }
+        }
+        return hits;
+    }
+
+    private static boolean matchesAll(String[] targetWords, String[] tokens) {
+        for (var token : tokens) {
+            boolean found = false;
+            for (var word : targetWords) {
+                if (word.startsWith(token)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A cached result for a shorter query this one extends. Normalized queries that are prefixes
+     * of each other can only have narrowed: the shorter one's words are all still there, its last
+     * one at most grown.
+     */
+    private BitSet longestCachedPrefix(String key) {
+        for (int end = key.length() - 1; end > 0; end--) {
+            var cached = matches.get(key.substring(0, end).strip());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /** Lowercased words, one space apart: the built-in match's cache key. */
+    private static String normalize(String query) {
+        return query == null ? "" : String.join(" ", tokenize(query));
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        var out = new ArrayList<String>();
+        var lower = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                out.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return out.toArray(new String[0]);
+    }
+
+    private static <V> Map<String, V> lruMap() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > CACHED_QUERIES;
+            }
+        };
+    }
+}
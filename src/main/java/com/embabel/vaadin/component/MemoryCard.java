@@ -0,0 +1,336 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.vaadin.component.PropositionView.MentionView;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A memory card rendered in the browser by the {@code <memory-card>} web component, for lists with
+ * thousands of memories. Where {@link PropositionCard} builds some fifteen server-side components
+ * per card, each with its own state node and listeners, this is a single element: the server sends
+ * a compact JSON payload (id, text, confidence, created time, pills and badges), the browser draws
+ * the same markup and classes as {@link PropositionCard} — so the shared card stylesheet applies —
+ * and only semantic actions (edit, delete, pill click, open lineage, open merge explanation) come
+ * back, all through one listener.
+ *
+ * <p>Dialogs stay on the server: the card reports what was clicked and the host opens whatever it
+ * likes in response.
+ */
+@Tag("memory-card")
+@JsModule("./memory-card.js")
+@CssImport("./styles/proposition-card.css")
+public class MemoryCard extends Component {
+
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private PropositionView view;
+    private final Function<String, Proposition> propositionLoader;
+    private final Function<String, NamedEntity> entityResolver;
+    private final CollapseExplanation collapseExplanation;
+    /** Resolved entity per mention of {@link #proposition}, null where it didn't resolve. */
+    private List<NamedEntity> resolvedMentions;
+    private Consumer<PropositionView> onDelete;
+    private BiConsumer<Proposition, Proposition> onEdit;
+    private Consumer<String> onEntityPillClick;
+    private Consumer<NamedEntity> onOpenEntity;
+    private Consumer<PropositionView> onOpenLineage;
+    private Consumer<CollapseExplanation> onOpenCollapse;
+
+    /**
+     * @param prop                        the proposition to display
+     * @param entityResolver              resolves entity mention IDs to NamedEntity; null to show mentions unresolved
+     * @param collapseExplanationProvider looks up why this proposition was collapsed, if at all; null skips the merge badge
+     */
+    public MemoryCard(
+            Proposition prop,
+            Function<String, NamedEntity> entityResolver,
+            CollapseExplanationProvider collapseExplanationProvider) {
+        this(PropositionView.of(prop), id -> prop, entityResolver, collapseExplanationProvider);
+    }
+
+    /**
+     * A card that keeps only {@code prop} and loads the full proposition through
+     * {@code propositionLoader} when an edit or delete needs it, as {@link PropositionCard} can.
+     *
+     * @param propositionLoader loads a proposition by id; may return null if it's gone
+     */
+    MemoryCard(
+            PropositionView prop,
+            Function<String, Proposition> propositionLoader,
+            Function<String, NamedEntity> entityResolver,
+            CollapseExplanationProvider collapseExplanationProvider) {
+        this.view = prop;
+        this.propositionLoader = propositionLoader;
+        this.entityResolver = entityResolver;
+        this.collapseExplanation = collapseExplanationProvider == null
+                ? null
+                : collapseExplanationProvider.explain(prop.id())
+                        .filter(explanation -> !explanation.retired().isEmpty())
+                        .orElse(null);
+        this.resolvedMentions = resolve(prop.mentions());
+        getElement().addEventListener("memory-card-action", e -> dispatch(
+                        e.getEventData().getString("event.detail.action"),
+                        e.getEventData().getString("event.detail.value")))
+                .addEventData("event.detail.action")
+                .addEventData("event.detail.value");
+        sendPayload();
+    }
+
+    /** What the card shows of its memory — all it keeps in memory of it. */
+    public PropositionView getView() {
+        return view;
+    }
+
+    /**
+     * The full proposition behind this card, loaded from the store on every call; see
+     * {@link PropositionCard#loadProposition()}.
+     *
+     * @return the full proposition, or null if it's no longer in the store
+     */
+    public Proposition loadProposition() {
+        return propositionLoader.apply(view.id());
+    }
+
+    /**
+     * @deprecated a store lookup that can return null once the memory is gone; use
+     * {@link #getView()} for what the card shows, or {@link #loadProposition()}
+     */
+    @Deprecated
+    public Proposition getProposition() {
+        return loadProposition();
+    }
+
+    /**
+     * Set handler for deleting. When set, the card offers a delete button. The handler gets the
+     * full proposition, loaded when the delete is clicked.
+     */
+    public void setOnDelete(Consumer<Proposition> handler) {
+        setOnDeleteView(handler == null ? null : shown -> {
+            var full = propositionLoader.apply(shown.id());
+            if (full != null) {
+                handler.accept(full);
+            }
+        });
+    }
+
+    /** Same as {@link #setOnDelete(Consumer)} for a handler that only needs what the card shows. */
+    void setOnDeleteView(Consumer<PropositionView> handler) {
+        this.onDelete = handler;
+        sendPayload();
+    }
+
+    /**
+     * Set handler for editing. Called with the updated proposition: the full proposition, loaded
+     * when the edit comes back, with the new text applied via copy. When set, the card offers an
+     * inline editor.
+     */
+    public void setOnEdit(Consumer<Proposition> handler) {
+        setOnEditFrom(handler == null ? null : (previous, updated) -> handler.accept(updated));
+    }
+
+    /**
+     * Same as {@link #setOnEdit(Consumer)}, but the handler also gets the version the card showed
+     * before the edit, so it can put the card back (via {@link #patch}) if saving fails.
+     */
+    void setOnEditFrom(BiConsumer<Proposition, Proposition> handler) {
+        this.onEdit = handler;
+        sendPayload();
+    }
+
+    /**
+     * @param onEntityPillClick invoked with an entity pill's display name when clicked, for resolved
+     *                          and unresolved pills alike; null leaves pills to {@link #setOnOpenEntity}
+     */
+    public void setOnEntityPillClick(Consumer<String> onEntityPillClick) {
+        this.onEntityPillClick = onEntityPillClick;
+        sendPayload();
+    }
+
+    /**
+     * @param onOpenEntity invoked with the entity behind a resolved pill when it's clicked, or null
+     */
+    public void setOnOpenEntity(Consumer<NamedEntity> onOpenEntity) {
+        this.onOpenEntity = onOpenEntity;
+        sendPayload();
+    }
+
+    /**
+     * @param onOpenLineage invoked when the card's "Lineage" badge is clicked; null hides the badge
+     */
+    public void setOnOpenLineage(Consumer<PropositionView> onOpenLineage) {
+        this.onOpenLineage = onOpenLineage;
+        sendPayload();
+    }
+
+    /**
+     * @param onOpenCollapse invoked with the card's collapse explanation when its "Merged N
+     *                       duplicates" badge is clicked; null hides the badge
+     */
+    public void setOnOpenCollapse(Consumer<CollapseExplanation> onOpenCollapse) {
+        this.onOpenCollapse = onOpenCollapse;
+        sendPayload();
+    }
+
+    /**
+     * Shows a newer version of the same memory, the way {@link PropositionCard#patch} does.
+     * Anything the payload can carry applies, so only a different id is refused.
+     *
+     * @param updated the newer version of this card's proposition (same id)
+     * @return true if the card now shows {@code updated}
+     */
+    boolean patch(Proposition updated) {
+        return patch(PropositionView.of(updated));
+    }
+
+    /** As {@link #patch(Proposition)}, for a newer version already projected. */
+    boolean patch(PropositionView updated) {
+        if (!updated.id().equals(view.id())) {
+            return false;
+        }
+        if (!updated.mentions().equals(view.mentions())) {
+            resolvedMentions = resolve(updated.mentions());
+        }
+        view = updated;
+        sendPayload();
+        return true;
+    }
+
+    /**
+     * Runs the handler behind a browser action. Package-visible so tests can drive it the way
+     * {@link PropositionCard#handlePillClick} is driven — there's no browser here to fire the event.
+     *
+     * @param action what was clicked: {@code edit}, {@code delete}, {@code pill}, {@code lineage} or {@code merged}
+     * @param value  the new text for {@code edit}, the pill's index for {@code pill}; otherwise unused
+     */
+    void dispatch(String action, String value) {
+        switch (action) {
+            case "edit" -> {
+                var newText = value == null ? "" : value.trim();
+                var changed = onEdit != null && !newText.isEmpty() && !newText.equals(view.text());
+                var previous = changed ? loadProposition() : null;
+                if (previous != null) {
+                    var updated = previous.withText(newText);
+                    patch(updated);
+                    onEdit.accept(previous, updated);
+                } else {
+                    // The browser already shows the new text; put back what was saved.
+                    sendPayload();
+                    if (changed && getUI().isPresent()) {
+                        Notification.show(PropositionCard.MEMORY_GONE_MESSAGE, 5000, Notification.Position.BOTTOM_START)
+                                .addThemeVariants(NotificationVariant.LUMO_ERROR);
+                    }
+                }
+            }
+            case "delete" -> {
+                if (onDelete != null) {
+                    onDelete.accept(view);
+                }
+            }
+            case "pill" -> pillClicked(Integer.parseInt(value));
+            case "lineage" -> {
+                if (onOpenLineage != null) {
+                    onOpenLineage.accept(view);
+                }
+            }
+            case "merged" -> {
+                if (onOpenCollapse != null && collapseExplanation != null) {
+                    onOpenCollapse.accept(collapseExplanation);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void pillClicked(int index) {
+        var mentions = view.mentions();
+        if (index < 0 || index >= mentions.size()) {
+            return;
+        }
+        var resolved = resolvedMentions.get(index);
+        if (resolved != null && onOpenEntity != null) {
+            onOpenEntity.accept(resolved);
+        }
+        if (onEntityPillClick != null) {
+            onEntityPillClick.accept(resolved != null ? resolved.getName() : fallbackName(mentions.get(index)));
+        }
+    }
+
+    private List<NamedEntity> resolve(List<MentionView> mentions) {
+        var resolved = new ArrayList<NamedEntity>(mentions.size());
+        for (var mention : mentions) {
+            resolved.add(mention.resolvedId() != null && entityResolver != null
+                    ? entityResolver.apply(mention.resolvedId())
+                    : null);
+        }
+        return resolved;
+    }
+
+    private static String fallbackName(MentionView mention) {
+        return mention.span() != null ? mention.span() : mention.type();
+    }
+
+    /**
+     * The whole card as one JSON property. Keys are short on purpose: this is what a list of
+     * thousands of cards pays for in UIDL, once per card.
+     */
+    private void sendPayload() {
+        JsonObject card = Json.createObject();
+        card.put("id", view.id());
+        card.put("text", view.text() == null ? "" : view.text());
+        card.put("confidence", (int) (view.confidence() * 100));
+        card.put("created", view.created().truncatedTo(ChronoUnit.MILLIS).toString());
+        card.put("time", TIME_FORMATTER.format(view.created()));
+        var pills = Json.createArray();
+        var mentions = view.mentions();
+        for (int i = 0; i < mentions.size(); i++) {
+            var resolved = resolvedMentions.get(i);
+            var pill = Json.createObject();
+            pill.put("name", resolved != null ? resolved.getName() : fallbackName(mentions.get(i)));
+            pill.put("resolved", resolved != null);
+            pill.put("clickable", onEntityPillClick != null || (resolved != null && onOpenEntity != null));
+            pills.set(i, pill);
+        }
+        card.put("pills", pills);
+        if (collapseExplanation != null && onOpenCollapse != null) {
+            card.put("merged", collapseExplanation.retired().size());
+        }
+        card.put("lineage", onOpenLineage != null);
+        card.put("editable", onEdit != null);
+        card.put("deletable", onDelete != null);
+        getElement().setPropertyJson("card", card);
+    }
+}
@@ -93,6 +93,73 @@ public final class MemoryClusters {
     public record ClusteredMemories(List<MemoryClusterView> clusters, List<Proposition> unclustered) {
     }
 
+    /**
+     * One change to the Clusters view, pushed by the host through
+     * {@link PropositionsPanel#applyClusterDeltas(List)} after a mutation it already knows the
+     * outcome of — so linking or unlinking one memory patches the clusters it touched instead of
+     * fetching and re-rendering a whole new {@link ClusteredMemories}. Membership of the
+     * Unclustered section follows from the clusters: a memory that leaves its last cluster joins
+     * it, one that joins a cluster leaves it.
+     */
+    public sealed interface ClusterDelta
+            permits ClusterAdded, ClusterRemoved, MemberAdded, MemberRemoved, EdgeProvenanceChanged, MemoryRemoved {
+    }
+
+    /**
+     * A new cluster, shown after the existing ones.
+     *
+     * @param cluster the cluster with its members; they leave the Unclustered section
+     */
+    public record ClusterAdded(MemoryClusterView cluster) implements ClusterDelta {
+    }
+
+    /**
+     * A cluster is gone (dissolved, or merged away). Members left in no other cluster become unclustered.
+     *
+     * @param clusterId the removed cluster's id
+     */
+    public record ClusterRemoved(String clusterId) implements ClusterDelta {
+    }
+
+    /**
+     * A memory joined a cluster, or its membership was replaced if it was already there.
+     *
+     * @param clusterId the cluster joined
+     * @param member    the memory with the edge that put it there
+     */
+    public record MemberAdded(String clusterId, ClusterMemberView member) implements ClusterDelta {
+    }
+
+    /**
+     * A memory left a cluster. If it's in no other cluster it becomes unclustered.
+     *
+     * @param clusterId     the cluster left
+     * @param propositionId the memory that left
+     */
+    public record MemberRemoved(String clusterId, String propositionId) implements ClusterDelta {
+    }
+
+    /**
+     * A member's edge changed — confirmed by hand, say, or re-tagged by a sweep.
+     *
+     * @param clusterId     the cluster the edge belongs to
+     * @param propositionId the member at the end of the edge
+     * @param provenance    where the edge now comes from
+     * @param edgeTag       the edge's new label, or null for none
+     */
+    public record EdgeProvenanceChanged(String clusterId, String propositionId, EdgeProvenance provenance,
+                                        String edgeTag) implements ClusterDelta {
+    }
+
+    /**
+     * A memory left the view altogether — deleted, or retired by a merge — so it's dropped from
+     * every cluster and never becomes unclustered.
+     *
+     * @param propositionId the memory that's gone
+     */
+    public record MemoryRemoved(String propositionId) implements ClusterDelta {
+    }
+
     /**
      * Fired when a user completes the "Link…" popover flow, asking the host to create a manual
      * edge from one memory to either an existing cluster or another single memory.
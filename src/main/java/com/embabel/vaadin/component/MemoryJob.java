@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * A memory action the host runs for {@link MemorySection} — Analyze, Learn or Clear All — that
+ * says when it's done. The section starts it on its {@link MemorySection#setJobExecutor job
+ * executor}, shows whatever progress it reports in the status row under the buttons, and
+ * refreshes the memory list the moment the returned stage completes, instead of after a guessed
+ * delay.
+ *
+ * <p>A job that does all its work inside {@link #start} just returns
+ * {@code CompletableFuture.completedFuture(null)}; one that hands work to a pipeline returns the
+ * stage that pipeline completes when the memories are stored.
+ *
+ * @param <T> what the job works on: the context id, or the uploaded file
+ */
+@FunctionalInterface
+public interface MemoryJob<T> {
+
+    /**
+     * A step worth showing the user.
+     *
+     * @param message  what the job is doing, e.g. "Extracting memories from: notes.pdf"
+     * @param fraction how far along it is, 0 to 1, or negative when it can't tell
+     */
+    record Progress(String message, double fraction) {
+
+        /** Progress with no measurable fraction; the status bar runs indeterminate. */
+        public static Progress of(String message) {
+            return new Progress(message, -1);
+        }
+
+        public boolean indeterminate() {
+            return fraction < 0;
+        }
+    }
+
+    /**
+     * Starts the job. Called off the request thread when the section has a job executor, so it
+     * may block; progress may be reported from any thread.
+     *
+     * @param input    the context id or uploaded file the job is for
+     * @param progress receives progress to show in the status row
+     * @return completes, normally or exceptionally, when the job's memories are in the store
+     */
+    CompletionStage<?> start(T input, Consumer<Progress> progress);
+
+    /**
+     * Adapts a fire-and-forget callback — the shape {@link MemorySection}'s constructors take —
+     * to a job. There's no way to know when such a callback's work lands, so the job counts as
+     * done {@code settleMs} after the callback returns, the delay the section used to guess. The
+     * wait is on the {@link UiScheduler#shared() shared scheduler}'s timer, not a sleeping thread.
+     *
+     * @param callback the host's callback; null for a job that does nothing
+     * @param settleMs how long after the callback returns to treat the job as done; 0 for at once
+     */
+    static <T> MemoryJob<T> of(Consumer<T> callback, long settleMs) {
+        return (input, progress) -> {
+            if (callback != null) {
+                callback.accept(input);
+            }
+            var settled = new CompletableFuture<Void>();
+            if (settleMs <= 0) {
+                settled.complete(null);
+            } else {
+                UiScheduler.shared().schedule(null, () -> settled.complete(null), settleMs);
+            }
+            return settled;
+        };
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.vaadin.component.PropositionView.MentionView;
+import com.vaadin.flow.component.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * What the Memory tab's instant filter searches, precomputed once per render: each card's
+ * lowercased memory text and resolved entity names, where the card sits in the layout (so the
+ * filter knows what to hide without walking parents), and a trigram index over all of it. A
+ * keystroke then costs a few bitset intersections and a {@code contains} per candidate — no
+ * component-tree walk and no call back into the host's entity resolver.
+ */
+final class MemorySearchIndex {
+
+    /** How a card is laid out, which decides what the filter toggles for it. */
+    enum Placement {
+        /** Inside a scored-mode wrapper: toggle the wrapper, which carries the border. */
+        SCORED_WRAPPER,
+        /** A provider-driven rail member: dim the member, never hide, so the rail stays intact. */
+        RAIL_MEMBER,
+        /** A card in a cluster container: toggle the card, and the container with its last hit. */
+        CLUSTERED,
+        /** A plain card in the list: toggle the card. */
+        PLAIN
+    }
+
+    /**
+     * One indexed card.
+     *
+     * @param card             the card itself
+     * @param haystack         lowercased text and entity names, newline-separated so a query
+     *                         can never match across two of them
+     * @param placement        how the card is laid out
+     * @param holder           the scored wrapper or rail member around the card, or null
+     * @param clusterContainer the enclosing cluster container, or null
+     */
+    record Entry(PropositionCard card, String haystack, Placement placement,
+                 Component holder, Component clusterContainer) {
+    }
+
+    private final List<Entry> entries;
+    private final Map<String, BitSet> trigrams = new HashMap<>();
+
+    private MemorySearchIndex(List<Entry> entries) {
+        this.entries = entries;
+        for (int i = 0; i < entries.size(); i++) {
+            var haystack = entries.get(i).haystack();
+            for (int start = 0; start + 3 <= haystack.length(); start++) {
+                trigrams.computeIfAbsent(haystack.substring(start, start + 3), k -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    /**
+     * Indexes the given cards as they currently sit in the layout.
+     *
+     * @param cards          the cards of one render pass
+     * @param entityNameOf   display name for a mention, as shown on its pill
+     */
+    static MemorySearchIndex build(Collection<PropositionCard> cards, Function<MentionView, String> entityNameOf) {
+        var entries = new ArrayList<Entry>(cards.size());
+        for (var card : cards) {
+            var haystack = searchText(card.getView(), entityNameOf);
+            var parent = card.getParent().orElse(null);
+            var clusterContainer = ancestorWithClass(card, "cluster-container");
+            Placement placement;
+            Component holder = null;
+            if (parent != null && parent.hasClassName("scored-card-wrapper")) {
+                placement = Placement.SCORED_WRAPPER;
+                holder = parent;
+            } else if (parent != null && parent.hasClassName("member")) {
+                placement = Placement.RAIL_MEMBER;
+                holder = parent;
+            } else if (clusterContainer != null) {
+                placement = Placement.CLUSTERED;
+            } else {
+                placement = Placement.PLAIN;
+            }
+            entries.add(new Entry(card, haystack, placement, holder, clusterContainer));
+        }
+        return new MemorySearchIndex(entries);
+    }
+
+    /**
+     * What the filter matches a memory against: its lowercased text and entity names,
+     * newline-separated. The client-side filter reads the same string off each card.
+     */
+    static String searchText(PropositionView prop, Function<MentionView, String> entityNameOf) {
+        var haystack = new StringBuilder();
+        if (prop.text() != null) {
+            haystack.append(prop.text().toLowerCase());
+        }
+        for (var mention : prop.mentions()) {
+            var name = entityNameOf.apply(mention);
+            if (name != null) {
+                haystack.append('\n').append(name.toLowerCase());
+            }
+        }
+        return haystack.toString();
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * @param lowerCaseQuery a trimmed, lowercased, non-empty query
+     * @return the positions in {@link #entries()} whose haystack contains the query
+     */
+    BitSet matching(String lowerCaseQuery) {
+        BitSet candidates;
+        if (lowerCaseQuery.length() < 3) {
+            // Too short to have a trigram; the precomputed haystacks are still a flat scan.
+            candidates = new BitSet(entries.size());
+            candidates.set(0, entries.size());
+        } else {
+            candidates = null;
+            for (int start = 0; start + 3 <= lowerCaseQuery.length(); start++) {
+                var postings = trigrams.get(lowerCaseQuery.substring(start, start + 3));
+                if (postings == null) {
+                    return new BitSet();
+                }
+                if (candidates == null) {
+                    candidates = (BitSet) postings.clone();
+                } else {
+                    candidates.and(postings);
+                }
+                if (candidates.isEmpty()) {
+                    return candidates;
+                }
+            }
+        }
+        // Every trigram present doesn't mean they're adjacent — confirm each candidate.
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (!entries.get(i).haystack().contains(lowerCaseQuery)) {
+                candidates.clear(i);
+            }
+        }
+        return candidates;
+    }
+
+    private static Component ancestorWithClass(Component start, String className) {
+        var current = start.getParent();
+        while (current.isPresent()) {
+            var c = current.get();
+            if (c.hasClassName(className)) {
+                return c;
+            }
+            current = c.getParent();
+        }
+        return null;
+    }
+}
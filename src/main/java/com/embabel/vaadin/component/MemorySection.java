@@ -18,6 +18,7 @@ package com.embabel.vaadin.component;
 import com.embabel.agent.rag.model.NamedEntity;
 import com.embabel.dice.proposition.Proposition;
 import com.embabel.dice.proposition.PropositionRepository;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
@@ -35,6 +36,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -45,13 +55,28 @@ import java.util.function.Supplier;
  * Reusable memory section with file upload ("Remember"), analyze, clear all,
  * and propositions display. Parameterized by context so it can be used for
  * user-specific, global, or bot-specific memories.
+ * <p>
+ * Analyze, Learn and Clear All run as {@link MemoryJob}s: progress shows in the status row under
+ * the buttons and the list refreshes when the job completes.
  */
 public class MemorySection extends VerticalLayout {
 
     private static final Logger logger = LoggerFactory.getLogger(MemorySection.class);
 
+    /** How long after a fire-and-forget constructor callback returns its memories are assumed stored. */
+    private static final long SETTLE_MS = 5000;
+
     private final PropositionsPanel propositionsPanel;
+    private final HorizontalLayout statusRow;
+    private final Span statusLabel;
+    private final ProgressBar statusBar;
+    private final Upload learnUpload;
+    private final Button analyzeButton;
     private final Button sweepButton;
+    private MemoryJob<String> analyzeJob;
+    private MemoryJob<RememberRequest> rememberJob;
+    private MemoryJob<String> clearJob;
+    private Executor jobExecutor;
     private com.vaadin.flow.shared.Registration sweepListenerRegistration;
 
     public record RememberRequest(InputStream inputStream, String filename) {}
@@ -78,9 +103,12 @@ public class MemorySection extends VerticalLayout {
      * @param entityResolver resolves entity mention IDs to NamedEntity; null to show mentions unresolved
      * @param collapseExplanationProvider looks up why propositions were collapsed, if at all; null skips collapse badges
      * @param contextIdSupplier supplies the context ID for this section; can change across the lifetime of the component
-     * @param onAnalyze invoked when the Analyze button is clicked; null hides the button
-     * @param onRemember invoked when a file upload succeeds; null hides the Learn button
-     * @param onClearContext invoked when Clear All is confirmed with the current context ID
+     * @param onAnalyze invoked when the Analyze button is clicked; null hides the button. The list
+     *                  refreshes a fixed delay later; {@link #setAnalyzeJob} refreshes on completion
+     * @param onRemember invoked when a file upload succeeds; null hides the Learn button. See
+     *                   {@link #setRememberJob}
+     * @param onClearContext invoked when Clear All is confirmed with the current context ID. See
+     *                       {@link #setClearJob}
      */
     public MemorySection(
             PropositionRepository propositionRepository,
@@ -91,6 +119,12 @@ public class MemorySection extends VerticalLayout {
             Consumer<RememberRequest> onRemember,
             Consumer<String> onClearContext) {
 
+        // The constructor callbacks are fire-and-forget, so their jobs settle after the delay the
+        // section has always guessed; hosts that know better set a real job.
+        this.analyzeJob = onAnalyze == null ? null : MemoryJob.of(contextId -> onAnalyze.run(), SETTLE_MS);
+        this.rememberJob = onRemember == null ? null : MemoryJob.of(onRemember, SETTLE_MS);
+        this.clearJob = MemoryJob.of(onClearContext, 0);
+
         // Create propositions panel early (referenced by button listeners)
         propositionsPanel = new PropositionsPanel(propositionRepository, entityResolver, collapseExplanationProvider);
         propositionsPanel.setContextId(contextIdSupplier.get());
@@ -110,8 +144,8 @@ public class MemorySection extends VerticalLayout {
         buttonRow.setSpacing(true);
         buttonRow.addClassName("memory-button-row");
 
-        // Upload status row — shown below buttons during upload/extraction
-        var statusRow = new HorizontalLayout();
+        // Status row — shown below buttons during upload and while a job runs
+        statusRow = new HorizontalLayout();
         statusRow.setWidthFull();
         statusRow.setAlignItems(Alignment.CENTER);
         statusRow.setSpacing(true);
@@ -119,104 +153,76 @@ public class MemorySection extends VerticalLayout {
         statusRow.addClassName("learn-status-row");
         statusRow.setVisible(false);
 
-        var statusLabel = new Span();
+        statusLabel = new Span();
         statusLabel.addClassName("learn-status-label");
 
-        var statusBar = new ProgressBar();
+        statusBar = new ProgressBar();
         statusBar.addClassName("learn-progress-bar");
 
         statusRow.add(statusLabel, statusBar);
         statusRow.setFlexGrow(1, statusBar);
 
-        // "Learn" file upload — progress shown in status row below
-        if (onRemember != null) {
-            var buffer = new MemoryBuffer();
-            var upload = new Upload(buffer);
-            upload.setDropAllowed(false);
-            var learnButton = new Button("Learn", VaadinIcon.BOOK.create());
-            upload.setUploadButton(learnButton);
-            upload.setAcceptedFileTypes(
-                    ".pdf", ".txt", ".md", ".html", ".htm",
-                    ".doc", ".docx", ".odt", ".rtf",
-                    "application/pdf",
-                    "text/plain",
-                    "text/markdown",
-                    "text/html",
-                    "application/msword",
-                    "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
-            );
-            upload.setMaxFileSize(10 * 1024 * 1024); // 10MB
-            upload.setMaxFiles(1);
-            upload.addClassName("learn-upload");
-
-            // Immediately clear the file list so it never shows inline
-            upload.getElement().addEventListener("upload-start", e ->
-                    upload.getElement().executeJs("this.files = []"));
-            upload.getElement().addEventListener("upload-success", e ->
-                    upload.getElement().executeJs("this.files = []"));
-
-            upload.addStartedListener(event -> {
-                statusLabel.setText("Uploading: " + event.getFileName());
+        // "Learn" file upload — progress shown in status row below; hidden without a remember job
+        var buffer = new MemoryBuffer();
+        learnUpload = new Upload(buffer);
+        learnUpload.setDropAllowed(false);
+        var learnButton = new Button("Learn", VaadinIcon.BOOK.create());
+        learnUpload.setUploadButton(learnButton);
+        learnUpload.setAcceptedFileTypes(
+                ".pdf", ".txt", ".md", ".html", ".htm",
+                ".doc", ".docx", ".odt", ".rtf",
+                "application/pdf",
+                "text/plain",
+                "text/markdown",
+                "text/html",
+                "application/msword",
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
+        );
+        learnUpload.setMaxFileSize(10 * 1024 * 1024); // 10MB
+        learnUpload.setMaxFiles(1);
+        learnUpload.addClassName("learn-upload");
+        learnUpload.setVisible(rememberJob != null);
+
+        // Immediately clear the file list so it never shows inline
+        learnUpload.getElement().addEventListener("upload-start", e ->
+                learnUpload.getElement().executeJs("this.files = []"));
+        learnUpload.getElement().addEventListener("upload-success", e ->
+                learnUpload.getElement().executeJs("this.files = []"));
+
+        learnUpload.addStartedListener(event -> showProgress(new MemoryJob.Progress("Uploading: " + event.getFileName(), 0)));
+
+        learnUpload.addProgressListener(event -> {
+            if (event.getContentLength() > 0) {
                 statusBar.setIndeterminate(false);
-                statusBar.setValue(0);
-                statusRow.setVisible(true);
-            });
-
-            upload.addProgressListener(event -> {
-                if (event.getContentLength() > 0) {
-                    statusBar.setIndeterminate(false);
-                    statusBar.setValue((double) event.getReadBytes() / event.getContentLength());
-                } else {
-                    statusBar.setIndeterminate(true);
-                }
-            });
-
-            upload.addSucceededListener(event -> {
-                var filename = event.getFileName();
-                statusLabel.setText("Extracting memories from: " + filename);
+                statusBar.setValue((double) event.getReadBytes() / event.getContentLength());
+            } else {
                 statusBar.setIndeterminate(true);
-                try {
-                    onRemember.accept(new RememberRequest(buffer.getInputStream(), filename));
-                    // Hide status after extraction has had time to start
-                    getUI().ifPresent(ui -> {
-                        propositionsPanel.scheduleRefresh(ui, 5000);
-                        new Thread(() -> {
-                            try {
-                                Thread.sleep(5000);
-                                ui.access(() -> statusRow.setVisible(false));
-                            } catch (InterruptedException ex) {
-                                Thread.currentThread().interrupt();
-                            }
-                        }).start();
-                    });
-                } catch (Exception e) {
-                    logger.error("Failed to remember file: {}", filename, e);
-                    statusLabel.setText("Error: " + e.getMessage());
-                    statusBar.setVisible(false);
-                }
-            });
-
-            upload.addFailedListener(event -> {
-                logger.error("Upload failed: {}", event.getReason().getMessage());
-                statusLabel.setText("Upload failed");
-                statusRow.setVisible(false);
-                Notification.show("Upload failed: " + event.getReason().getMessage(),
-                        5000, Notification.Position.BOTTOM_CENTER)
-                        .addThemeVariants(NotificationVariant.LUMO_ERROR);
-            });
-
-            buttonRow.add(upload);
-        }
+            }
+        });
 
-        // "Analyze" button (optional)
-        if (onAnalyze != null) {
-            var analyzeButton = new Button("Analyze", VaadinIcon.COG.create());
-            analyzeButton.addClickListener(e -> {
-                onAnalyze.run();
-                getUI().ifPresent(ui -> propositionsPanel.scheduleRefresh(ui, 5000));
-            });
-            buttonRow.add(analyzeButton);
-        }
+        learnUpload.addSucceededListener(event -> {
+            var filename = event.getFileName();
+            runJob(rememberJob, new RememberRequest(buffer.getInputStream(), filename),
+                    "Extracting memories from: " + filename, null);
+        });
+
+        learnUpload.addFailedListener(event -> {
+            logger.error("Upload failed: {}", event.getReason().getMessage());
+            statusLabel.setText("Upload failed");
+            statusRow.setVisible(false);
+            Notification.show("Upload failed: " + event.getReason().getMessage(),
+                    5000, Notification.Position.BOTTOM_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        });
+
+        buttonRow.add(learnUpload);
+
+        // "Analyze" button — hidden without an analyze job, disabled while one runs
+        analyzeButton = new Button("Analyze", VaadinIcon.COG.create());
+        analyzeButton.setVisible(analyzeJob != null);
+        analyzeButton.addClickListener(e ->
+                runJob(analyzeJob, contextIdSupplier.get(), "Analyzing conversation", analyzeButton));
+        buttonRow.add(analyzeButton);
 
         // "Sweep" button — sits in the actions row next to Analyze, matching its style. Hidden
         // until a host wires setOnSweep; there's no old top-left placement for this to replace,
@@ -239,10 +245,8 @@ public class MemorySection extends VerticalLayout {
             dialog.setCancelable(true);
             dialog.setConfirmText("Clear All");
             dialog.setConfirmButtonTheme("error primary");
-            dialog.addConfirmListener(event -> {
-                onClearContext.accept(contextIdSupplier.get());
-                propositionsPanel.refresh();
-            });
+            dialog.addConfirmListener(event ->
+                    runJob(clearJob, contextIdSupplier.get(), "Clearing memories", clearAllButton));
             dialog.open();
         });
         buttonRow.add(clearAllButton);
@@ -251,6 +255,80 @@ public class MemorySection extends VerticalLayout {
         setFlexGrow(1, propositionsPanel);
     }
 
+    /**
+     * Starts {@code job} on the job executor (or right here without one), showing its progress in
+     * the status row and refreshing the list once it completes. {@code trigger}, if given, stays
+     * disabled until then so the same job isn't started twice.
+     */
+    private <T> void runJob(MemoryJob<T> job, T input, String label, Button trigger) {
+        if (job == null) {
+            return;
+        }
+        var ui = getUI().orElse(null);
+        showProgress(MemoryJob.Progress.of(label));
+        if (trigger != null) {
+            trigger.setEnabled(false);
+        }
+        Consumer<MemoryJob.Progress> progress = p -> onUi(ui, () -> showProgress(p));
+        Runnable start = () -> {
+            CompletionStage<?> completion;
+            try {
+                completion = job.start(input, progress);
+            } catch (RuntimeException e) {
+                completion = CompletableFuture.failedFuture(e);
+            }
+            completion.whenComplete((result, error) -> onUi(ui, () -> jobFinished(label, error, trigger)));
+        };
+        if (jobExecutor == null || ui == null) {
+            start.run();
+            return;
+        }
+        try {
+            jobExecutor.execute(start);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Job executor rejected '{}'; starting it on the request thread", label, e);
+            start.run();
+        }
+    }
+
+    private void jobFinished(String label, Throwable error, Button trigger) {
+        if (trigger != null) {
+            trigger.setEnabled(true);
+        }
+        if (error == null) {
+            statusRow.setVisible(false);
+        } else {
+            var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            logger.error("Memory job failed: {}", label, cause);
+            statusLabel.setText("Error: " + cause.getMessage());
+            statusBar.setVisible(false);
+        }
+        // A failed job may still have stored some memories, so refresh either way.
+        propositionsPanel.refresh();
+    }
+
+    private void showProgress(MemoryJob.Progress progress) {
+        statusLabel.setText(progress.message());
+        statusBar.setVisible(true);
+        statusBar.setIndeterminate(progress.indeterminate());
+        if (!progress.indeterminate()) {
+            statusBar.setValue(Math.min(1, progress.fraction()));
+        }
+        statusRow.setVisible(true);
+    }
+
+    /**
+     * Runs {@code task} against the UI: straight away when this thread already holds the session
+     * (a job that finished on the request thread), otherwise through {@code ui.access}.
+     */
+    private static void onUi(UI ui, Runnable task) {
+        if (ui == null || ui.getSession() == null || ui.getSession().hasLock()) {
+            task.run();
+        } else {
+            ui.access(task::run);
+        }
+    }
+
     public void refresh() {
         propositionsPanel.refresh();
     }
@@ -259,6 +337,175 @@ public class MemorySection extends VerticalLayout {
         propositionsPanel.setContextId(contextId);
     }
 
+    /**
+     * Run Analyze as a job: the section starts it with the current context id, shows its progress
+     * in the status row, and refreshes the list when it completes. Replaces the constructor's
+     * {@code onAnalyze}; null hides the Analyze button.
+     *
+     * @param analyzeJob extracts memories from the conversation, or null to hide Analyze
+     */
+    public void setAnalyzeJob(MemoryJob<String> analyzeJob) {
+        this.analyzeJob = analyzeJob;
+        analyzeButton.setVisible(analyzeJob != null);
+    }
+
+    /**
+     * Run Learn uploads as a job, completing once the file's memories are stored. Replaces the
+     * constructor's {@code onRemember}; null hides the Learn button.
+     *
+     * @param rememberJob extracts memories from an uploaded file, or null to hide Learn
+     */
+    public void setRememberJob(MemoryJob<RememberRequest> rememberJob) {
+        this.rememberJob = rememberJob;
+        learnUpload.setVisible(rememberJob != null);
+    }
+
+    /**
+     * Run Clear All as a job, started with the current context id once the user confirms.
+     * Replaces the constructor's {@code onClearContext}.
+     *
+     * @param clearJob deletes every memory in a context, or null to make Clear All do nothing
+     */
+    public void setClearJob(MemoryJob<String> clearJob) {
+        this.clearJob = clearJob;
+    }
+
+    /**
+     * Start Analyze, Learn and Clear All jobs on the given executor instead of the request thread.
+     * A bounded pool or a virtual-thread executor both suit; progress and completion come back
+     * through {@code ui.access}, so the UI needs push (or a poll) for them to show promptly.
+     *
+     * @param jobExecutor where jobs start, or null to start them on the request thread
+     */
+    public void setJobExecutor(Executor jobExecutor) {
+        this.jobExecutor = jobExecutor;
+    }
+
+    /**
+     * Show memories as they're stored instead of when the job that stores them completes. Each
+     * proposition the publisher emits is added to the list at its place, through server push, and
+     * the count follows; nothing is re-queried. Items arriving faster than the UI takes them are
+     * applied together. A job typically calls this as it starts, with its extraction pipeline's
+     * publisher; the subscription ends when the publisher completes or the section is detached.
+     * Items emitted before the section is attached are held until it is. Call on the UI thread.
+     * See {@link PropositionsPanel#appendPropositions(List)} for which views take live additions.
+     *
+     * @param newMemories emits each memory once it's in the store
+     */
+    public void appendFrom(Flow.Publisher<Proposition> newMemories) {
+        var subscriber = new LiveAppend();
+        // Listeners are registered here, on the UI thread, not in onSubscribe, which a publisher
+        // may call from its own thread.
+        subscriber.detachRegistration = addDetachListener(e -> subscriber.cancel());
+        getUI().ifPresentOrElse(subscriber::attached, () ->
+                subscriber.attachRegistration = addAttachListener(e -> subscriber.attached(e.getUI())));
+        newMemories.subscribe(subscriber);
+    }
+
+    /**
+     * Queues what the publisher emits and drains it into the panel in one UI access at a time,
+     * once the section's UI is known.
+     */
+    private final class LiveAppend implements Flow.Subscriber<Proposition> {
+
+        private final Queue<Proposition> arrived = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean drainPending = new AtomicBoolean();
+        /** Null until the section is attached; items arriving before then wait in {@link #arrived}. */
+        private volatile UI ui;
+        private volatile Flow.Subscription subscription;
+        private volatile boolean cancelled;
+        private volatile boolean finished;
+        private com.vaadin.flow.shared.Registration attachRegistration;
+        private com.vaadin.flow.shared.Registration detachRegistration;
+
+        /** Runs on the UI thread when the section's UI becomes known. */
+        void attached(UI attachedTo) {
+            ui = attachedTo;
+            if (attachRegistration != null) {
+                attachRegistration.remove();
+                attachRegistration = null;
+            }
+            drain();
+            if (finished) {
+                stopListening();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(Proposition proposition) {
+            if (cancelled) {
+                return;
+            }
+            arrived.add(proposition);
+            var current = ui;
+            if (current != null && drainPending.compareAndSet(false, true)) {
+                onUi(current, this::drain);
+            }
+        }
+
+        private void drain() {
+            drainPending.set(false);
+            var batch = new java.util.ArrayList<Proposition>();
+            for (Proposition next; (next = arrived.poll()) != null; ) {
+                batch.add(next);
+            }
+            if (!batch.isEmpty()) {
+                propositionsPanel.appendPropositions(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            logger.warn("Live memory stream failed; the list catches up on its next refresh", throwable);
+            finish();
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+        }
+
+        /** Before attachment the listeners stay, so the attach can still drain what's held. */
+        private void finish() {
+            finished = true;
+            var current = ui;
+            if (current != null) {
+                onUi(current, this::stopListening);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            arrived.clear();
+            var current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            stopListening();
+        }
+
+        private void stopListening() {
+            if (attachRegistration != null) {
+                attachRegistration.remove();
+                attachRegistration = null;
+            }
+            if (detachRegistration != null) {
+                detachRegistration.remove();
+                detachRegistration = null;
+            }
+        }
+    }
+
     /**
      * Looks up lineage for a proposition, or null to hide the lineage affordance.
      */
@@ -294,6 +541,22 @@ public class MemorySection extends VerticalLayout {
         propositionsPanel.setOnAfterUndo(onAfterUndo);
     }
 
+    /**
+     * Restore a whole collapse in one call. See
+     * {@link PropositionsPanel#setOnUndoMembers(BiConsumer)}.
+     */
+    public void setOnUndoMembers(BiConsumer<String, List<String>> onUndoMembers) {
+        propositionsPanel.setOnUndoMembers(onUndoMembers);
+    }
+
+    /**
+     * Set the handler fired once after a batch undo lands. See
+     * {@link PropositionsPanel#setOnAfterUndoMembers(BiConsumer)}.
+     */
+    public void setOnAfterUndoMembers(BiConsumer<String, List<String>> onAfterUndoMembers) {
+        propositionsPanel.setOnAfterUndoMembers(onAfterUndoMembers);
+    }
+
     /**
      * Set the handler to invoke when an Open button is clicked on a grounding/provenance ref in a lineage section.
      */
@@ -396,6 +659,70 @@ public class MemorySection extends VerticalLayout {
         propositionsPanel.showScoredPropositions(results);
     }
 
+    /**
+     * Collapse paraphrased search results, not just identical ones. See
+     * {@link PropositionsPanel#setNearDuplicateThreshold(double)}.
+     */
+    public void setNearDuplicateThreshold(double nearDuplicateThreshold) {
+        propositionsPanel.setNearDuplicateThreshold(nearDuplicateThreshold);
+    }
+
+    /**
+     * Page the flat memory list through the host's store. See
+     * {@link PropositionsPanel#setPropositionPager(PropositionPager)}.
+     */
+    public void setPropositionPager(PropositionPager propositionPager) {
+        propositionsPanel.setPropositionPager(propositionPager);
+    }
+
+    /**
+     * Render the paged memory list in the browser. See
+     * {@link PropositionsPanel#setLightweightCards(boolean)}.
+     */
+    public void setLightweightCards(boolean lightweightCards) {
+        propositionsPanel.setLightweightCards(lightweightCards);
+    }
+
+    /**
+     * Load the panel's Clusters view in one store round trip. See
+     * {@link PropositionsPanel#setClusteredViewLoader(ClusteredViewLoader)}.
+     */
+    public void setClusteredViewLoader(ClusteredViewLoader clusteredViewLoader) {
+        propositionsPanel.setClusteredViewLoader(clusteredViewLoader);
+    }
+
+    /**
+     * Run the instant filter in the browser instead of on the server. See
+     * {@link PropositionsPanel#setClientSideFilter(boolean)}.
+     */
+    public void setClientSideFilter(boolean clientSideFilter) {
+        propositionsPanel.setClientSideFilter(clientSideFilter);
+    }
+
+    /**
+     * Load memory refreshes off the request thread. See
+     * {@link PropositionsPanel#setBackgroundExecutor(Executor)}.
+     */
+    public void setBackgroundExecutor(Executor backgroundExecutor) {
+        propositionsPanel.setBackgroundExecutor(backgroundExecutor);
+    }
+
+    /**
+     * Run delete, edit and undo writes off the request thread. See
+     * {@link PropositionsPanel#setWriteExecutor(Executor)}.
+     */
+    public void setWriteExecutor(Executor writeExecutor) {
+        propositionsPanel.setWriteExecutor(writeExecutor);
+    }
+
+    /**
+     * Let the Clusters view reuse its cached clustering while the store's revision stands. See
+     * {@link PropositionsPanel#setRepositoryRevision(Supplier)}.
+     */
+    public void setRepositoryRevision(Supplier<?> repositoryRevision) {
+        propositionsPanel.setRepositoryRevision(repositoryRevision);
+    }
+
     /**
      * Hand over a pre-computed clustering for Clusters mode. See
      * {@link PropositionsPanel#setClustersProvider(Supplier)}.
@@ -404,6 +731,14 @@ public class MemorySection extends VerticalLayout {
         propositionsPanel.setClustersProvider(clustersProvider);
     }
 
+    /**
+     * Patch the Clusters view after a mutation instead of refreshing it. See
+     * {@link PropositionsPanel#applyClusterDeltas(List)}.
+     */
+    public void applyClusterDeltas(List<MemoryClusters.ClusterDelta> deltas) {
+        propositionsPanel.applyClusterDeltas(deltas);
+    }
+
     /**
      * Set the handler invoked when a user completes the "Link…" popover in Clusters mode.
      */
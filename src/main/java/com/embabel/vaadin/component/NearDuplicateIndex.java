@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Assigns scored results to duplicate groups in one pass over them. Identical normalized text
+ * always lands in the same group; below a threshold of 1 so do near-duplicates — paraphrases like
+ * "alice has a cat" / "alice owns a cat" — judged by the Jaccard similarity of their word sets.
+ * That similarity is estimated from MinHash signatures, and candidates are found by banding the
+ * signatures (LSH), so each text is compared only against groups sharing a band with it rather
+ * than against every group seen so far. The bands are sized from the threshold, so a pair at
+ * the threshold all but always becomes a candidate.
+ */
+final class NearDuplicateIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int HASHES = 64;
+    /** Widest band tried: 8 rows, for thresholds high enough that narrow bands over-match. */
+    private static final int MAX_ROWS_PER_BAND = 8;
+    /**
+     * How likely a pair right at the threshold must be to share a band. A pair missed here is
+     * missed for good — the same texts give the same signatures every time.
+     */
+    private static final double MIN_CANDIDATE_RECALL = 0.99;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final double threshold;
+    private final int rowsPerBand;
+    private final Map<String, Integer> exactGroups = new HashMap<>();
+    /** Each group's first signature, which later texts are compared against. */
+    private final List<int[]> groupSignatures = new ArrayList<>();
+    /** Per band: band hash to the groups whose signature has it. */
+    private final List<Map<Long, List<Integer>>> bands = new ArrayList<>();
+
+    /**
+     * @param threshold estimated word-set Jaccard similarity at or above which two texts are
+     *                  grouped, in (0, 1]; 1 groups identical text only
+     */
+    NearDuplicateIndex(double threshold) {
+        this.threshold = threshold;
+        this.rowsPerBand = rowsPerBand(threshold);
+        for (int i = 0; i < HASHES / rowsPerBand; i++) {
+            bands.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * The widest band that still makes a pair at {@code threshold} a candidate with probability
+     * {@link #MIN_CANDIDATE_RECALL}: with b bands of r rows that probability is 1-(1-J^r)^b.
+     * Wider bands mean fewer false candidates to compare; at 0.5 this gives 32 bands of 2 rows,
+     * at 0.8 twelve bands of 5.
+     */
+    static int rowsPerBand(double threshold) {
+        for (int rows = MAX_ROWS_PER_BAND; rows > 1; rows--) {
+            int bandCount = HASHES / rows;
+            if (1 - Math.pow(1 - Math.pow(threshold, rows), bandCount) >= MIN_CANDIDATE_RECALL) {
+                return rows;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * @param normalizedText a result's text, already normalized for exact comparison
+     * @return the group it belongs to: an existing group's number, or the next unused one
+     */
+    int assign(String normalizedText) {
+        var exact = exactGroups.get(normalizedText);
+        if (exact != null) {
+            return exact;
+        }
+        int group = groupSignatures.size();
+        int[] signature = threshold < 1.0 ? signature(normalizedText) : null;
+        if (signature != null) {
+            var match = nearestGroup(signature);
+            if (match >= 0) {
+                exactGroups.put(normalizedText, match);
+                return match;
+            }
+            for (int band = 0; band < bands.size(); band++) {
+                bands.get(band).computeIfAbsent(bandHash(signature, band), k -> new ArrayList<>()).add(group);
+            }
+        }
+        groupSignatures.add(signature);
+        exactGroups.put(normalizedText, group);
+        return group;
+    }
+
+    private int nearestGroup(int[] signature) {
+        var candidates = new LinkedHashSet<Integer>();
+        for (int band = 0; band < bands.size(); band++) {
+            var groups = bands.get(band).get(bandHash(signature, band));
+            if (groups != null) {
+                candidates.addAll(groups);
+            }
+        }
+        for (var candidate : candidates) {
+            if (similarity(signature, groupSignatures.get(candidate)) >= threshold) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    /** MinHash signature of the text's distinct words, or null if it has none. */
+    private static int[] signature(String text) {
+        var words = new LinkedHashSet<String>();
+        for (var word : NON_WORD.split(text)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        var signature = new int[HASHES];
+        java.util.Arrays.fill(signature, Integer.MAX_VALUE);
+        for (var word : words) {
+            long hash = word.hashCode();
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) mix(hash ^ SEEDS[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Fraction of matching signature slots: an unbiased estimate of the word-set Jaccard. */
+    private static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / HASHES;
+    }
+
+    private long bandHash(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * rowsPerBand; row < (band + 1) * rowsPerBand; row++) {
+            hash = hash * 31 + signature[row];
+        }
+        return hash;
+    }
+
+    /** SplitMix64 finalizer: a cheap, well-distributed 64-bit mix. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -16,12 +16,15 @@
 package com.embabel.vaadin.component;
 
 import com.embabel.agent.rag.model.NamedEntity;
-import com.embabel.dice.proposition.EntityMention;
 import com.embabel.dice.proposition.Proposition;
+import com.embabel.vaadin.component.PropositionView.MentionView;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Key;
 import com.vaadin.flow.component.Shortcuts;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
@@ -31,6 +34,7 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextArea;
 
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.time.format.DateTimeFormatter;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -40,24 +44,37 @@ import java.util.function.Predicate;
 /**
  * Card component displaying a single proposition with its metadata.
  */
+@CssImport("./styles/proposition-card.css")
+@JsModule("./relative-time.js")
 public class PropositionCard extends Div {
 
+    /** Shown when an edit is saved for a memory the store no longer has. */
+    static final String MEMORY_GONE_MESSAGE = "This memory no longer exists, so the edit can't be saved.";
+
     private static final DateTimeFormatter TIME_FORMATTER =
             DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
 
-    private final Proposition proposition;
+    /** All the card keeps of its memory; see {@link #loadProposition()} for the rest. */
+    private PropositionView view;
+    /** Loads the full proposition by id, for edits and handlers that want it. */
+    private final Function<String, Proposition> propositionLoader;
     private final Button editButton;
     private final Button deleteButton;
     private final HorizontalLayout metaLayout;
-    private Consumer<Proposition> onDelete;
-    private Consumer<Proposition> onEdit;
+    private final Span confidenceSpan;
+    private Consumer<PropositionView> onDelete;
+    private BiConsumer<Proposition, Proposition> onEdit;
     private final Function<String, NamedEntity> entityResolver;
     private LineageProvider lineageProvider;
     private Button lineageBadge;
+    private Button collapseBadge;
+    private CollapseExplanation collapseExplanation;
     private Function<String, java.util.List<Proposition>> relatedPropositionsLoader;
     private Function<String, EntityPanel.RelatedRecords> relatedRecordsLoader;
     private BiConsumer<String, String> onUndoMember;
     private BiConsumer<String, String> onAfterUndo;
+    private BiConsumer<String, java.util.List<String>> onUndoMembers;
+    private BiConsumer<String, java.util.List<String>> onAfterUndoMembers;
     private Consumer<String> onOpenRef;
     private Predicate<String> openable;
     private Span relativeTimeSpan;
@@ -65,6 +82,12 @@ public class PropositionCard extends Div {
     private Span textSpan;
     private HorizontalLayout headerLayout;
     private final Consumer<String> onEntityPillClick;
+    /**
+     * When true, this card's controls only carry {@code data-action} attributes and the card
+     * carries {@code data-id}; an enclosing container listens for their clicks once, for every
+     * card, and hands them to {@link #handleAction}. When false each control listens for itself.
+     */
+    private final boolean delegatedClicks;
 
     private static final int MAX_VISIBLE_PILLS = 4;
 
@@ -130,39 +153,68 @@ public class PropositionCard extends Div {
             Function<String, NamedEntity> entityResolver,
             CollapseExplanationProvider collapseExplanationProvider,
             Consumer<String> onEntityPillClick) {
-        this.proposition = prop;
+        this(prop, entityResolver, collapseExplanationProvider, onEntityPillClick, false);
+    }
+
+    /**
+     * As the four-argument constructor, optionally leaving click handling to an enclosing
+     * container: see {@link #handleAction(String, String)}.
+     */
+    PropositionCard(
+            Proposition prop,
+            Function<String, NamedEntity> entityResolver,
+            CollapseExplanationProvider collapseExplanationProvider,
+            Consumer<String> onEntityPillClick,
+            boolean delegatedClicks) {
+        this(PropositionView.of(prop), id -> prop, entityResolver, collapseExplanationProvider, onEntityPillClick,
+                delegatedClicks);
+    }
+
+    /**
+     * A card that keeps only {@code prop} and loads the full proposition through
+     * {@code propositionLoader} when it needs it — what a list of thousands of cards uses, so
+     * none of them holds on to grounding or anything else it never shows.
+     *
+     * @param propositionLoader loads a proposition by id; may return null if it's gone
+     */
+    PropositionCard(
+            PropositionView prop,
+            Function<String, Proposition> propositionLoader,
+            Function<String, NamedEntity> entityResolver,
+            CollapseExplanationProvider collapseExplanationProvider,
+            Consumer<String> onEntityPillClick,
+            boolean delegatedClicks) {
+        this.view = prop;
+        this.propositionLoader = propositionLoader;
         this.entityResolver = entityResolver;
         this.onEntityPillClick = onEntityPillClick;
+        this.delegatedClicks = delegatedClicks;
         addClassName("proposition-card");
         addClassName("proposition-card-full-width");
-
-        // Inject CSS for card styling if not already done
-        injectCardStyles();
+        if (delegatedClicks) {
+            getElement().setAttribute("data-id", prop.id());
+        }
 
         headerLayout = new HorizontalLayout();
         headerLayout.setWidthFull();
         headerLayout.setSpacing(true);
         headerLayout.addClassName("proposition-header");
 
-        textSpan = new Span(prop.getText());
+        textSpan = new Span(prop.text());
         textSpan.addClassName("proposition-text");
 
         editButton = new Button(VaadinIcon.EDIT.create());
         editButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
         editButton.addClassName("proposition-edit");
         editButton.getElement().setAttribute("title", "Edit this memory");
-        editButton.addClickListener(e -> startEditing(textSpan, headerLayout));
+        bindAction(editButton, "edit", null);
         editButton.setVisible(false);
 
         deleteButton = new Button(VaadinIcon.TRASH.create());
         deleteButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_ERROR);
         deleteButton.addClassName("proposition-delete");
         deleteButton.getElement().setAttribute("title", "Delete this memory");
-        deleteButton.addClickListener(e -> {
-            if (onDelete != null) {
-                onDelete.accept(proposition);
-            }
-        });
+        bindAction(deleteButton, "delete", null);
         deleteButton.setVisible(false);
 
         headerLayout.add(textSpan, editButton, deleteButton);
@@ -172,26 +224,31 @@ public class PropositionCard extends Div {
         metaLayout.setSpacing(true);
         metaLayout.addClassName("proposition-meta");
 
-        var confidencePercent = (int) (prop.getConfidence() * 100);
-        var confidenceSpan = new Span(confidencePercent + "% confidence");
+        confidenceSpan = new Span();
         confidenceSpan.addClassName("proposition-confidence");
-        confidenceSpan.addClassName(confidencePercent >= 80 ? "high" :
-                confidencePercent >= 50 ? "medium" : "low");
+        showConfidence(prop.confidence());
 
         metaLayout.add(confidenceSpan);
 
         if (collapseExplanationProvider != null) {
-            collapseExplanationProvider.explain(prop.getId())
+            collapseExplanationProvider.explain(prop.id())
                     .filter(explanation -> !explanation.retired().isEmpty())
-                    .ifPresent(explanation -> metaLayout.add(createCollapseBadge(explanation)));
+                    .ifPresent(explanation -> {
+                        collapseExplanation = explanation;
+                        collapseBadge = createCollapseBadge(explanation);
+                        metaLayout.add(collapseBadge);
+                    });
         }
 
-        // Create relative time span with absolute time as tooltip
-        relativeTimeSpan = new Span(formatRelativeTime(prop.getCreated()));
+        // Relative time with the absolute time as tooltip. The label is computed here for first
+        // paint only; relative-time.js keeps it current from data-created on one shared timer.
+        relativeTimeSpan = new Span(formatRelativeTime(prop.created()));
         relativeTimeSpan.addClassName("proposition-relative-time");
-        relativeTimeSpan.getElement().setAttribute("title", TIME_FORMATTER.format(prop.getCreated()));
+        relativeTimeSpan.getElement().setAttribute("title", TIME_FORMATTER.format(prop.created()));
+        relativeTimeSpan.getElement().setAttribute("data-created",
+                prop.created().truncatedTo(ChronoUnit.MILLIS).toString());
 
-        var mentions = prop.getMentions();
+        var mentions = prop.mentions();
         if (!mentions.isEmpty()) {
             entitiesLayout = new HorizontalLayout();
             entitiesLayout.setSpacing(false);
@@ -200,7 +257,7 @@ public class PropositionCard extends Div {
             // Cap visible pills to MAX_VISIBLE_PILLS; render "+N" chip for the rest
             int visibleCount = Math.min(mentions.size(), MAX_VISIBLE_PILLS);
             for (int i = 0; i < visibleCount; i++) {
-                entitiesLayout.add(createMentionBadge(mentions.get(i)));
+                entitiesLayout.add(createMentionBadge(mentions.get(i), i, delegatedClicks));
             }
 
             if (mentions.size() > MAX_VISIBLE_PILLS) {
@@ -208,7 +265,7 @@ public class PropositionCard extends Div {
                 var overflowChip = new Button("+" + overflowCount + " more");
                 overflowChip.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
                 overflowChip.addClassName("proposition-pill-overflow");
-                overflowChip.addClickListener(e -> showAllPills(mentions));
+                bindAction(overflowChip, "pills", null);
                 entitiesLayout.add(overflowChip);
             }
 
@@ -218,47 +275,152 @@ public class PropositionCard extends Div {
         }
     }
 
-    private Span createMentionBadge(EntityMention mention) {
-        String label;
-        NamedEntity resolved = null;
+    private void showConfidence(double confidence) {
+        var confidencePercent = (int) (confidence * 100);
+        confidenceSpan.setText(confidencePercent + "% confidence");
+        confidenceSpan.setClassName("high", confidencePercent >= 80);
+        confidenceSpan.setClassName("medium", confidencePercent >= 50 && confidencePercent < 80);
+        confidenceSpan.setClassName("low", confidencePercent < 50);
+    }
 
-        if (mention.getResolvedId() != null && entityResolver != null) {
-            resolved = entityResolver.apply(mention.getResolvedId());
-        }
+    /**
+     * Updates this card in place to show a newer version of the same memory, when the change is
+     * one the card can apply to its existing text and confidence spans. Anything that would alter
+     * the card's structure — different mentions, creation time or status — is refused, and the
+     * caller builds a fresh card instead.
+     *
+     * @param updated the newer version of this card's proposition (same id)
+     * @return true if the card now shows {@code updated}; false if it must be replaced
+     */
+    boolean patch(Proposition updated) {
+        return patch(PropositionView.of(updated));
+    }
 
-        String displayName;
-        if (resolved != null) {
-            label = resolved.getName();
-            displayName = resolved.getName();
-        } else {
-            // Fallback: show span text or type, with ? to indicate unresolved
-            var base = mention.getSpan() != null ? mention.getSpan() : mention.getType();
-            label = base + " ?";
-            displayName = base;
+    /** As {@link #patch(Proposition)}, for a newer version already projected. */
+    boolean patch(PropositionView updated) {
+        if (!updated.id().equals(view.id())
+                || !java.util.Objects.equals(updated.created(), view.created())
+                || updated.status() != view.status()
+                || !updated.mentions().equals(view.mentions())) {
+            return false;
         }
+        if (!java.util.Objects.equals(updated.text(), view.text())) {
+            textSpan.setText(updated.text());
+        }
+        if (updated.confidence() != view.confidence()) {
+            showConfidence(updated.confidence());
+        }
+        view = updated;
+        return true;
+    }
+
+    /**
+     * @param index     the mention's position in this card's proposition, which its click reports
+     * @param delegated whether the click goes through an enclosing container — false for pills
+     *                  shown in a dialog, which no container of this card encloses
+     */
+    private Span createMentionBadge(MentionView mention, int index, boolean delegated) {
+        var resolved = resolveMention(mention);
+        // Fallback: show span text or type, with ? to indicate unresolved
+        var label = resolved != null ? resolved.getName() : fallbackName(mention) + " ?";
 
         var badge = new Span(label);
         badge.addClassName("mention-badge");
-
-        if (resolved != null) {
-            var entity = resolved;
-            badge.addClassName("clickable");
-            badge.getElement().addEventListener("click", e -> showEntityDialog(entity));
-        } else {
+        if (resolved == null) {
             badge.addClassName("unresolved");
         }
 
-        // Pill-click hook: fires the entity's display name when a handler is set, for either
-        // resolved or unresolved pills. Leaves the pill non-clickable (no cursor change) when
-        // no handler is wired, so hosts that don't use this stay exactly as before.
-        if (onEntityPillClick != null) {
+        // Resolved pills open the entity. The pill-click hook fires the entity's display name
+        // when a handler is set, for either resolved or unresolved pills. Leaves the pill
+        // non-clickable (no cursor change) when neither applies, so hosts that don't use this
+        // stay exactly as before.
+        if (resolved != null || onEntityPillClick != null) {
             badge.addClassName("clickable");
-            badge.getElement().addEventListener("click", e -> handlePillClick(displayName));
+            bindAction(badge, "pill", String.valueOf(index), delegated);
         }
 
         return badge;
     }
 
+    private NamedEntity resolveMention(MentionView mention) {
+        return mention.resolvedId() != null && entityResolver != null
+                ? entityResolver.apply(mention.resolvedId())
+                : null;
+    }
+
+    private static String fallbackName(MentionView mention) {
+        return mention.span() != null ? mention.span() : mention.type();
+    }
+
+    private void bindAction(Component control, String action, String value) {
+        bindAction(control, action, value, delegatedClicks);
+    }
+
+    /**
+     * Makes a click on {@code control} run {@link #handleAction}: either by tagging it for the
+     * enclosing container's delegated listener, or with a listener of its own.
+     */
+    private void bindAction(Component control, String action, String value, boolean delegated) {
+        if (delegated) {
+            control.getElement().setAttribute("data-action", action);
+            if (value != null) {
+                control.getElement().setAttribute("data-value", value);
+            }
+        } else if (control instanceof Button button) {
+            button.addClickListener(e -> handleAction(action, value));
+        } else {
+            control.getElement().addEventListener("click", e -> handleAction(action, value));
+        }
+    }
+
+    /**
+     * Runs what clicking one of this card's controls does. Called by the control's own listener,
+     * or, for a card built with delegated clicks, by the container that caught the click.
+     *
+     * @param action the control's {@code data-action}: {@code edit}, {@code delete}, {@code pill},
+     *               {@code pills}, {@code merged} or {@code lineage}
+     * @param value  the control's {@code data-value} — a pill's mention index — or null
+     * @return false if the action isn't one of this card's
+     */
+    boolean handleAction(String action, String value) {
+        switch (action) {
+            case "edit" -> {
+                if (onEdit != null) {
+                    startEditing(textSpan, headerLayout);
+                }
+            }
+            case "delete" -> {
+                if (onDelete != null) {
+                    onDelete.accept(view);
+                }
+            }
+            case "pill" -> {
+                var mentions = view.mentions();
+                int index = value == null ? -1 : Integer.parseInt(value);
+                if (index < 0 || index >= mentions.size()) {
+                    return true;
+                }
+                var mention = mentions.get(index);
+                var resolved = resolveMention(mention);
+                if (resolved != null) {
+                    showEntityDialog(resolved);
+                }
+                handlePillClick(resolved != null ? resolved.getName() : fallbackName(mention));
+            }
+            case "pills" -> showAllPills(view.mentions());
+            case "merged" -> {
+                if (collapseExplanation != null) {
+                    showCollapseDialog(collapseExplanation);
+                }
+            }
+            case "lineage" -> showLineage();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Runs the pill-click callback, if one is wired. Package-visible so tests can call it
      * directly the same way they call {@link #showEntityDialog(NamedEntity)} — there's no
@@ -276,11 +438,12 @@ public class PropositionCard extends Div {
         badge.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
         badge.addClassName("collapse-explanation-badge");
         badge.getElement().setAttribute("title", "Show why these memories were merged");
-        badge.addClickListener(e -> showCollapseDialog(explanation));
+        bindAction(badge, "merged", null);
         return badge;
     }
 
-    private void showCollapseDialog(CollapseExplanation explanation) {
+    // Package-visible so a MemoryCard row can open the same dialog through a detached card.
+    void showCollapseDialog(CollapseExplanation explanation) {
         var dialog = new Dialog();
         dialog.setHeaderTitle("Why this memory was merged");
         dialog.setCloseOnOutsideClick(true);
@@ -371,7 +534,7 @@ public class PropositionCard extends Div {
             lineageBadge = null;
         }
         if (lineageProvider != null) {
-            lineageBadge = createLineageBadge(lineageProvider);
+            lineageBadge = createLineageBadge();
             metaLayout.add(lineageBadge);
         }
     }
@@ -420,6 +583,28 @@ public class PropositionCard extends Div {
         this.onAfterUndo = onAfterUndo;
     }
 
+    /**
+     * Set the batch undo for the lineage section, restoring several retired members in one call.
+     * See {@link LineageSection#setOnUndoMembers(BiConsumer)}.
+     *
+     * @param onUndoMembers callback receiving (survivorId, retiredMemberIds), or null to use the
+     *                      per-member callback
+     */
+    public void setOnUndoMembers(BiConsumer<String, java.util.List<String>> onUndoMembers) {
+        this.onUndoMembers = onUndoMembers;
+    }
+
+    /**
+     * Set the batch after-undo handler for the lineage section, fired once per undo. See
+     * {@link LineageSection#setOnAfterUndoMembers(BiConsumer)}.
+     *
+     * @param onAfterUndoMembers callback receiving (survivorId, retiredMemberIds), or null to use
+     *                           the per-member handler
+     */
+    public void setOnAfterUndoMembers(BiConsumer<String, java.util.List<String>> onAfterUndoMembers) {
+        this.onAfterUndoMembers = onAfterUndoMembers;
+    }
+
     /**
      * Set the handler to invoke when a grounding or provenance ref is opened in the lineage section.
      *
@@ -438,15 +623,22 @@ public class PropositionCard extends Div {
         this.openable = openable;
     }
 
-    private Button createLineageBadge(LineageProvider provider) {
+    private Button createLineageBadge() {
         var badge = new Button("Lineage", VaadinIcon.CONNECT.create());
         badge.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
         badge.addClassName("lineage-badge");
         badge.getElement().setAttribute("title", "Show where this memory came from");
-        badge.addClickListener(e -> showLineageDialog(provider));
+        bindAction(badge, "lineage", null);
         return badge;
     }
 
+    /** Opens the dialog the "Lineage" badge opens; does nothing without a lineage provider. */
+    void showLineage() {
+        if (lineageProvider != null) {
+            showLineageDialog(lineageProvider);
+        }
+    }
+
     private void showLineageDialog(LineageProvider provider) {
         var dialog = new Dialog();
         dialog.setHeaderTitle("Lineage");
@@ -463,19 +655,25 @@ public class PropositionCard extends Div {
         if (onAfterUndo != null) {
             section.setOnAfterUndo(onAfterUndo);
         }
+        if (onUndoMembers != null) {
+            section.setOnUndoMembers(onUndoMembers);
+        }
+        if (onAfterUndoMembers != null) {
+            section.setOnAfterUndoMembers(onAfterUndoMembers);
+        }
         if (onOpenRef != null) {
             section.setOnOpenRef(onOpenRef);
         }
         if (openable != null) {
             section.setOpenable(openable);
         }
-        section.show(proposition.getId());
+        section.show(view.id());
         dialog.add(section);
         dialog.getFooter().add(new Button("Close", e -> dialog.close()));
         dialog.open();
     }
 
-    private void showAllPills(java.util.List<EntityMention> mentions) {
+    private void showAllPills(java.util.List<MentionView> mentions) {
         var dialog = new Dialog();
         dialog.setHeaderTitle("All Entity References");
         dialog.setWidth("400px");
@@ -486,8 +684,8 @@ public class PropositionCard extends Div {
         content.setSpacing(true);
         content.addClassName("all-pills-dialog-content");
 
-        for (var mention : mentions) {
-            content.add(createMentionBadge(mention));
+        for (int i = 0; i < mentions.size(); i++) {
+            content.add(createMentionBadge(mentions.get(i), i, false));
         }
 
         dialog.add(content);
@@ -519,21 +717,86 @@ public class PropositionCard extends Div {
         dialog.open();
     }
 
+    /**
+     * Set handler for deleting. It gets the full proposition, loaded when the delete is clicked.
+     */
     public void setOnDelete(Consumer<Proposition> handler) {
+        setOnDeleteView(handler == null ? null : shown -> {
+            var full = propositionLoader.apply(shown.id());
+            if (full != null) {
+                handler.accept(full);
+            }
+        });
+    }
+
+    /** Same as {@link #setOnDelete(Consumer)} for a handler that only needs what the card shows. */
+    void setOnDeleteView(Consumer<PropositionView> handler) {
         this.onDelete = handler;
         deleteButton.setVisible(handler != null);
     }
 
     /**
-     * Set handler for editing. Called with the updated proposition (new text applied via copy).
+     * Set handler for editing. Called with the updated proposition: the full proposition, loaded
+     * when the edit is saved, with the new text applied via copy.
      */
     public void setOnEdit(Consumer<Proposition> handler) {
+        setOnEditFrom(handler == null ? null : (previous, updated) -> handler.accept(updated));
+    }
+
+    /**
+     * Same as {@link #setOnEdit(Consumer)}, but the handler also gets the version the card showed
+     * before the edit, so it can put the card back (via {@link #patch}) if saving fails.
+     */
+    void setOnEditFrom(BiConsumer<Proposition, Proposition> handler) {
         this.onEdit = handler;
         editButton.setVisible(handler != null);
     }
 
+    /** What the card shows of its memory — all it keeps in memory of it. */
+    public PropositionView getView() {
+        return view;
+    }
+
+    /**
+     * The full proposition behind this card. A card built from a {@link Proposition} hands back
+     * that one; a card the memory panel built from a {@link PropositionView} loads it from the
+     * store on every call, so call this only when the full proposition is really needed.
+     *
+     * @return the full proposition, or null if it's no longer in the store
+     */
+    public Proposition loadProposition() {
+        return propositionLoader.apply(view.id());
+    }
+
+    /**
+     * The full proposition behind this card. Behaviour change for hosts: this used to return the
+     * proposition the card was built with. A card built from a {@link Proposition} still does, but
+     * the cards {@link PropositionsPanel} renders keep only a {@link PropositionView}, so for them
+     * this is a store lookup on every call, and returns null once the memory has been deleted.
+     * Code that reads the id or text should use {@link #getView()}, which is never null.
+     *
+     * @return the full proposition, or null if it's no longer in the store
+     * @deprecated use {@link #getView()} for what the card shows, or {@link #loadProposition()}
+     * when the full proposition is really needed
+     */
+    @Deprecated
     public Proposition getProposition() {
-        return proposition;
+        return loadProposition();
+    }
+
+    /** Why this memory was collapsed, as its badge shows it, or null if it wasn't. */
+    CollapseExplanation getCollapseExplanation() {
+        return collapseExplanation;
+    }
+
+    /** The "Merged N duplicates" badge in the meta row, or null if this memory wasn't collapsed. */
+    Button getCollapseBadge() {
+        return collapseBadge;
+    }
+
+    /** The row under the memory text holding confidence and badges, for callers adding their own. */
+    HorizontalLayout getMetaRow() {
+        return metaLayout;
     }
 
     /**
@@ -546,7 +809,7 @@ public class PropositionCard extends Div {
 
     private void startEditing(Span textSpan, HorizontalLayout headerLayout) {
         var editArea = new TextArea();
-        editArea.setValue(proposition.getText());
+        editArea.setValue(view.text());
         editArea.setWidthFull();
         editArea.addClassName("proposition-edit-area");
 
@@ -569,11 +832,23 @@ public class PropositionCard extends Div {
 
         saveButton.addClickListener(e -> {
             var newText = editArea.getValue().trim();
-            if (!newText.isEmpty() && !newText.equals(proposition.getText())) {
-                var updated = proposition.withText(newText);
-                textSpan.setText(newText);
+            var changed = !newText.isEmpty() && !newText.equals(view.text());
+            // Only now is the full proposition needed: the edit has to save everything else as is.
+            var previous = changed ? loadProposition() : null;
+            if (changed && previous == null) {
+                // Deleted since the card was drawn: say so, and keep the editor so the text isn't lost.
+                editArea.setInvalid(true);
+                editArea.setErrorMessage(MEMORY_GONE_MESSAGE);
+                return;
+            }
+            if (previous != null) {
+                var updated = previous.withText(newText);
+                // A refused patch means the store has moved on in a way the card can't show in
+                // place (status, created time or mentions); the handler sees getView() doesn't
+                // match what it saves, and re-renders.
+                patch(updated);
                 if (onEdit != null) {
-                    onEdit.accept(updated);
+                    onEdit.accept(previous, updated);
                 }
             }
             remove(editContainer);
@@ -585,58 +860,4 @@ public class PropositionCard extends Div {
             headerLayout.setVisible(true);
         });
     }
-
-    private void injectCardStyles() {
-        // Each card carries its own <style> virtual child, the same pattern PropositionsPanel
-        // uses on itself. We used to gate this behind a static "only the first card in the JVM
-        // needs it" flag, sharing one style element across every card — but that element lives
-        // on whichever card happened to be first, so removing that one card (refresh, undo,
-        // filter) took the styling for every other card down with it. A per-instance style tag
-        // costs a few hundred bytes of virtual DOM per card, which is nothing next to a card
-        // silently going unstyled.
-        String css = """
-                .proposition-card-full-width {
-                  width: 100%;
-                  padding: var(--lumo-space-s);
-                  display: flex;
-                  flex-direction: column;
-                  gap: var(--lumo-space-xs);
-                }
-
-                .proposition-card-full-width .proposition-text {
-                  display: -webkit-box;
-                  -webkit-line-clamp: 2;
-                  -webkit-box-orient: vertical;
-                  overflow: hidden;
-                  word-break: break-word;
-                }
-
-                .proposition-card-full-width .proposition-header {
-                  flex-wrap: wrap;
-                  align-items: flex-start;
-                }
-
-                .proposition-card-full-width .proposition-meta {
-                  flex-wrap: wrap;
-                  gap: var(--lumo-space-xs);
-                  font-size: var(--lumo-font-size-s);
-                }
-
-                .proposition-card-full-width .proposition-entities {
-                  flex-wrap: wrap;
-                  gap: var(--lumo-space-xs);
-                }
-
-                .proposition-card-full-width .proposition-relative-time {
-                  font-size: var(--lumo-font-size-xs);
-                  color: var(--lumo-secondary-text-color);
-                  text-align: right;
-                  margin-top: var(--lumo-space-xs);
-                }
-                """;
-
-        var styleElement = new com.vaadin.flow.dom.Element("style");
-        styleElement.setText(css);
-        getElement().appendVirtualChild(styleElement);
-    }
 }
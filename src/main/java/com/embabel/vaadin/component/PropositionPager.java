@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+
+import java.util.List;
+
+/**
+ * Pages through a context's memories for the flat list, so the panel never has to pull a whole
+ * context into the session just to show the screenful the user is looking at. A host implements
+ * this against its store (SKIP/LIMIT with ORDER BY on Neo4j, say); this component doesn't know or
+ * care how the page is fetched — only that the store does the sorting, not the UI.
+ */
+public interface PropositionPager {
+
+    /**
+     * One page of a context-scoped query: the same {@link PropositionQuery} the panel would hand
+     * to {@code PropositionRepository.query}, plus the window the list is asking for.
+     *
+     * @param query  context + status filter, exactly as the unpaged flat list would query it
+     * @param offset index of the first memory wanted, counting from the newest
+     * @param limit  maximum number of memories wanted
+     */
+    record PageRequest(PropositionQuery query, int offset, int limit) {
+    }
+
+    /**
+     * @param request the query and window to fetch
+     * @return at most {@code request.limit()} memories, newest first (by creation time), starting
+     * at {@code request.offset()}; fewer (or none) past the end
+     */
+    List<Proposition> page(PageRequest request);
+
+    /**
+     * @param query context + status filter
+     * @return how many memories the query matches in total — drives the header count and the
+     * list's scroll height, so it should be a store-side count, not a fetch-and-size
+     */
+    int count(PropositionQuery query);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a memory card shows of a {@link Proposition}, and all it keeps of one while the UI is
+ * open: id, text, confidence, creation time, status and the mentions its pills draw. Grounding,
+ * reasoning, mention hints and anything else the store attaches stay out of session memory; a
+ * card that needs the full proposition — to save an edit — loads it again by id.
+ *
+ * @param id         the proposition's id
+ * @param text       the memory text
+ * @param confidence confidence between 0 and 1
+ * @param created    when the memory was created
+ * @param status     the memory's status
+ * @param mentions   its entity mentions, in order
+ */
+public record PropositionView(String id, String text, double confidence, Instant created,
+                              PropositionStatus status, List<MentionView> mentions) {
+
+    /**
+     * An entity mention as a pill shows it.
+     *
+     * @param span       the mentioned text, or null
+     * @param type       the entity type, shown when there's no span
+     * @param resolvedId the entity it resolved to, or null
+     */
+    public record MentionView(String span, String type, String resolvedId) {
+    }
+
+    public PropositionView {
+        mentions = List.copyOf(mentions);
+    }
+
+    /** Projects the fields a card renders out of {@code proposition}. */
+    public static PropositionView of(Proposition proposition) {
+        var mentions = new ArrayList<MentionView>(proposition.getMentions().size());
+        for (EntityMention mention : proposition.getMentions()) {
+            mentions.add(new MentionView(mention.getSpan(), mention.getType(), mention.getResolvedId()));
+        }
+        return new PropositionView(proposition.getId(), proposition.getText(), proposition.getConfidence(),
+                proposition.getCreated(), proposition.getStatus(), mentions);
+    }
+}
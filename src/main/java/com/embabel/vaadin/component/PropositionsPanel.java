@@ -16,13 +16,13 @@
 package com.embabel.vaadin.component;
 
 import com.embabel.agent.rag.model.NamedEntity;
-import com.embabel.agent.rag.service.Cluster;
 import com.embabel.common.core.types.SimilarityResult;
 import com.embabel.dice.proposition.Proposition;
 import com.embabel.dice.proposition.PropositionQuery;
 import com.embabel.dice.proposition.PropositionRepository;
 import com.embabel.dice.proposition.PropositionStatus;
 import com.embabel.vaadin.component.MemoryClusters.AddEdgeRequest;
+import com.embabel.vaadin.component.MemoryClusters.ClusterDelta;
 import com.embabel.vaadin.component.MemoryClusters.ClusterKind;
 import com.embabel.vaadin.component.MemoryClusters.ClusterMemberView;
 import com.embabel.vaadin.component.MemoryClusters.ClusteredMemories;
@@ -33,15 +33,20 @@ import com.embabel.vaadin.component.MemoryClusters.LinkTarget;
 import com.embabel.vaadin.component.MemoryClusters.LinkTargetKind;
 import com.embabel.vaadin.component.MemoryClusters.MemoryClusterView;
 import com.embabel.vaadin.component.MemoryClusters.RemoveEdgeRequest;
+import com.embabel.vaadin.component.PropositionView.MentionView;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.HasComponents;
 import com.vaadin.flow.component.HasStyle;
 import com.vaadin.flow.component.Key;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.Scroller;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
@@ -49,31 +54,71 @@ import com.vaadin.flow.component.popover.Popover;
 import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.component.select.SelectVariant;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.shared.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.dom.Element;
 
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Panel showing the knowledge base of extracted propositions.
  */
+@JsModule("./memory-filter.js")
+@CssImport("./styles/propositions-panel.css")
 public class PropositionsPanel extends VerticalLayout {
 
+    private static final Logger logger = LoggerFactory.getLogger(PropositionsPanel.class);
+
+    /** Similarity threshold and neighbours per anchor for the repository-driven Clusters view. */
+    private static final double CLUSTER_THRESHOLD = 0.7;
+    private static final int CLUSTER_TOP_K = 10;
+    /** How many distinct Clusters views (context × status filter × revision) are remembered. */
+    private static final int CLUSTER_CACHE_SIZE = 16;
+    /** Clusters rendered in the first response when the rest of a Clusters view streams in. */
+    private static final int FIRST_SCREEN_CLUSTERS = 12;
+    /** Time spent building streamed clusters per server round trip before yielding to push. */
+    private static final long CLUSTER_BATCH_BUDGET_NANOS = 40_000_000L;
+    /** Quiet time after a keystroke before the Link… popover searches. */
+    private static final int LINK_SEARCH_DEBOUNCE_MILLIS = 250;
+    /** Target rows the Link… popover shows at once; typing narrows the rest. */
+    private static final int LINK_TARGET_ROWS = 50;
+    /** Coalescing key for {@link #scheduleRefresh}, so repeated requests share one pending refresh. */
+    private static final String SCHEDULED_REFRESH = "scheduled-refresh";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PERIOD = Pattern.compile("\\.$");
+    private static final Pattern LEADING_COUNT = Pattern.compile("^\\((\\d+)");
+    /** The control a click in the content landed on, if it's one a card or the panel acts on. */
+    private static final String ACTION_TARGET = "event.target.closest('[data-action]')";
+
     /**
      * The memory views offered in the Memory-tab header. ALL carries an empty status set because
      * dice treats that as "no status filter" — the way to surface STALE for audit.
@@ -93,8 +138,15 @@ public class PropositionsPanel extends VerticalLayout {
     }
 
     private final PropositionRepository propositionRepository;
-    private final Function<String, NamedEntity> entityResolver;
+    private final EntityResolver entityResolver;
     private final CollapseExplanationProvider collapseExplanationProvider;
+    /**
+     * Entities resolved for the mentions of the batch currently being rendered, keyed by entity id
+     * — including ids that didn't resolve, mapped to null, so they aren't looked up again. Populated
+     * once per render pass through {@link EntityResolver#resolveAll}; cards, the instant filter and
+     * cluster headers read from here instead of calling the resolver per pill.
+     */
+    private Map<String, NamedEntity> resolvedEntities = Map.of();
     /**
      * Collapse explanations resolved for the batch of propositions currently being rendered.
      * Populated once per render pass via {@link #resolveExplanations(Collection)} — {@link #createCard}
@@ -103,7 +155,71 @@ public class PropositionsPanel extends VerticalLayout {
      * looked up the badge) individual ones.
      */
     private Map<String, CollapseExplanation> resolvedExplanations = Map.of();
+    /**
+     * Cards the flat list is showing, keyed by proposition id in display order, with the
+     * explanation each was built against. A flat refresh reconciles against these instead of
+     * rebuilding every card — see {@link #reconcileFlatCards(List)}.
+     */
+    private final LinkedHashMap<String, PropositionCard> flatCards = new LinkedHashMap<>();
+    private final Map<String, CollapseExplanation> flatCardExplanations = new HashMap<>();
+    /**
+     * Every card in the content by proposition id, whatever the view, so {@link #openEditor} and
+     * friends don't walk the tree. Where a memory shows twice (in two clusters) the first card wins.
+     */
+    private final Map<String, PropositionCard> cardsById = new HashMap<>();
+    /**
+     * Bumped by every setter that changes what a freshly built card gets wired with. Flat cards
+     * built under an older generation carry stale handlers, so they're never reused.
+     */
+    private int cardWiringGeneration;
+    private int flatCardsWiringGeneration;
+    /** Lazily built by {@link #searchIndex()}; null whenever the rendered cards have changed. */
+    private MemorySearchIndex searchIndex;
+    /**
+     * When set, the instant filter runs in the browser (memory-filter.js) against each card's
+     * {@code data-search} attribute, and the server only syncs the settled query.
+     */
+    private boolean clientSideFilter;
+    private Registration clientFilterAttachRegistration;
     private final VerticalLayout propositionsContent;
+    private final Scroller contentScroller;
+    /**
+     * Virtualized flat list, created the first time a {@link PropositionPager} is set. Swapped in
+     * for {@link #contentScroller} while paged flat mode is showing — it scrolls itself and only
+     * asks for (and builds cards for) the rows around the viewport.
+     */
+    private VirtualList<Proposition> pagedList;
+    private PropositionPager propositionPager;
+    /** The provider snapshot the content's Link… pills were rendered from, or null. */
+    private ClusteredMemories linkSnapshot;
+    /** Search index and result cache for {@link #linkSnapshot}'s Link… popovers; built on first open. */
+    private LinkTargetIndex linkTargetIndex;
+    /** The provider Clusters view's containers by cluster id, so a delta can replace just one. */
+    private final Map<String, Div> clusterContainers = new HashMap<>();
+    /** The provider Clusters view's Unclustered section, or null when it has none. */
+    private Div unclusteredSection;
+    /** The card wrappers in {@link #unclusteredSection}, by memory id. */
+    private final Map<String, Div> unclusteredMembers = new HashMap<>();
+    /** Render paged rows as browser-rendered {@link MemoryCard}s instead of {@link PropositionCard}s. */
+    private boolean lightweightCards;
+    /** Runs refresh loads off the request thread when set; null keeps refresh synchronous. */
+    private Executor backgroundExecutor;
+    /**
+     * Runs the host's delete, edit and undo callbacks off the request thread when set; null keeps
+     * them on the request thread, holding the session lock, as they always ran.
+     */
+    private Executor writeExecutor;
+    /** The background load a later refresh would supersede, or null when none is pending. */
+    private Future<?> inFlightRefresh;
+    /** Bumped by every refresh; a background load only renders if it's still the latest. */
+    private int refreshGeneration;
+    /** Placeholder shown while a background load runs; created on first use. */
+    private Div loadingSkeleton;
+    private final ClusterCache clusterCache = new ClusterCache(CLUSTER_CACHE_SIZE);
+    /** The host's repository revision marker; null means "unknown", so refresh() can't trust the cache. */
+    private Supplier<?> repositoryRevision;
+    /** Loads the Clusters view in one round trip; null falls back to findClusters plus a query. */
+    private ClusteredViewLoader clusteredViewLoader;
     private final Span propositionCountSpan;
     private final Select<MemoryView> statusSelect;
     private final Button clusterToggle;
@@ -119,6 +235,8 @@ public class PropositionsPanel extends VerticalLayout {
     private Function<String, EntityPanel.RelatedRecords> relatedRecordsLoader;
     private BiConsumer<String, String> onUndoMember;
     private BiConsumer<String, String> onAfterUndo;
+    private BiConsumer<String, List<String>> onUndoMembers;
+    private BiConsumer<String, List<String>> onAfterUndoMembers;
     private Consumer<String> onOpenRef;
     private Predicate<String> openable;
     private Consumer<String> onEntityPillClick;
@@ -127,6 +245,8 @@ public class PropositionsPanel extends VerticalLayout {
     private Set<PropositionStatus> statusFilter = MemoryView.ACTIVE.statuses;
     private Supplier<List<SimilarityResult<Proposition>>> scoredResultsSupplier;
     private boolean scoredMode = false;
+    /** Word-set similarity at which scored results collapse together; 1 collapses identical text only. */
+    private double nearDuplicateThreshold = 1.0;
     private Supplier<ClusteredMemories> clustersProvider;
     private Consumer<AddEdgeRequest> onAddEdge;
     private Consumer<RemoveEdgeRequest> onRemoveEdge;
@@ -157,16 +277,13 @@ public class PropositionsPanel extends VerticalLayout {
                              Function<String, NamedEntity> entityResolver,
                              CollapseExplanationProvider collapseExplanationProvider) {
         this.propositionRepository = propositionRepository;
-        this.entityResolver = entityResolver;
+        this.entityResolver = EntityResolver.of(entityResolver);
         this.collapseExplanationProvider = collapseExplanationProvider;
 
         setPadding(false);
         setSpacing(true);
         setSizeFull();
 
-        // Add component-scoped CSS styling for scored mode cards and dedup badges
-        injectScoredModeStyles();
-
         var headerLayout = new HorizontalLayout();
         headerLayout.setAlignItems(Alignment.CENTER);
         headerLayout.setSpacing(true);
@@ -187,7 +304,7 @@ public class PropositionsPanel extends VerticalLayout {
         statusSelect.getElement().setAttribute("title", "Choose which memories to show");
         statusSelect.addValueChangeListener(e -> {
             statusFilter = e.getValue().statuses;
-            refresh();
+            reload();
         });
 
         clusterToggle = new Button("Clusters", VaadinIcon.CLUSTER.create());
@@ -198,7 +315,7 @@ public class PropositionsPanel extends VerticalLayout {
             clustered = !clustered;
             clusterToggle.setText(clustered ? "List" : "Clusters");
             clusterToggle.setIcon(clustered ? VaadinIcon.LIST.create() : VaadinIcon.CLUSTER.create());
-            refresh();
+            reload();
         });
 
         var refreshButton = new Button(VaadinIcon.REFRESH.create());
@@ -220,7 +337,14 @@ public class PropositionsPanel extends VerticalLayout {
         // ends — never so narrow it clips typing, never so wide it swallows the other controls.
         searchField.setMinWidth("320px");
         searchField.setMaxWidth("480px");
-        searchField.addValueChangeListener(e -> applyInstantFilter(e.getValue()));
+        searchField.addValueChangeListener(e -> {
+            if (clientSideFilter && e.isFromClient()) {
+                // The browser already filtered as the user typed; just catch the count up.
+                handleClientFilter(e.getValue());
+            } else {
+                applyInstantFilter(e.getValue());
+            }
+        });
         searchField.addKeyDownListener(Key.ENTER, e -> {
             if (onSearchSubmit != null) {
                 onSearchSubmit.accept(searchField.getValue());
@@ -291,8 +415,14 @@ public class PropositionsPanel extends VerticalLayout {
         propositionsContent.setPadding(false);
         propositionsContent.setSpacing(true);
         propositionsContent.setWidthFull();
-
-        var contentScroller = new Scroller(propositionsContent);
+        // One listener for every card's controls, instead of a handful registered per card; the
+        // filter keeps clicks that land on nothing actionable from making a round trip.
+        propositionsContent.getElement().addEventListener("click",
+                        e -> e.getEventDataElement(ACTION_TARGET).ifPresent(this::dispatchAction))
+                .addEventDataElement(ACTION_TARGET)
+                .setFilter(ACTION_TARGET + " != null");
+
+        contentScroller = new Scroller(propositionsContent);
         contentScroller.setScrollDirection(Scroller.ScrollDirection.VERTICAL);
         contentScroller.setSizeFull();
         contentScroller.addClassName("panel-scroller");
@@ -317,46 +447,54 @@ public class PropositionsPanel extends VerticalLayout {
      * query (case-insensitive), and updates the visible count. Blank query shows everything.
      */
     private void applyInstantFilter(String query) {
+        if (isPagedListShowing()) {
+            // Only the rows around the viewport exist as cards in paged mode, so there's nothing
+            // meaningful to filter locally; Enter still hands the query to the host's search.
+            return;
+        }
         var q = query == null ? "" : query.trim().toLowerCase();
-        var cards = allComponents(propositionsContent).stream()
-                .filter(c -> c instanceof PropositionCard)
-                .map(c -> (PropositionCard) c)
-                .toList();
+        if (clientSideFilter) {
+            // Never toggle visibility from here in this mode — the browser owns it, and server-side
+            // hidden flags would fight it. Have the browser re-run its filter (new cards, a
+            // programmatic query) and keep the server's count in step.
+            getElement().executeJs("window.memoryFilterApply(this, $0, $1)", propositionsContent.getElement(), q);
+            handleClientFilter(q);
+            return;
+        }
+        var index = searchIndex();
+        var hits = q.isEmpty() ? null : index.matching(q);
+        var entries = index.entries();
         int shown = 0;
         // Clustered mode groups cards under a shared .cluster-container (header + border); track
         // whether any member of each container matched so the whole container can be hidden when
         // none did, instead of leaving an empty bordered box behind (same failure mode the
         // .scored-card-wrapper handling below fixes for scored mode).
         var clusterHits = new java.util.LinkedHashMap<Component, Boolean>();
-        for (var card : cards) {
-            boolean hit = q.isEmpty() || matchesQuery(card.getProposition(), q);
-            // In scored mode each card sits inside a .scored-card-wrapper that carries its own
-            // border/background; hiding just the inner card leaves an empty bordered box behind
-            // and pushes real matches out of view. Toggle the wrapper instead when present.
-            var wrapper = card.getParent()
-                    .filter(p -> p.hasClassName("scored-card-wrapper"))
-                    .orElse(null);
-            // A provider-driven rail wraps each card in a .member div; dim rather than hide so
-            // the edge rail connectors stay visually coherent across the whole cluster.
-            var member = card.getParent()
-                    .filter(p -> p.hasClassName("member"))
-                    .orElse(null);
-            var clusterContainer = findAncestorWithClass(card, "cluster-container");
-            if (wrapper != null) {
-                wrapper.setVisible(hit);
-            } else if (member != null) {
-                if (member instanceof HasStyle stylable) {
-                    stylable.setClassName("dim", !hit);
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            var card = entry.card();
+            boolean hit = hits == null || hits.get(i);
+            switch (entry.placement()) {
+                // In scored mode each card sits inside a .scored-card-wrapper that carries its own
+                // border/background; hiding just the inner card leaves an empty bordered box behind
+                // and pushes real matches out of view. Toggle the wrapper instead.
+                case SCORED_WRAPPER -> entry.holder().setVisible(hit);
+                // A provider-driven rail wraps each card in a .member div; dim rather than hide so
+                // the edge rail connectors stay visually coherent across the whole cluster.
+                case RAIL_MEMBER -> {
+                    if (entry.holder() instanceof HasStyle stylable) {
+                        stylable.setClassName("dim", !hit);
+                    }
+                    card.setVisible(true);
+                    if (entry.clusterContainer() != null) {
+                        clusterHits.merge(entry.clusterContainer(), hit, Boolean::logicalOr);
+                    }
                 }
-                card.setVisible(true);
-                if (clusterContainer != null) {
-                    clusterHits.merge(clusterContainer, hit, Boolean::logicalOr);
+                case CLUSTERED -> {
+                    card.setVisible(hit);
+                    clusterHits.merge(entry.clusterContainer(), hit, Boolean::logicalOr);
                 }
-            } else if (clusterContainer != null) {
-                card.setVisible(hit);
-                clusterHits.merge(clusterContainer, hit, Boolean::logicalOr);
-            } else {
-                card.setVisible(hit);
+                case PLAIN -> card.setVisible(hit);
             }
             if (hit) {
                 shown++;
@@ -366,27 +504,130 @@ public class PropositionsPanel extends VerticalLayout {
         propositionCountSpan.setText("(" + shown + (shown == 1 ? " memory)" : " memories)"));
     }
 
-    private boolean matchesQuery(Proposition prop, String lowerCaseQuery) {
-        if (prop.getText() != null && prop.getText().toLowerCase().contains(lowerCaseQuery)) {
-            return true;
+    /**
+     * The instant filter's view of what's rendered, built on the first keystroke after a render
+     * and reused until the next one — one tree walk and one round of entity resolution per render
+     * instead of per keystroke. Anything that adds, removes or patches cards drops it.
+     */
+    private MemorySearchIndex searchIndex() {
+        if (searchIndex == null) {
+            var cards = allComponents(propositionsContent).stream()
+                    .filter(c -> c instanceof PropositionCard)
+                    .map(c -> (PropositionCard) c)
+                    .toList();
+            searchIndex = MemorySearchIndex.build(cards, this::resolvedEntityName);
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Catches the server up with a query the browser has already filtered for: the count is
+     * worked out from the search index, so no card's visibility is touched.
+     */
+    void handleClientFilter(String query) {
+        var q = query == null ? "" : query.trim().toLowerCase();
+        var index = searchIndex();
+        int shown = q.isEmpty() ? index.entries().size() : index.matching(q).cardinality();
+        propositionCountSpan.setText("(" + shown + (shown == 1 ? " memory)" : " memories)"));
+    }
+
+    /**
+     * Switch the L1 instant filter to run in the browser. Each card then carries its searchable
+     * text (memory text plus entity names) as a {@code data-search} attribute, typing hides and
+     * shows cards and cluster containers locally with no server round trip, and the search field
+     * only syncs its value once the user pauses — the server hears the settled query and updates
+     * the count from its own index. Off by default: the server-side filter stays authoritative.
+     *
+     * @param clientSideFilter true to filter in the browser, false to filter on the server
+     */
+    public void setClientSideFilter(boolean clientSideFilter) {
+        if (this.clientSideFilter == clientSideFilter) {
+            return;
+        }
+        if (clientSideFilter && !searchField.isEmpty()) {
+            // Undo what the server filter hid, so the browser starts from a clean slate.
+            applyInstantFilter("");
         }
-        for (var mention : prop.getMentions()) {
-            var name = resolvedEntityName(mention);
-            if (name != null && name.toLowerCase().contains(lowerCaseQuery)) {
-                return true;
+        this.clientSideFilter = clientSideFilter;
+        for (var entry : searchIndex().entries()) {
+            if (clientSideFilter) {
+                tagForClientFilter(entry.card());
+            } else {
+                entry.card().getElement().removeAttribute("data-search");
             }
         }
-        return false;
+        getElement().setAttribute("data-client-filter", clientSideFilter);
+        if (clientSideFilter) {
+            searchField.setValueChangeMode(ValueChangeMode.LAZY);
+            clientFilterAttachRegistration = addAttachListener(e -> attachClientFilter());
+            if (isAttached()) {
+                attachClientFilter();
+            }
+        } else {
+            searchField.setValueChangeMode(ValueChangeMode.EAGER);
+            if (clientFilterAttachRegistration != null) {
+                clientFilterAttachRegistration.remove();
+                clientFilterAttachRegistration = null;
+            }
+        }
+        // Whatever was typed is now filtered by the other side; re-apply it there.
+        applyInstantFilter(searchField.getValue());
+    }
+
+    private void attachClientFilter() {
+        getElement().executeJs("window.memoryFilterAttach(this, $0, $1)",
+                searchField.getElement(), propositionsContent.getElement());
+    }
+
+    private String resolvedEntityName(MentionView mention) {
+        return entityName(mention.resolvedId(), mention.span(), resolvedEntities);
     }
 
-    private String resolvedEntityName(com.embabel.dice.proposition.EntityMention mention) {
-        if (mention.getResolvedId() != null && entityResolver != null) {
-            var resolved = entityResolver.apply(mention.getResolvedId());
+    /** Display name for a mention as its pill shows it, reading entities from {@code entities}. */
+    private String entityName(String resolvedId, String span, Map<String, NamedEntity> entities) {
+        if (resolvedId != null && entityResolver != null) {
+            var resolved = lookupEntity(resolvedId, entities);
             if (resolved != null) {
                 return resolved.getName();
             }
         }
-        return mention.getSpan();
+        return span;
+    }
+
+    /**
+     * An entity from the batch resolved for this render, falling back to a single lookup for an id
+     * the batch didn't cover (a card re-rendered by a later interaction, say).
+     */
+    private NamedEntity lookupEntity(String entityId, Map<String, NamedEntity> entities) {
+        if (entities.containsKey(entityId)) {
+            return entities.get(entityId);
+        }
+        return entityResolver.apply(entityId);
+    }
+
+    /**
+     * Resolves every entity mentioned by {@code propositions} in one {@link EntityResolver#resolveAll}
+     * call. Touches no component, so it's safe to run off the request thread.
+     */
+    private Map<String, NamedEntity> entitiesFor(Collection<Proposition> propositions) {
+        if (entityResolver == null) {
+            return Map.of();
+        }
+        var ids = new LinkedHashSet<String>();
+        for (var prop : propositions) {
+            for (var mention : prop.getMentions()) {
+                if (mention.getResolvedId() != null) {
+                    ids.add(mention.getResolvedId());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        var found = entityResolver.resolveAll(ids);
+        var entities = new HashMap<String, NamedEntity>();
+        ids.forEach(id -> entities.put(id, found.get(id)));
+        return entities;
     }
 
     /**
@@ -422,6 +663,7 @@ public class PropositionsPanel extends VerticalLayout {
      */
     public void setOnEntityPillClick(Consumer<String> onEntityPillClick) {
         this.onEntityPillClick = onEntityPillClick;
+        cardWiringGeneration++;
     }
 
     /**
@@ -458,28 +700,205 @@ public class PropositionsPanel extends VerticalLayout {
         searchResultsBar.setVisible(true);
     }
 
+    /**
+     * Reload the memories for the current view and re-render them. With a
+     * {@link #setBackgroundExecutor(Executor) background executor} set and the panel attached, the
+     * store queries and view-model work (sorting, cluster membership, shared entity names,
+     * explanation batching) run off the request thread behind a loading skeleton, and the result
+     * is applied in a single {@code ui.access}. A newer refresh cancels one still in flight, so a
+     * slow, stale load can never overwrite a fresh one. Without an executor it all happens
+     * synchronously, as before.
+     * <p>
+     * This is the "something may have changed" entry point, so unless the host supplies a
+     * {@link #setRepositoryRevision(Supplier) revision marker} it also drops cached clusterings.
+     */
     public void refresh() {
-        if (scoredMode) {
-            if (scoredResultsSupplier != null) {
-                showScoredPropositions(scoredResultsSupplier.get());
-            }
+        if (repositoryRevision == null) {
+            clusterCache.invalidateAll();
+        }
+        reload();
+    }
+
+    /**
+     * Re-renders the current view without implying the store changed — what the List/Clusters
+     * toggle and the status filter use, so switching back to a view already seen can reuse its
+     * cached clustering.
+     */
+    private void reload() {
+        cancelInFlightRefresh();
+        if (scoredMode && scoredResultsSupplier == null) {
             return;
         }
-        propositionsContent.removeAll();
-        if (contextId == null) {
+        if (!scoredMode && contextId == null) {
             // No context means nothing to show. Deliberately not a findAll() across every
             // context — that would leak other users' memories into this per-user panel.
+            showPagedList(false);
+            clearContent();
             propositionCountSpan.setText("(0 memories)");
             var emptyMessage = new Span("No memories yet. Start a conversation and analyze it to build memories.");
             emptyMessage.addClassName("panel-empty-message");
             propositionsContent.add(emptyMessage);
             return;
         }
+        var loader = modelLoader();
+        var ui = backgroundExecutor == null ? null : getUI().orElse(null);
+        if (ui == null) {
+            render(loader.get());
+            return;
+        }
+        int generation = refreshGeneration;
+        var task = new FutureTask<>(loader::get) {
+            @Override
+            protected void done() {
+                if (!isCancelled()) {
+                    ui.access(() -> applyLoadedModel(generation, this));
+                }
+            }
+        };
+        try {
+            backgroundExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Background executor rejected a memory refresh; loading on the request thread", e);
+            render(loader.get());
+            return;
+        }
+        inFlightRefresh = task;
+        setLoading(true);
+    }
+
+    /** What one refresh loaded for its view, ready to render on the request thread. */
+    private sealed interface RefreshModel
+            permits ScoredModel, FlatModel, PagedModel, ClusteredModel, ProviderClusteredModel {
+    }
+
+    private record ScoredModel(List<SimilarityResult<Proposition>> results) implements RefreshModel {
+    }
+
+    private record FlatModel(List<Proposition> sorted, Map<String, CollapseExplanation> explanations,
+                             Map<String, NamedEntity> entities) implements RefreshModel {
+    }
+
+    private record PagedModel(PropositionQuery query, int total) implements RefreshModel {
+    }
+
+    /** Members of one similarity cluster, anchor first, with the entity chips for its header. */
+    private record ClusterGroup(List<Proposition> members, List<String> sharedEntityNames) {
+    }
+
+    private record ClusteredModel(List<ClusterGroup> clusters, List<Proposition> unclustered, int total,
+                                  Map<String, CollapseExplanation> explanations,
+                                  Map<String, NamedEntity> entities) implements RefreshModel {
+    }
+
+    private record ProviderClusteredModel(ClusteredMemories snapshot, List<MemoryClusterView> clusters,
+                                          List<Proposition> unclustered, int total,
+                                          Map<String, CollapseExplanation> explanations,
+                                          Map<String, NamedEntity> entities) implements RefreshModel {
+    }
+
+    /**
+     * Reads everything the current view needs from the panel's state — on the request thread,
+     * so a background load sees the mode, context and filter as they were when refresh was
+     * called — and returns the work that loads its model. The returned supplier only talks to the
+     * store and the host's providers; it never touches a component.
+     */
+    private Supplier<RefreshModel> modelLoader() {
+        if (scoredMode) {
+            var supplier = scoredResultsSupplier;
+            return () -> new ScoredModel(supplier.get());
+        }
+        var query = memoryQuery();
         if (clustered) {
-            refreshClustered();
-        } else {
-            refreshFlat();
+            if (clustersProvider != null) {
+                var provider = clustersProvider;
+                return () -> loadProviderClustered(provider.get());
+            }
+            var key = clusterKey();
+            var revision = repositoryRevision;
+            var loader = clusteredViewLoader != null
+                    ? clusteredViewLoader
+                    : ClusteredViewLoader.of(propositionRepository);
+            return () -> loadClustered(query, key, revision, loader);
+        }
+        if (propositionPager != null) {
+            var pager = propositionPager;
+            return () -> new PagedModel(query, pager.count(query));
+        }
+        return () -> loadFlat(query);
+    }
+
+    private void render(RefreshModel model) {
+        switch (model) {
+            case ScoredModel scored -> renderScored(scored.results());
+            case FlatModel flat -> renderFlat(flat);
+            case PagedModel paged -> renderPaged(paged);
+            case ClusteredModel clusteredModel -> renderClustered(clusteredModel);
+            case ProviderClusteredModel provided -> renderProviderClustered(provided);
+        }
+    }
+
+    /** Runs in {@code ui.access} once a background load finishes; drops it if it's been superseded. */
+    private void applyLoadedModel(int generation, Future<RefreshModel> task) {
+        if (generation != refreshGeneration) {
+            return;
+        }
+        inFlightRefresh = null;
+        setLoading(false);
+        try {
+            render(task.get());
+        } catch (ExecutionException e) {
+            logger.warn("Failed to load memories", e.getCause());
+            showPagedList(false);
+            clearContent();
+            var errorMessage = new Span("Couldn't load memories. Try again in a moment.");
+            errorMessage.addClassName("panel-empty-message");
+            propositionsContent.add(errorMessage);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Supersedes whatever refresh is still loading: its result will be ignored, and its task is
+     * cancelled (interrupting the load if it's already running).
+     */
+    private void cancelInFlightRefresh() {
+        refreshGeneration++;
+        if (inFlightRefresh != null) {
+            inFlightRefresh.cancel(true);
+            inFlightRefresh = null;
+            setLoading(false);
+        }
+    }
+
+    private void setLoading(boolean loading) {
+        if (loadingSkeleton == null) {
+            loadingSkeleton = new Div();
+            loadingSkeleton.addClassName("memory-loading-skeleton");
+            for (int i = 0; i < 3; i++) {
+                var bar = new Div();
+                bar.addClassName("skeleton-card");
+                loadingSkeleton.add(bar);
+            }
+            loadingSkeleton.setVisible(false);
+            addComponentAtIndex(indexOf(contentScroller), loadingSkeleton);
         }
+        loadingSkeleton.setVisible(loading);
+        propositionsContent.setClassName("memory-refreshing", loading);
+        propositionsContent.getElement().setAttribute("aria-busy", loading);
+    }
+
+    private void clearContent() {
+        propositionsContent.removeAll();
+        linkSnapshot = null;
+        linkTargetIndex = null;
+        clusterContainers.clear();
+        unclusteredSection = null;
+        unclusteredMembers.clear();
+        searchIndex = null;
+        flatCards.clear();
+        flatCardExplanations.clear();
+        cardsById.clear();
     }
 
     /**
@@ -487,8 +906,15 @@ public class PropositionsPanel extends VerticalLayout {
      * to show propositions relevant to the current conversation.
      */
     public void showScoredPropositions(List<SimilarityResult<Proposition>> results) {
+        // Whatever a pending refresh would have shown, these results replace it.
+        cancelInFlightRefresh();
+        renderScored(results);
+    }
+
+    private void renderScored(List<SimilarityResult<Proposition>> results) {
         scoredMode = true;
-        propositionsContent.removeAll();
+        clearContent();
+        showPagedList(false);
         propositionCountSpan.setText("(" + results.size() + " relevant)");
         // Scored results are driven by the caller, not by a context query, so the status
         // filter and cluster toggle don't apply. Hide both — changing the filter would
@@ -503,19 +929,25 @@ public class PropositionsPanel extends VerticalLayout {
             return;
         }
 
-        // Dedup: normalize text, group by normalized form, keep highest-scored result per group.
-        var dedupMap = new java.util.LinkedHashMap<String, DedupGroup>();
+        // Dedup: normalize text, group identical (and, with a threshold below 1, near-duplicate)
+        // text in one pass, keep the highest-scored result per group.
+        var duplicates = new NearDuplicateIndex(nearDuplicateThreshold);
+        var dedupGroups = new java.util.ArrayList<DedupGroup>();
         for (var result : results) {
-            var normalizedText = normalizeText(result.getMatch().getText());
-            dedupMap.computeIfAbsent(normalizedText, k -> new DedupGroup())
-                    .considerResult(result);
+            int group = duplicates.assign(normalizeText(result.getMatch().getText()));
+            if (group == dedupGroups.size()) {
+                dedupGroups.add(new DedupGroup());
+            }
+            dedupGroups.get(group).considerResult(result);
         }
 
-        resolveExplanations(dedupMap.values().stream()
-                .map(group -> group.getSurvivor().getMatch().getId())
-                .toList());
+        var survivors = dedupGroups.stream()
+                .map(group -> group.getSurvivor().getMatch())
+                .toList();
+        resolveExplanations(survivors.stream().map(Proposition::getId).toList());
+        resolvedEntities = entitiesFor(survivors);
 
-        for (var group : dedupMap.values()) {
+        for (var group : dedupGroups) {
             var result = group.getSurvivor();
             var cardContainer = new Div();
             cardContainer.addClassName("scored-card-wrapper");
@@ -536,68 +968,16 @@ public class PropositionsPanel extends VerticalLayout {
         }
     }
 
-    /** Inject CSS styling for scored mode cards and dedup badges. */
-    private void injectScoredModeStyles() {
-        String css = """
-            .scored-card-wrapper {
-              position: relative;
-              width: 100%;
-              border: 1px solid var(--lumo-contrast-20pct);
-              border-radius: var(--lumo-border-radius-m);
-              background: var(--lumo-base-color);
-              padding: var(--lumo-space-s);
-              margin-bottom: var(--lumo-space-xs);
-              display: flex;
-              flex-direction: column;
-            }
-
-            .scored-card-wrapper .proposition-card {
-              background: transparent;
-              border: none;
-              padding: 0;
-              margin-bottom: 0;
-              width: 100%;
-            }
-
-            .scored-card-wrapper .proposition-card:hover {
-              border-color: transparent;
-            }
-
-            .scored-card-content {
-              flex: 1;
-            }
-
-            .dedup-collapsed-badge {
-              position: absolute;
-              top: 8px;
-              right: 9px;
-              font-size: 9.5px;
-              font-weight: 700;
-              padding: 1px 6px;
-              border-radius: 999px;
-              background: var(--lumo-warning-color);
-              color: white;
-              opacity: 0.9;
-            }
-            """;
-
-        Element styleElement = new Element("style");
-        styleElement.setText(css);
-        getElement().appendVirtualChild(styleElement);
-    }
-
     /** Normalize proposition text for dedup comparison: trim, lowercase, collapse whitespace, strip trailing period. */
     private static String normalizeText(String text) {
         if (text == null || text.isEmpty()) {
             return "";
         }
-        return text.trim()
-                .toLowerCase()
-                .replaceAll("\\s+", " ")
-                .replaceAll("\\.$", "");
+        var collapsed = WHITESPACE.matcher(text.trim().toLowerCase()).replaceAll(" ");
+        return TRAILING_PERIOD.matcher(collapsed).replaceAll("");
     }
 
-    /** Tracks the best result and collapsed count for a normalized text group. */
+    /** Tracks the best result and collapsed count for a group of duplicate results. */
     private static class DedupGroup {
         private SimilarityResult<Proposition> survivor;
         private int collapsedCount = 0;
@@ -627,133 +1007,324 @@ public class PropositionsPanel extends VerticalLayout {
         return PropositionQuery.againstContext(contextId).withStatuses(statusFilter);
     }
 
-    private void refreshFlat() {
-        var propositions = propositionRepository.query(memoryQuery());
-        propositionCountSpan.setText("(" + propositions.size() + " memories)");
-
+    private FlatModel loadFlat(PropositionQuery query) {
+        var propositions = propositionRepository.query(query);
         if (propositions.isEmpty()) {
+            return new FlatModel(List.of(), Map.of(), Map.of());
+        }
+        return new FlatModel(
+                propositions.stream()
+                        .sorted(Comparator.comparing(Proposition::getCreated).reversed())
+                        .toList(),
+                explanationsFor(propositions.stream().map(Proposition::getId).toList()),
+                entitiesFor(propositions));
+    }
+
+    private void renderFlat(FlatModel model) {
+        showPagedList(false);
+        propositionCountSpan.setText("(" + model.sorted().size() + " memories)");
+
+        if (model.sorted().isEmpty()) {
+            clearContent();
             var emptyMessage = new Span("No memories yet. Start a conversation and analyze it to build memories.");
             emptyMessage.addClassName("panel-empty-message");
             propositionsContent.add(emptyMessage);
             return;
         }
 
-        resolveExplanations(propositions.stream().map(Proposition::getId).toList());
-        propositions.stream()
-                .sorted(Comparator.comparing(Proposition::getCreated).reversed())
-                .forEach(prop -> propositionsContent.add(createCard(prop)));
+        // Not cleared up front: the flat list reconciles against the cards already showing.
+        resolvedExplanations = model.explanations();
+        resolvedEntities = model.entities();
+        reconcileFlatCards(model.sorted());
     }
 
-    private void refreshClustered() {
-        if (clustersProvider != null) {
-            refreshProviderClustered();
+    /**
+     * Brings the flat list in line with {@code sorted} while touching as little of it as possible:
+     * a card whose memory and collapse explanation are unchanged stays exactly as it is, a changed
+     * memory is patched in place where the card can take it (or swapped for a fresh card at the
+     * same position), and only genuinely new or vanished memories add or remove DOM. The content
+     * is never cleared, so the browser keeps its scroll position — a delete in a 2k-memory list
+     * sends one removal, not the whole list again.
+     */
+    private void reconcileFlatCards(List<Proposition> sorted) {
+        // Patched text and swapped cards both change what the filter must see.
+        searchIndex = null;
+        boolean reusable = !flatCards.isEmpty() && flatCardsWiringGeneration == cardWiringGeneration;
+        if (!reusable) {
+            clearContent();
+        }
+        var previous = new HashMap<>(flatCards);
+        flatCards.clear();
+        for (var prop : sorted) {
+            var id = prop.getId();
+            if (flatCards.containsKey(id)) {
+                continue;
+            }
+            var explanation = resolvedExplanations.get(id);
+            var existing = previous.remove(id);
+            PropositionCard card;
+            if (existing != null
+                    && Objects.equals(flatCardExplanations.get(id), explanation)
+                    && existing.patch(prop)) {
+                card = existing;
+                tagForClientFilter(card);
+            } else {
+                if (existing != null) {
+                    cardsById.remove(id, existing);
+                }
+                card = createCard(prop);
+                if (existing != null) {
+                    propositionsContent.replace(existing, card);
+                }
+            }
+            flatCards.put(id, card);
+            flatCardExplanations.put(id, explanation);
+        }
+        for (var gone : previous.values()) {
+            propositionsContent.remove(gone);
+            flatCardExplanations.remove(gone.getView().id());
+            cardsById.remove(gone.getView().id(), gone);
+        }
+        // Only reorders/inserts: a card already at its index is left alone.
+        int index = 0;
+        for (var card : flatCards.values()) {
+            if (index >= propositionsContent.getComponentCount()
+                    || propositionsContent.getComponentAt(index) != card) {
+                propositionsContent.addComponentAtIndex(index, card);
+            }
+            index++;
+        }
+        flatCardsWiringGeneration = cardWiringGeneration;
+        // Reused cards keep whatever the instant filter last did to them; re-run it so new and
+        // reused cards agree with the query still sitting in the search field.
+        if (!searchField.getValue().isBlank()) {
+            applyInstantFilter(searchField.getValue());
+        }
+    }
+
+    /**
+     * Flat mode backed by the host's {@link PropositionPager}: one store-side count for the header,
+     * then the virtual list fetches pages as the user scrolls. Cards exist only for the rows the
+     * list is currently showing, so a 20k-memory context costs the same as a 50-memory one.
+     */
+    private void renderPaged(PagedModel model) {
+        clearContent();
+        showPagedList(false);
+        var query = model.query();
+        int total = model.total();
+        propositionCountSpan.setText("(" + total + " memories)");
+
+        if (total == 0) {
+            var emptyMessage = new Span("No memories yet. Start a conversation and analyze it to build memories.");
+            emptyMessage.addClassName("panel-empty-message");
+            propositionsContent.add(emptyMessage);
             return;
         }
-        // One query scopes both the clustering and the unclustered list.
-        var query = memoryQuery();
-        List<Cluster<Proposition>> clusters = propositionRepository.findClusters(0.7, 10, query);
 
-        // Collect all propositions that appear in a cluster
-        var clusteredIds = new HashSet<String>();
-        for (var cluster : clusters) {
-            clusteredIds.add(cluster.getAnchor().getId());
-            for (var sim : cluster.getSimilar()) {
-                clusteredIds.add(sim.getMatch().getId());
-            }
+        resolvedExplanations = Map.of();
+        resolvedEntities = Map.of();
+        showPagedList(true);
+        pagedList.setDataProvider(DataProvider.fromCallbacks(
+                q -> fetchPage(query, q.getOffset(), q.getLimit()),
+                q -> total));
+    }
+
+    private Stream<Proposition> fetchPage(PropositionQuery query, int offset, int limit) {
+        var page = propositionPager.page(new PropositionPager.PageRequest(query, offset, limit));
+        // The page is the render pass here: the list builds cards for exactly these rows next, so
+        // resolve their explanations and entities in one batch each and keep the ones from pages
+        // already shown.
+        mergeResolvedFor(page);
+        return page.stream();
+    }
+
+    private boolean isPagedListShowing() {
+        return pagedList != null && pagedList.isVisible();
+    }
+
+    private void showPagedList(boolean paged) {
+        if (pagedList == null) {
+            return;
+        }
+        pagedList.setVisible(paged);
+        contentScroller.setVisible(!paged);
+    }
+
+    /** Cache key for the current Clusters view, still missing the revision (read at load time). */
+    private ClusterCache.Key clusterKey() {
+        return new ClusterCache.Key(contextId, statusFilter, CLUSTER_THRESHOLD, CLUSTER_TOP_K, null);
+    }
+
+    private ClusteredModel loadClustered(PropositionQuery query, ClusterCache.Key viewKey, Supplier<?> revision,
+                                         ClusteredViewLoader loader) {
+        var key = revision == null ? viewKey : new ClusterCache.Key(viewKey.contextId(), viewKey.statuses(),
+                viewKey.threshold(), viewKey.topK(), revision.get());
+        var view = clusterCache.get(key);
+        if (view == null) {
+            long epoch = clusterCache.epoch();
+            view = loader.load(query, CLUSTER_THRESHOLD, CLUSTER_TOP_K);
+            clusterCache.put(key, view, epoch);
+        }
+        if (view.total() == 0) {
+            return new ClusteredModel(List.of(), List.of(), 0, Map.of(), Map.of());
         }
 
-        // The in-scope propositions, to find the ones no cluster claimed.
-        var allPropositions = propositionRepository.query(query);
+        // One pass over the clusters collects each member list and every id about to be rendered,
+        // so explanations and entities are each one batch lookup covering cards and headers alike.
+        var rendered = new LinkedHashMap<String, Proposition>();
+        var memberLists = new java.util.ArrayList<List<Proposition>>(view.clusters().size());
+        for (var cluster : view.clusters()) {
+            var members = new java.util.ArrayList<Proposition>(cluster.getSimilar().size() + 1);
+            members.add(cluster.getAnchor());
+            cluster.getSimilar().forEach(sim -> members.add(sim.getMatch()));
+            members.forEach(m -> rendered.putIfAbsent(m.getId(), m));
+            memberLists.add(members);
+        }
+        view.unclustered().forEach(p -> rendered.putIfAbsent(p.getId(), p));
+        var entities = entitiesFor(rendered.values());
+        var groups = memberLists.stream()
+                .map(members -> new ClusterGroup(members, sharedEntityNames(members, entities)))
+                .toList();
+        return new ClusteredModel(groups, view.unclustered(), view.total(),
+                explanationsFor(rendered.keySet()), entities);
+    }
 
-        int totalCount = allPropositions.size();
-        propositionCountSpan.setText("(" + totalCount + " memories, " + clusters.size() + " clusters)");
+    private void renderClustered(ClusteredModel model) {
+        clearContent();
+        showPagedList(false);
+        propositionCountSpan.setText("(" + model.total() + " memories, " + model.clusters().size() + " clusters)");
 
-        if (allPropositions.isEmpty()) {
+        if (model.total() == 0) {
             var emptyMessage = new Span("No memories yet. Start a conversation and analyze it to build memories.");
             emptyMessage.addClassName("panel-empty-message");
             propositionsContent.add(emptyMessage);
             return;
         }
-
-        // One batch lookup for every id about to be rendered (clustered + unclustered), instead of
-        // one provider call per card as the loops below create them.
-        var renderedIds = new LinkedHashSet<String>();
-        allPropositions.forEach(p -> renderedIds.add(p.getId()));
-        for (var cluster : clusters) {
-            renderedIds.add(cluster.getAnchor().getId());
-            cluster.getSimilar().forEach(sim -> renderedIds.add(sim.getMatch().getId()));
-        }
-        resolveExplanations(renderedIds);
+        resolvedExplanations = model.explanations();
+        resolvedEntities = model.entities();
 
         // Render each cluster as a light, always-open container per the approved design: a
         // slim header ("Cluster: N similar memories" + shared entity chips) holding the member
         // cards uniformly — no anchor/similar distinction, no per-card score badges.
-        for (var cluster : clusters) {
-            var anchor = cluster.getAnchor();
-            List<SimilarityResult<Proposition>> similar = cluster.getSimilar();
-            int clusterSize = similar.size() + 1;
-
-            var members = new java.util.ArrayList<Proposition>();
-            members.add(anchor);
-            similar.forEach(sim -> members.add(sim.getMatch()));
-
-            var header = new HorizontalLayout();
-            header.setAlignItems(Alignment.CENTER);
-            header.setSpacing(true);
-            header.addClassName("cluster-head");
-
-            var clusterIcon = VaadinIcon.CLUSTER.create();
-            clusterIcon.addClassName("cluster-head-icon");
-
-            var headerLabel = new Span("Cluster: " + clusterSize + " similar memories");
-            headerLabel.addClassName("cluster-head-label");
-
-            header.add(clusterIcon, headerLabel);
-            for (var name : sharedEntityNames(members)) {
-                var chip = new Span(name);
-                chip.addClassName("cluster-head-chip");
-                header.add(chip);
-            }
+        var parts = new java.util.ArrayList<Supplier<Component>>();
+        for (var cluster : model.clusters()) {
+            parts.add(() -> buildSimilarityCluster(cluster));
+        }
+        var unclustered = model.unclustered();
+        if (!unclustered.isEmpty()) {
+            parts.add(() -> buildSimilarityUnclusteredSection(unclustered));
+        }
+        appendClusterParts(parts);
+    }
 
-            var container = new VerticalLayout();
-            container.setPadding(true);
-            container.setSpacing(true);
-            container.addClassName("cluster-container");
-            container.add(header);
-            for (var member : members) {
-                container.add(createCard(member));
-            }
+    private VerticalLayout buildSimilarityCluster(ClusterGroup cluster) {
+        var members = cluster.members();
+        int clusterSize = members.size();
+
+        var header = new HorizontalLayout();
+        header.setAlignItems(Alignment.CENTER);
+        header.setSpacing(true);
+        header.addClassName("cluster-head");
 
-            propositionsContent.add(container);
+        var clusterIcon = VaadinIcon.CLUSTER.create();
+        clusterIcon.addClassName("cluster-head-icon");
+
+        var headerLabel = new Span("Cluster: " + clusterSize + " similar memories");
+        headerLabel.addClassName("cluster-head-label");
+
+        header.add(clusterIcon, headerLabel);
+        for (var name : cluster.sharedEntityNames()) {
+            var chip = new Span(name);
+            chip.addClassName("cluster-head-chip");
+            header.add(chip);
         }
 
-        // Unclustered propositions
-        var unclustered = allPropositions.stream()
-                .filter(p -> !clusteredIds.contains(p.getId()))
-                .sorted(Comparator.comparing(Proposition::getCreated).reversed())
-                .toList();
+        var container = new VerticalLayout();
+        container.setPadding(true);
+        container.setSpacing(true);
+        container.addClassName("cluster-container");
+        container.add(header);
+        for (var member : members) {
+            container.add(createCard(member));
+        }
+        return container;
+    }
 
-        if (!unclustered.isEmpty()) {
-            var sectionLayout = new VerticalLayout();
-            sectionLayout.setPadding(false);
-            sectionLayout.setSpacing(true);
-            sectionLayout.addClassName("unclustered-section");
-
-            var sectionHeader = new HorizontalLayout();
-            sectionHeader.setAlignItems(Alignment.CENTER);
-            sectionHeader.setSpacing(true);
-            sectionHeader.addClassName("unclustered-header");
-            var sectionLabel = new Span("Unclustered");
-            sectionLabel.addClassName("unclustered-label");
-            var sectionCount = new Span(unclustered.size() + "");
-            sectionCount.addClassName("unclustered-count");
-            sectionHeader.add(sectionLabel, sectionCount);
-
-            sectionLayout.add(sectionHeader);
-            for (var prop : unclustered) {
-                sectionLayout.add(createCard(prop));
+    private VerticalLayout buildSimilarityUnclusteredSection(List<Proposition> unclustered) {
+        var sectionLayout = new VerticalLayout();
+        sectionLayout.setPadding(false);
+        sectionLayout.setSpacing(true);
+        sectionLayout.addClassName("unclustered-section");
+
+        var sectionHeader = new HorizontalLayout();
+        sectionHeader.setAlignItems(Alignment.CENTER);
+        sectionHeader.setSpacing(true);
+        sectionHeader.addClassName("unclustered-header");
+        var sectionLabel = new Span("Unclustered");
+        sectionLabel.addClassName("unclustered-label");
+        var sectionCount = new Span(unclustered.size() + "");
+        sectionCount.addClassName("unclustered-count");
+        sectionHeader.add(sectionLabel, sectionCount);
+
+        sectionLayout.add(sectionHeader);
+        for (var prop : unclustered) {
+            sectionLayout.add(createCard(prop));
+        }
+        return sectionLayout;
+    }
+
+    /**
+     * Adds the sections of a Clusters view (cluster containers, then the unclustered section and
+     * legend) to the content. A big view would otherwise build every container and card before
+     * the browser sees any of them, so with a {@link #setBackgroundExecutor(Executor) background
+     * executor} and the panel attached only the first screenful is built in this response; the
+     * rest streams in through {@code ui.access} in batches that each stop after a fixed time
+     * budget, behind a "Loading more clusters…" marker. Needs push to arrive without a poll. Any
+     * newer refresh stops the stream. Without an executor, everything is added here as before.
+     */
+    private void appendClusterParts(List<Supplier<Component>> parts) {
+        var ui = backgroundExecutor == null ? null : getUI().orElse(null);
+        if (ui == null || parts.size() <= FIRST_SCREEN_CLUSTERS) {
+            parts.forEach(part -> propositionsContent.add(part.get()));
+            return;
+        }
+        parts.subList(0, FIRST_SCREEN_CLUSTERS).forEach(part -> propositionsContent.add(part.get()));
+        var marker = new Div();
+        marker.addClassName("cluster-stream-marker");
+        marker.add(new Span("Loading more clusters…"));
+        propositionsContent.add(marker);
+        streamClusterParts(ui, refreshGeneration, marker,
+                parts.subList(FIRST_SCREEN_CLUSTERS, parts.size()).iterator());
+    }
+
+    private void streamClusterParts(com.vaadin.flow.component.UI ui, int generation, Div marker,
+                                    java.util.Iterator<Supplier<Component>> rest) {
+        Runnable batch = () -> ui.access(() -> {
+            if (generation != refreshGeneration) {
+                return;
             }
-            propositionsContent.add(sectionLayout);
+            long deadline = System.nanoTime() + CLUSTER_BATCH_BUDGET_NANOS;
+            do {
+                propositionsContent.addComponentAtIndex(propositionsContent.indexOf(marker), rest.next().get());
+            } while (rest.hasNext() && System.nanoTime() < deadline);
+            searchIndex = null;
+            if (rest.hasNext()) {
+                streamClusterParts(ui, generation, marker, rest);
+            } else {
+                propositionsContent.remove(marker);
+            }
+            if (!searchField.getValue().isBlank()) {
+                applyInstantFilter(searchField.getValue());
+            }
+        });
+        try {
+            backgroundExecutor.execute(batch);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Background executor rejected streaming clusters; rendering the rest now", e);
+            rest.forEachRemaining(part -> propositionsContent.addComponentAtIndex(
+                    propositionsContent.indexOf(marker), part.get()));
+            propositionsContent.remove(marker);
+            searchIndex = null;
         }
     }
 
@@ -763,37 +1334,51 @@ public class PropositionsPanel extends VerticalLayout {
      * carrying provenance and an edge tag), and a "Link…" affordance on every unclustered card.
      * No similarity numbers anywhere; provenance is shown as Auto/Manual only.
      */
-    private void refreshProviderClustered() {
-        var snapshot = clustersProvider.get();
+    private ProviderClusteredModel loadProviderClustered(ClusteredMemories snapshot) {
         var clusters = snapshot == null ? List.<MemoryClusterView>of() : snapshot.clusters();
         var unclustered = snapshot == null ? List.<Proposition>of() : snapshot.unclustered();
-
         int totalCount = unclustered.size() + clusters.stream().mapToInt(c -> c.members().size()).sum();
-        propositionCountSpan.setText("(" + totalCount + " memories, " + clusters.size() + " clusters)");
-
         if (totalCount == 0) {
+            return new ProviderClusteredModel(snapshot, clusters, unclustered, 0, Map.of(), Map.of());
+        }
+        var rendered = new java.util.ArrayList<Proposition>();
+        clusters.forEach(c -> c.members().forEach(m -> rendered.add(m.proposition())));
+        rendered.addAll(unclustered);
+        return new ProviderClusteredModel(snapshot, clusters, unclustered, totalCount,
+                explanationsFor(rendered.stream().map(Proposition::getId).toList()), entitiesFor(rendered));
+    }
+
+    private void renderProviderClustered(ProviderClusteredModel model) {
+        clearContent();
+        showPagedList(false);
+        var snapshot = model.snapshot();
+        linkSnapshot = snapshot;
+        var clusters = model.clusters();
+        var unclustered = model.unclustered();
+        propositionCountSpan.setText("(" + model.total() + " memories, " + clusters.size() + " clusters)");
+
+        if (model.total() == 0) {
             var emptyMessage = new Span("No memories yet. Start a conversation and analyze it to build memories.");
             emptyMessage.addClassName("panel-empty-message");
             propositionsContent.add(emptyMessage);
             return;
         }
+        resolvedExplanations = model.explanations();
+        resolvedEntities = model.entities();
 
-        var renderedIds = new LinkedHashSet<String>();
-        clusters.forEach(c -> c.members().forEach(m -> renderedIds.add(m.proposition().getId())));
-        unclustered.forEach(p -> renderedIds.add(p.getId()));
-        resolveExplanations(renderedIds);
-
+        var parts = new java.util.ArrayList<Supplier<Component>>();
         for (var cluster : clusters) {
-            propositionsContent.add(buildClusterContainer(cluster));
+            parts.add(() -> buildClusterContainer(cluster));
         }
 
         if (!unclustered.isEmpty()) {
-            propositionsContent.add(buildUnclusteredSection(unclustered, snapshot));
+            parts.add(() -> buildUnclusteredSection(unclustered, snapshot));
         }
 
         if (!clusters.isEmpty() || !unclustered.isEmpty()) {
-            propositionsContent.add(buildLegend());
+            parts.add(this::buildLegend);
         }
+        appendClusterParts(parts);
     }
 
     private Div buildClusterContainer(MemoryClusterView cluster) {
@@ -865,6 +1450,7 @@ public class PropositionsPanel extends VerticalLayout {
         foot.add(sweepLink, dissolveLink);
 
         container.add(header, rail, foot);
+        clusterContainers.put(cluster.id(), container);
         return container;
     }
 
@@ -918,51 +1504,283 @@ public class PropositionsPanel extends VerticalLayout {
         var section = new Div();
         section.addClassName("unclustered-section");
 
-        var label = new Span("Unclustered — " + unclustered.size()
-                + (unclustered.size() == 1 ? " memory" : " memories"));
+        var label = new Span(unclusteredLabel(unclustered.size()));
         label.addClassName("section-label");
         section.add(label);
 
         var list = new Div();
         list.addClassName("unclustered");
         for (var prop : unclustered) {
-            var cardWrapper = new Div();
-            cardWrapper.addClassName("unclustered-member");
-            var card = createCard(prop);
-            cardWrapper.add(card);
-            addLinkAffordance(cardWrapper, card, prop, snapshot);
-            list.add(cardWrapper);
+            list.add(buildUnclusteredMember(prop));
         }
         section.add(list);
+        unclusteredSection = section;
         return section;
     }
 
+    private static String unclusteredLabel(int count) {
+        return "Unclustered — " + count + (count == 1 ? " memory" : " memories");
+    }
+
+    private Div buildUnclusteredMember(Proposition prop) {
+        var cardWrapper = new Div();
+        cardWrapper.addClassName("unclustered-member");
+        var card = createCard(prop);
+        cardWrapper.add(card);
+        addLinkAffordance(cardWrapper, card);
+        unclusteredMembers.put(prop.getId(), cardWrapper);
+        return cardWrapper;
+    }
+
     /**
-     * Finds the card's meta row (same technique {@link #wireUndoMergeLink} uses to reach into a
-     * PropositionCard) and adds a "Link…" pill that opens the link popover for this memory.
+     * Patches the provider Clusters view after a mutation the host already knows the outcome of:
+     * only the cluster containers the deltas touch are rebuilt, and memories are added to or
+     * removed from the Unclustered section one card at a time — no {@code clustersProvider} call
+     * and no re-render of the rest. Does nothing unless the provider Clusters view is showing.
+     * Falls back to a full reload when the view isn't fully rendered yet (a load or cluster
+     * stream still in flight), when a delta doesn't fit what's on screen, or when the view ends
+     * up empty.
+     *
+     * @param deltas the changes, applied in order
      */
-    private void addLinkAffordance(Div cardWrapper, PropositionCard card, Proposition prop, ClusteredMemories snapshot) {
-        var metaRow = allComponents(card).stream()
-                .filter(c -> c.hasClassName("proposition-meta"))
-                .findFirst()
-                .orElse(null);
-        if (!(metaRow instanceof HasComponents metaContainer)) {
+    public void applyClusterDeltas(List<ClusterDelta> deltas) {
+        if (scoredMode || !clustered || clustersProvider == null || deltas.isEmpty()) {
             return;
         }
-        var linkButton = new Button("Link…", VaadinIcon.CONNECT.create());
-        linkButton.addClassName("link-btn");
-        linkButton.getElement().setAttribute("aria-label", "Link this memory to another memory or cluster");
-        var popoverHolder = new Div();
-        popoverHolder.addClassName("popover-holder");
-        cardWrapper.add(popoverHolder);
-        linkButton.addClickListener(e -> {
-            popoverHolder.removeAll();
-            popoverHolder.add(buildLinkPopover(popoverHolder, prop, snapshot));
-        });
+        var snapshot = linkSnapshot;
+        var applied = snapshot == null || inFlightRefresh != null
+                || clusterContainers.size() != snapshot.clusters().size()
+                || unclusteredSection == null && !snapshot.unclustered().isEmpty()
+                ? null
+                : ClusterDeltas.apply(snapshot, deltas).orElse(null);
+        if (applied == null || applied.snapshot().clusters().isEmpty() && applied.snapshot().unclustered().isEmpty()
+                || !clusterContainers.keySet().containsAll(applied.removedClusters())
+                || !unclusteredMembers.keySet().containsAll(applied.unclusteredRemoved())) {
+            // Checked before anything is touched: a delta naming a row that isn't on screen
+            // (e.g. one the snapshot has but that never rendered) can't be applied in place.
+            reload();
+            return;
+        }
+        var next = applied.snapshot();
+
+        // Take the old cards out of the registry first, so the rebuilt ones can register.
+        for (var id : applied.removedClusters()) {
+            var container = clusterContainers.remove(id);
+            forgetCards(container);
+            propositionsContent.remove(container);
+        }
+        for (var id : applied.changedClusters()) {
+            var container = clusterContainers.get(id);
+            if (container != null) {
+                forgetCards(container);
+            }
+        }
+        for (var id : applied.unclusteredRemoved()) {
+            var wrapper = unclusteredMembers.remove(id);
+            forgetCards(wrapper);
+            wrapper.removeFromParent();
+        }
+
+        var newMemories = new java.util.ArrayList<Proposition>(applied.unclusteredAdded());
+        next.clusters().stream()
+                .filter(c -> applied.changedClusters().contains(c.id()))
+                .forEach(c -> c.members().forEach(m -> newMemories.add(m.proposition())));
+        mergeResolvedFor(newMemories);
+
+        int clusterIndex = 0;
+        for (var cluster : next.clusters()) {
+            if (applied.changedClusters().contains(cluster.id())) {
+                var old = clusterContainers.get(cluster.id());
+                var fresh = buildClusterContainer(cluster);
+                if (old != null) {
+                    propositionsContent.replace(old, fresh);
+                } else {
+                    propositionsContent.addComponentAtIndex(clusterIndex, fresh);
+                }
+            }
+            clusterIndex++;
+        }
+
+        if (next.unclustered().isEmpty()) {
+            if (unclusteredSection != null) {
+                propositionsContent.remove(unclusteredSection);
+                unclusteredSection = null;
+            }
+        } else if (unclusteredSection == null) {
+            propositionsContent.addComponentAtIndex(next.clusters().size(),
+                    buildUnclusteredSection(next.unclustered(), next));
+        } else {
+            var list = unclusteredSection.getChildren()
+                    .filter(c -> c.hasClassName("unclustered"))
+                    .map(c -> (Div) c)
+                    .findFirst()
+                    .orElseThrow();
+            applied.unclusteredAdded().forEach(prop -> list.add(buildUnclusteredMember(prop)));
+            ((Span) unclusteredSection.getChildren().findFirst().orElseThrow())
+                    .setText(unclusteredLabel(next.unclustered().size()));
+        }
+
+        linkSnapshot = next;
+        linkTargetIndex = null;
+        searchIndex = null;
+        int total = next.unclustered().size() + next.clusters().stream().mapToInt(c -> c.members().size()).sum();
+        propositionCountSpan.setText("(" + total + " memories, " + next.clusters().size() + " clusters)");
+        if (!searchField.getValue().isBlank()) {
+            applyInstantFilter(searchField.getValue());
+        }
+    }
+
+    /**
+     * Shows memories the host has just stored — while Analyze is still extracting, say — without
+     * re-querying: each becomes a card at its place in the newest-first flat list and the count
+     * moves with it. Memories the list already shows, or whose status the filter hides, are
+     * skipped. Only the flat list takes live additions; the Clusters, paged and search-result
+     * views pick them up on their next refresh, as does a flat list with a load still in flight.
+     * Call on the UI thread; {@link MemorySection#appendFrom} does that for a publisher.
+     *
+     * @param added newly stored memories of this panel's context, in any order
+     */
+    public void appendPropositions(List<Proposition> added) {
+        if (scoredMode || clustered || propositionPager != null || contextId == null
+                || inFlightRefresh != null || added.isEmpty()) {
+            return;
+        }
+        var fresh = new java.util.ArrayList<Proposition>();
+        var seen = new HashSet<String>();
+        for (var prop : added) {
+            // An empty filter is the All view: any status shows, as in the store query.
+            if (!flatCards.containsKey(prop.getId())
+                    && (statusFilter.isEmpty() || statusFilter.contains(prop.getStatus()))
+                    && seen.add(prop.getId())) {
+                fresh.add(prop);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        if (flatCards.isEmpty()) {
+            // Only the empty-state message to make way for.
+            clearContent();
+        } else if (flatCardsWiringGeneration != cardWiringGeneration) {
+            // Cards wired with stale handlers; the next refresh rebuilds them with these memories.
+            return;
+        }
+        fresh.sort(Comparator.comparing(Proposition::getCreated).reversed());
+        mergeResolvedFor(fresh);
+
+        // Walk the list once, newest first, slotting each new card in ahead of the first older one.
+        var merged = new java.util.ArrayList<Map.Entry<String, PropositionCard>>(flatCards.size() + fresh.size());
+        var existing = new java.util.ArrayList<>(flatCards.entrySet());
+        int next = 0;
+        for (var prop : fresh) {
+            while (next < existing.size()
+                    && !existing.get(next).getValue().getView().created().isBefore(prop.getCreated())) {
+                merged.add(existing.get(next++));
+            }
+            var card = createCard(prop);
+            propositionsContent.addComponentAtIndex(merged.size(), card);
+            merged.add(Map.entry(prop.getId(), card));
+            flatCardExplanations.put(prop.getId(), resolvedExplanations.get(prop.getId()));
+        }
+        merged.addAll(existing.subList(next, existing.size()));
+        flatCards.clear();
+        merged.forEach(entry -> flatCards.put(entry.getKey(), entry.getValue()));
+        flatCardsWiringGeneration = cardWiringGeneration;
+
+        searchIndex = null;
+        propositionCountSpan.setText("(" + flatCards.size() + " memories)");
+        if (!searchField.getValue().isBlank()) {
+            applyInstantFilter(searchField.getValue());
+        }
+    }
+
+    /** Drops the registry entries of every card under {@code root}, which is leaving the content. */
+    private void forgetCards(Component root) {
+        allComponents(root).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .forEach(card -> cardsById.remove(card.getView().id(), card));
+    }
+
+    /** Adds the explanations and entities of memories new to the rendered view to the current batch. */
+    private void mergeResolvedFor(List<Proposition> propositions) {
+        if (propositions.isEmpty()) {
+            return;
+        }
+        var explanations = explanationsFor(propositions.stream().map(Proposition::getId).toList());
+        if (!explanations.isEmpty()) {
+            var merged = new HashMap<>(resolvedExplanations);
+            merged.putAll(explanations);
+            resolvedExplanations = merged;
+        }
+        var entities = entitiesFor(propositions);
+        if (!entities.isEmpty()) {
+            var merged = new HashMap<>(resolvedEntities);
+            merged.putAll(entities);
+            resolvedEntities = merged;
+        }
+    }
+
+    /**
+     * Adds a "Link…" pill to the card's meta row that opens the link popover for this memory,
+     * through the content's delegated click listener.
+     */
+    private void addLinkAffordance(Div cardWrapper, PropositionCard card) {
+        var metaContainer = card.getMetaRow();
+        var linkButton = new Button("Link…", VaadinIcon.CONNECT.create());
+        linkButton.addClassName("link-btn");
+        linkButton.getElement().setAttribute("aria-label", "Link this memory to another memory or cluster");
+        linkButton.getElement().setAttribute("data-action", "link");
+        var popoverHolder = new Div();
+        popoverHolder.addClassName("popover-holder");
+        cardWrapper.add(popoverHolder);
         metaContainer.add(linkButton);
     }
 
-    private Div buildLinkPopover(Div holder, Proposition source, ClusteredMemories snapshot) {
+    /** Opens the link popover below the card's wrapper, replacing any already open there. */
+    private void openLinkPopover(PropositionCard card) {
+        var snapshot = linkSnapshot;
+        var wrapper = card.getParent().orElse(null);
+        if (snapshot == null || wrapper == null) {
+            return;
+        }
+        wrapper.getChildren()
+                .filter(c -> c instanceof Div && c.hasClassName("popover-holder"))
+                .map(c -> (Div) c)
+                .findFirst()
+                .ifPresent(popoverHolder -> {
+                    popoverHolder.removeAll();
+                    popoverHolder.add(buildLinkPopover(popoverHolder, card.getView().id(), snapshot));
+                });
+    }
+
+    /**
+     * Handles a click the content's listener caught on a {@code data-action} control: the panel's
+     * own Undo merge and Link… controls here, everything else by the card whose {@code data-id}
+     * encloses it. Controls that are hidden or disabled server-side are ignored, as Flow ignores
+     * clicks on such components.
+     */
+    void dispatchAction(Element control) {
+        if (!control.isVisible() || !control.isEnabled()) {
+            return;
+        }
+        var cardElement = control;
+        while (cardElement != null && !cardElement.hasAttribute("data-id")) {
+            cardElement = cardElement.getParent();
+        }
+        if (cardElement == null
+                || !(cardElement.getComponent().orElse(null) instanceof PropositionCard card)) {
+            return;
+        }
+        var action = control.getAttribute("data-action");
+        switch (action) {
+            case "undo-merge" -> control.getComponent().ifPresent(undoLink -> undoMerge(card, undoLink));
+            case "link" -> openLinkPopover(card);
+            default -> card.handleAction(action, control.getAttribute("data-value"));
+        }
+    }
+
+    private Div buildLinkPopover(Div holder, String sourceId, ClusteredMemories snapshot) {
         var popover = new Div();
         popover.addClassName("popover");
 
@@ -975,6 +1793,7 @@ public class PropositionsPanel extends VerticalLayout {
         var searchField = new TextField();
         searchField.setPlaceholder("Search clusters, memories, entities…");
         searchField.setValueChangeMode(ValueChangeMode.LAZY);
+        searchField.setValueChangeTimeout(LINK_SEARCH_DEBOUNCE_MILLIS);
         searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
         searchField.addClassName("p-search-input");
         searchWrap.add(searchField);
@@ -1027,10 +1846,10 @@ public class PropositionsPanel extends VerticalLayout {
             }
             if (target.kind() == LinkTargetKind.ENTITY) {
                 if (onLinkEntity != null) {
-                    onLinkEntity.accept(new EntityLinkRequest(source.getId(), target.id()));
+                    onLinkEntity.accept(new EntityLinkRequest(sourceId, target.id()));
                 }
             } else if (onAddEdge != null) {
-                onAddEdge.accept(new AddEdgeRequest(source.getId(),
+                onAddEdge.accept(new AddEdgeRequest(sourceId,
                         target.kind() == LinkTargetKind.CLUSTER ? target.id() : null,
                         target.kind() == LinkTargetKind.MEMORY ? target.id() : null,
                         relation[0]));
@@ -1040,13 +1859,14 @@ public class PropositionsPanel extends VerticalLayout {
         actions.add(cancel, addEdge);
         popover.add(actions);
 
-        Runnable[] renderRef = new Runnable[1];
-        renderRef[0] = () -> {
-            var query = searchField.getValue();
-            var targets = linkTargets(query, source, snapshot);
+        Consumer<List<LinkTarget>> showTargets = targets -> {
             rowsContainer.removeAll();
-            for (var target : targets) {
+            rowsContainer.removeClassName("searching");
+            for (var target : targets.subList(0, Math.min(targets.size(), LINK_TARGET_ROWS))) {
                 var row = buildTargetRow(target);
+                if (target.equals(selectedTarget[0])) {
+                    row.addClassName("sel");
+                }
                 row.addClickListener(ev -> {
                     selectedTarget[0] = target;
                     rowsContainer.getChildren().forEach(r -> r.removeClassName("sel"));
@@ -1057,39 +1877,108 @@ public class PropositionsPanel extends VerticalLayout {
                 });
                 rowsContainer.add(row);
             }
+            if (targets.size() > LINK_TARGET_ROWS) {
+                var more = new Span((targets.size() - LINK_TARGET_ROWS) + " more — keep typing to narrow");
+                more.addClassName("p-more");
+                rowsContainer.add(more);
+            }
+        };
+        var index = linkTargetIndex(snapshot);
+        // Only the newest query may fill the rows: each search bumps this, and a background
+        // result that comes back under an older number is dropped.
+        var searchGeneration = new int[1];
+        var inFlightSearch = new Future<?>[1];
+        Runnable cancelSearch = () -> {
+            searchGeneration[0]++;
+            if (inFlightSearch[0] != null) {
+                inFlightSearch[0].cancel(true);
+                inFlightSearch[0] = null;
+            }
         };
-        searchField.addValueChangeListener(e -> renderRef[0].run());
-        renderRef[0].run();
+        Runnable search = () -> {
+            cancelSearch.run();
+            var query = searchField.getValue();
+            var ui = backgroundExecutor == null ? null : getUI().orElse(null);
+            if (linkTargetSearch == null || ui == null || index.cachedSearch(query) != null) {
+                showTargets.accept(linkTargets(query, sourceId, index));
+                return;
+            }
+            int generation = searchGeneration[0];
+            var task = new FutureTask<>(() -> linkTargets(query, sourceId, index)) {
+                @Override
+                protected void done() {
+                    if (!isCancelled()) {
+                        ui.access(() -> {
+                            if (generation != searchGeneration[0]) {
+                                return;
+                            }
+                            inFlightSearch[0] = null;
+                            try {
+                                showTargets.accept(get());
+                            } catch (ExecutionException e) {
+                                logger.warn("Link target search failed for '{}'", query, e.getCause());
+                                showTargets.accept(List.of());
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                    }
+                }
+            };
+            try {
+                backgroundExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Background executor rejected a link target search; searching on the request thread", e);
+                showTargets.accept(linkTargets(query, sourceId, index));
+                return;
+            }
+            inFlightSearch[0] = task;
+            rowsContainer.addClassName("searching");
+        };
+        searchField.addValueChangeListener(e -> search.run());
+        popover.addDetachListener(e -> cancelSearch.run());
+        search.run();
 
         return popover;
     }
 
+    /** The Link… index for {@code snapshot}, reused while the content still shows that snapshot. */
+    private LinkTargetIndex linkTargetIndex(ClusteredMemories snapshot) {
+        if (linkTargetIndex == null || linkTargetIndex.snapshot() != snapshot) {
+            var index = new LinkTargetIndex(snapshot);
+            if (snapshot != linkSnapshot) {
+                return index;
+            }
+            linkTargetIndex = index;
+        }
+        return linkTargetIndex;
+    }
+
     /**
      * The Link… popover's target list for a query: the host's search function when one is set
      * (empty query gets the host's own default ordering), or the panel's built-in fallback —
-     * clusters then unclustered memories from the provider snapshot — so existing hosts that
-     * never call {@link #setLinkTargetSearch} keep working unchanged.
-     */
-    private List<LinkTarget> linkTargets(String query, Proposition source, ClusteredMemories snapshot) {
-        if (linkTargetSearch != null) {
-            // A memory must never offer itself as a link target — a self-edge is always
-            // rejected downstream, so surfacing it just manufactures a dead-end click.
-            return linkTargetSearch.apply(query == null ? "" : query).stream()
-                    .filter(t -> !(t.kind() == LinkTargetKind.MEMORY && t.id().equals(source.getId())))
-                    .toList();
-        }
-        var out = new java.util.ArrayList<LinkTarget>();
-        for (var cluster : snapshot.clusters()) {
-            out.add(new LinkTarget(LinkTargetKind.CLUSTER, cluster.id(),
-                    cluster.title() + " (" + cluster.members().size() + " memories)"));
-        }
-        for (var candidate : snapshot.unclustered()) {
-            if (candidate.getId().equals(source.getId())) {
-                continue;
+     * clusters then unclustered memories from the provider snapshot, narrowed by the query's
+     * word prefixes — so existing hosts that never call {@link #setLinkTargetSearch} keep working.
+     * Either way the result is cached in the snapshot's index. Runs on a background thread when
+     * the host search is slow enough to need one, so it reads the search function only once.
+     */
+    private List<LinkTarget> linkTargets(String query, String sourceId, LinkTargetIndex index) {
+        var hostSearch = linkTargetSearch;
+        List<LinkTarget> targets;
+        if (hostSearch != null) {
+            targets = index.cachedSearch(query);
+            if (targets == null) {
+                targets = hostSearch.apply(query == null ? "" : query);
+                index.cacheSearch(query, targets);
             }
-            out.add(new LinkTarget(LinkTargetKind.MEMORY, candidate.getId(), candidate.getText()));
+        } else {
+            targets = index.match(query);
         }
-        return out;
+        // A memory must never offer itself as a link target — a self-edge is always
+        // rejected downstream, so surfacing it just manufactures a dead-end click.
+        return targets.stream()
+                .filter(t -> !(t.kind() == LinkTargetKind.MEMORY && t.id().equals(sourceId)))
+                .toList();
     }
 
     private static String kindLabel(LinkTargetKind kind) {
@@ -1143,28 +2032,76 @@ public class PropositionsPanel extends VerticalLayout {
      * pass with every id about to be shown, before the first {@link #createCard} of that pass.
      */
     private void resolveExplanations(Collection<String> propositionIds) {
-        resolvedExplanations = collapseExplanationProvider == null
+        resolvedExplanations = explanationsFor(propositionIds);
+    }
+
+    /** The batch lookup behind {@link #resolveExplanations}, safe to run off the request thread. */
+    private Map<String, CollapseExplanation> explanationsFor(Collection<String> propositionIds) {
+        return collapseExplanationProvider == null
                 ? Map.of()
                 : collapseExplanationProvider.explainAll(propositionIds);
     }
 
+    /**
+     * A card for the content: registered in {@link #cardsById}, with its clicks left to the
+     * content's delegated listener.
+     */
     private PropositionCard createCard(Proposition prop) {
+        var card = buildCard(PropositionView.of(prop), true);
+        cardsById.putIfAbsent(prop.getId(), card);
+        return card;
+    }
+
+    /**
+     * A wired card that isn't registered in {@link #cardsById} — what the paged list renders,
+     * since its rows come and go with the viewport and never sit in the content. Such a card
+     * listens for its own clicks, as no delegating listener encloses it.
+     */
+    private PropositionCard buildCard(PropositionView prop) {
+        return buildCard(prop, false);
+    }
+
+    /**
+     * Cards keep only the {@link PropositionView}; an edit or delete loads the full proposition
+     * back from the repository by id.
+     */
+    private PropositionCard buildCard(PropositionView prop, boolean delegatedClicks) {
         // Cheap in-memory lookup against the batch resolved by resolveExplanations() for this
         // render pass — not a call back into the host's provider, so the card's own collapse-badge
         // lookup costs nothing extra per card.
         CollapseExplanationProvider resolvedProvider = collapseExplanationProvider == null
                 ? null
                 : id -> Optional.ofNullable(resolvedExplanations.get(id));
-        var card = new PropositionCard(prop, entityResolver, resolvedProvider, onEntityPillClick);
+        // Same for entities: pills read the batch resolved for this pass.
+        var entities = resolvedEntities;
+        Function<String, NamedEntity> resolvedEntityLookup = entityResolver == null
+                ? null
+                : id -> lookupEntity(id, entities);
+        var card = new PropositionCard(prop, this::loadProposition, resolvedEntityLookup,
+                resolvedProvider, onEntityPillClick, delegatedClicks);
+        searchIndex = null;
+        tagForClientFilter(card);
         card.setLineageProvider(lineageProvider);
         card.setRelatedPropositionsLoader(relatedPropositionsLoader);
         card.setRelatedRecordsLoader(relatedRecordsLoader);
         if (onUndoMember != null) {
-            card.setOnUndoMember(onUndoMember);
+            card.setOnUndoMember((survivorId, retiredId) -> {
+                onUndoMember.accept(survivorId, retiredId);
+                clusterCache.invalidateAll();
+            });
         }
         if (onAfterUndo != null) {
             card.setOnAfterUndo(onAfterUndo);
         }
+        if (onUndoMembers != null) {
+            card.setOnUndoMembers((survivorId, retiredIds) -> {
+                onUndoMembers.accept(survivorId, retiredIds);
+                clusterCache.invalidateAll();
+            });
+        }
+        if (onAfterUndoMembers != null) {
+            card.setOnAfterUndoMembers(onAfterUndoMembers);
+        }
         if (onOpenRef != null) {
             card.setOnOpenRef(onOpenRef);
         }
@@ -1172,78 +2109,312 @@ public class PropositionsPanel extends VerticalLayout {
             card.setOpenable(openable);
         }
         if (onDelete != null) {
-            card.setOnDelete(p -> {
-                onDelete.accept(p.getId());
-                refresh();
+            var delete = onDelete;
+            card.setOnDeleteView(p -> deleteOptimistically(card, delete));
+        }
+        if (onEdit != null) {
+            var edit = onEdit;
+            card.setOnEditFrom((previous, updated) -> editOptimistically(card, previous, updated, edit));
+        }
+        wireUndoMergeLink(card, delegatedClicks);
+        return card;
+    }
+
+    /** What a card loads when an edit or delete needs the whole proposition behind its view. */
+    private Proposition loadProposition(String id) {
+        return propositionRepository == null ? null : propositionRepository.findById(id);
+    }
+
+    /** A row of the paged list, as {@link #setLightweightCards(boolean)} asks. */
+    Component renderPagedRow(Proposition prop) {
+        var view = PropositionView.of(prop);
+        return lightweightCards ? buildMemoryCard(view) : buildCard(view);
+    }
+
+    /**
+     * A browser-rendered card wired like {@link #buildCard}. Its dialogs are the full card's,
+     * opened from a card built for the click and never attached.
+     */
+    private MemoryCard buildMemoryCard(PropositionView prop) {
+        CollapseExplanationProvider resolvedProvider = collapseExplanationProvider == null
+                ? null
+                : id -> Optional.ofNullable(resolvedExplanations.get(id));
+        var entities = resolvedEntities;
+        Function<String, NamedEntity> resolvedEntityLookup = entityResolver == null
+                ? null
+                : id -> lookupEntity(id, entities);
+        var card = new MemoryCard(prop, this::loadProposition, resolvedEntityLookup, resolvedProvider);
+        card.setOnEntityPillClick(onEntityPillClick);
+        card.setOnOpenEntity(entity -> buildCard(card.getView()).showEntityDialog(entity));
+        if (resolvedProvider != null) {
+            card.setOnOpenCollapse(explanation -> buildCard(card.getView()).showCollapseDialog(explanation));
+        }
+        if (lineageProvider != null) {
+            card.setOnOpenLineage(p -> buildCard(p).showLineage());
+        }
+        if (onDelete != null) {
+            var delete = onDelete;
+            card.setOnDeleteView(p -> {
+                clusterCache.invalidateAll();
+                // The row belongs to the paged list, so hide the card until the list re-pages.
+                card.setVisible(false);
+                runMutation(() -> delete.accept(p.id()), this::reload, () -> card.setVisible(true),
+                        "Couldn't delete that memory, so it's been put back.");
             });
         }
         if (onEdit != null) {
-            card.setOnEdit(onEdit);
+            var edit = onEdit;
+            card.setOnEditFrom((previous, updated) -> {
+                clusterCache.invalidateAll();
+                var shown = card.getView();
+                runMutation(() -> edit.accept(updated), () -> { }, () -> {
+                    if (card.getView() == shown) {
+                        card.patch(previous);
+                    }
+                }, "Couldn't save that edit, so the memory's been put back.");
+            });
         }
-        wireUndoMergeLink(card, prop);
         return card;
     }
 
     /**
-     * Adds a visible "Undo merge" link right after the "Merged N duplicates" badge on a merged
-     * card, per the approved design (always visible, not hover-only). PropositionCard itself
-     * owns that badge and isn't touched here — we find it in the rendered tree and add a sibling
-     * into its parent layout, then wire it to fire the same (survivorId, retiredId) callbacks
-     * the existing lineage-dialog undo path uses, once per retired member.
+     * Takes the card (with its scored wrapper or rail slot) out of the content at once and then
+     * deletes, on the write executor if there is one; the rest of the list is left exactly as it is. If the delete fails the
+     * card goes back where it was — unless a refresh has re-rendered since, in which case the
+     * refresh already shows it — and the user is told. A paged-list row isn't ours to pull, so its
+     * card is hidden instead, shown again on failure, and the list re-pages once the delete lands.
+     * In the Clusters views the memory is hidden the same way: cluster headers, the Unclustered
+     * section and the link snapshot all count it, so the view regroups once the delete lands.
      */
-    private void wireUndoMergeLink(PropositionCard card, Proposition prop) {
-        if (collapseExplanationProvider == null) {
+    private void deleteOptimistically(PropositionCard card, Consumer<String> delete) {
+        var id = card.getView().id();
+        var failureMessage = "Couldn't delete that memory, so it's been put back.";
+        clusterCache.invalidateAll();
+        var holderComponent = cardHolder(card);
+        var holder = holderComponent.getElement();
+        var parent = holder.getParent();
+        if (isPagedListShowing() || parent == null) {
+            // No slot of ours to pull it from: hide the card until the paged list re-pages.
+            card.setVisible(false);
+            runMutation(() -> delete.accept(id), this::reload, () -> card.setVisible(true), failureMessage);
             return;
         }
-        Optional.ofNullable(resolvedExplanations.get(prop.getId()))
-                .filter(explanation -> !explanation.retired().isEmpty())
-                .ifPresent(explanation -> {
-                    var badge = findCollapseBadge(card);
-                    if (badge == null) {
-                        return;
-                    }
-                    var parent = badge.getParent().orElse(null);
-                    if (!(parent instanceof HasComponents container)) {
+        if (clustered && !scoredMode) {
+            holderComponent.setVisible(false);
+            runMutation(() -> delete.accept(id), () -> regroupAfterDelete(id),
+                    () -> holderComponent.setVisible(true), failureMessage);
+            return;
+        }
+        int index = parent.indexOfChild(holder);
+        boolean flat = flatCards.remove(id, card);
+        holder.removeFromParent();
+        cardsById.remove(id, card);
+        searchIndex = null;
+        adjustCount(-1);
+        int generation = refreshGeneration;
+        runMutation(() -> delete.accept(id), () -> { }, () -> {
+            if (generation != refreshGeneration) {
+                return;
+            }
+            parent.insertChild(Math.min(index, parent.getChildCount()), holder);
+            if (flat) {
+                flatCards.put(id, card);
+            }
+            cardsById.putIfAbsent(id, card);
+            searchIndex = null;
+            adjustCount(1);
+        }, failureMessage);
+    }
+
+    /**
+     * Brings a Clusters view up to date after a delete: the provider view drops the memory as a
+     * delta, rebuilding just the cluster it was in; the view the panel clusters itself reloads.
+     */
+    private void regroupAfterDelete(String id) {
+        if (clustersProvider != null) {
+            applyClusterDeltas(List.of(new MemoryClusters.MemoryRemoved(id)));
+        } else {
+            reload();
+        }
+    }
+
+    /**
+     * The card already shows the new text (it patches itself before calling back); this saves it,
+     * on the write executor if there is one, and patches the old version back in if saving fails.
+     * If the card couldn't take the stored version in place — its status, created time or
+     * mentions changed since it was rendered — the list is re-rendered from the store instead.
+     */
+    private void editOptimistically(PropositionCard card, Proposition previous, Proposition updated,
+                                    Consumer<Proposition> edit) {
+        clusterCache.invalidateAll();
+        searchIndex = null;
+        if (!card.getView().equals(PropositionView.of(updated))) {
+            runMutation(() -> edit.accept(updated), this::reload, this::reload,
+                    "Couldn't save that edit, so the memory's been put back.");
+            return;
+        }
+        tagForClientFilter(card);
+        var shown = card.getView();
+        runMutation(() -> edit.accept(updated), () -> { }, () -> {
+            if (card.getView() == shown && card.patch(previous)) {
+                searchIndex = null;
+                tagForClientFilter(card);
+            }
+        }, "Couldn't save that edit, so the memory's been put back.");
+    }
+
+    /**
+     * Runs a store write for an optimistic mutation: on the {@link #setWriteExecutor(Executor)
+     * write executor} when there is one and the panel is attached, otherwise right here.
+     * {@code onSuccess} or {@code rollback} then runs with the UI locked; a failed write is
+     * logged and reported in a notification. Whatever the write throws rolls back, and an
+     * {@link Error} is rethrown once it has.
+     */
+    private void runMutation(Runnable write, Runnable onSuccess, Runnable rollback, String failureMessage) {
+        var ui = writeExecutor == null ? null : getUI().orElse(null);
+        if (ui != null) {
+            try {
+                writeExecutor.execute(() -> {
+                    try {
+                        write.run();
+                    } catch (Throwable e) {
+                        ui.access(() -> mutationFailed(e, rollback, failureMessage));
+                        rethrowIfError(e);
                         return;
                     }
-                    var undoLink = new Button("Undo merge", VaadinIcon.ARROW_BACKWARD.create());
-                    undoLink.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
-                    undoLink.addClassName("undo-merge-link");
-                    undoLink.getElement().setAttribute("title",
-                            "Restore the " + explanation.retired().size() + " collapsed duplicate memories");
-                    undoLink.addClickListener(e -> {
-                        var survivorId = prop.getId();
-                        for (var member : explanation.retired()) {
-                            if (onUndoMember != null) {
-                                onUndoMember.accept(survivorId, member.propositionId());
-                            }
-                        }
-                        refresh();
-                        if (onAfterUndo != null) {
-                            for (var member : explanation.retired()) {
-                                onAfterUndo.accept(survivorId, member.propositionId());
-                            }
-                        }
-                    });
-                    container.add(undoLink);
+                    ui.access(onSuccess::run);
                 });
+                return;
+            } catch (RejectedExecutionException e) {
+                logger.warn("Write executor rejected a memory write; writing on the request thread", e);
+            }
+        }
+        try {
+            write.run();
+        } catch (Throwable e) {
+            mutationFailed(e, rollback, failureMessage);
+            rethrowIfError(e);
+            return;
+        }
+        onSuccess.run();
     }
 
-    private static Button findCollapseBadge(Component root) {
-        return allComponents(root).stream()
-                .filter(c -> c instanceof Button && c.hasClassName("collapse-explanation-badge"))
-                .map(c -> (Button) c)
-                .findFirst()
-                .orElse(null);
+    /** The card comes back whatever the write threw; an {@link Error} still propagates after. */
+    private static void rethrowIfError(Throwable failure) {
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    private void mutationFailed(Throwable failure, Runnable rollback, String message) {
+        logger.warn("Memory write failed; rolling back", failure);
+        rollback.run();
+        if (getUI().isPresent()) {
+            Notification.show(message, 5000, Notification.Position.BOTTOM_START)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+        }
+    }
+
+    /** What stands for the card in the content: its scored wrapper or rail slot, else the card. */
+    private static Component cardHolder(PropositionCard card) {
+        var parent = card.getParent().orElse(null);
+        if (parent != null && (parent.hasClassName("scored-card-wrapper")
+                || parent.hasClassName("member")
+                || parent.hasClassName("unclustered-member"))) {
+            return parent;
+        }
+        return card;
+    }
+
+    /** Nudges the leading number in the header count, e.g. "(12 memories, 3 clusters)". */
+    private void adjustCount(int delta) {
+        var matcher = LEADING_COUNT.matcher(propositionCountSpan.getText());
+        if (matcher.find()) {
+            int count = Math.max(0, Integer.parseInt(matcher.group(1)) + delta);
+            propositionCountSpan.setText(matcher.replaceFirst("(" + count));
+        }
+    }
+
+    /** Gives the browser-side filter the card's searchable text, when that filter is in use. */
+    private void tagForClientFilter(PropositionCard card) {
+        if (clientSideFilter) {
+            card.getElement().setAttribute("data-search",
+                    MemorySearchIndex.searchText(card.getView(), this::resolvedEntityName));
+        }
+    }
+
+    /**
+     * Adds a visible "Undo merge" link right after the "Merged N duplicates" badge on a merged
+     * card, per the approved design (always visible, not hover-only). PropositionCard itself
+     * owns that badge; we get it from {@link PropositionCard#getCollapseBadge()} and add a
+     * sibling into its parent layout. Clicking it runs {@link #undoMerge}: one
+     * {@code onUndoMembers} call for the whole collapse and one {@code onAfterUndoMembers} event,
+     * or the per-member callbacks once per retired member for hosts that only set those.
+     */
+    private void wireUndoMergeLink(PropositionCard card, boolean delegatedClicks) {
+        var explanation = card.getCollapseExplanation();
+        var badge = card.getCollapseBadge();
+        if (explanation == null || badge == null
+                || !(badge.getParent().orElse(null) instanceof HasComponents container)) {
+            return;
+        }
+        var undoLink = new Button("Undo merge", VaadinIcon.ARROW_BACKWARD.create());
+        undoLink.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
+        undoLink.addClassName("undo-merge-link");
+        undoLink.getElement().setAttribute("title",
+                "Restore the " + explanation.retired().size() + " collapsed duplicate memories");
+        if (delegatedClicks) {
+            undoLink.getElement().setAttribute("data-action", "undo-merge");
+        } else {
+            undoLink.addClickListener(e -> undoMerge(card, undoLink));
+        }
+        container.add(undoLink);
+    }
+
+    private void undoMerge(PropositionCard card, Component undoLink) {
+        var explanation = card.getCollapseExplanation();
+        var badge = card.getCollapseBadge();
+        var survivorId = card.getView().id();
+        var retiredIds = explanation.retired().stream()
+                .map(CollapseExplanation.RetiredMember::propositionId)
+                .toList();
+        var undoMember = onUndoMember;
+        var undoMembers = onUndoMembers;
+        var afterUndo = onAfterUndo;
+        var afterUndoMembers = onAfterUndoMembers;
+        // Optimistic: the card stops offering the merge straight away; the
+        // restored memories arrive with the reload once the undo has landed.
+        badge.setVisible(false);
+        undoLink.setVisible(false);
+        clusterCache.invalidateAll();
+        // The batch callbacks restore the whole collapse in one call and signal it
+        // once; hosts that only have the per-member ones get one call per member.
+        runMutation(() -> {
+            if (undoMembers != null) {
+                undoMembers.accept(survivorId, retiredIds);
+            } else if (undoMember != null) {
+                retiredIds.forEach(retiredId -> undoMember.accept(survivorId, retiredId));
+            }
+        }, () -> {
+            reload();
+            if (afterUndoMembers != null) {
+                afterUndoMembers.accept(survivorId, retiredIds);
+            } else if (afterUndo != null) {
+                retiredIds.forEach(retiredId -> afterUndo.accept(survivorId, retiredId));
+            }
+        }, () -> {
+            badge.setVisible(true);
+            undoLink.setVisible(true);
+        }, "Couldn't undo that merge. Try again in a moment.");
     }
 
     /** Entity names shared by two or more of the given propositions, in first-seen order, capped at 4. */
-    private List<String> sharedEntityNames(List<Proposition> members) {
+    private List<String> sharedEntityNames(List<Proposition> members, Map<String, NamedEntity> entities) {
         var counts = new LinkedHashMap<String, Integer>();
         for (var member : members) {
             var seenOnThisMember = new HashSet<String>();
             for (var mention : member.getMentions()) {
-                var name = resolvedEntityName(mention);
+                var name = entityName(mention.getResolvedId(), mention.getSpan(), entities);
                 if (name != null && seenOnThisMember.add(name)) {
                     counts.merge(name, 1, Integer::sum);
                 }
@@ -1256,12 +2427,28 @@ public class PropositionsPanel extends VerticalLayout {
                 .toList();
     }
 
+    /**
+     * Set the handler that deletes a memory from the store. The card is removed first and put
+     * back if the handler throws. Runs on the request thread unless a
+     * {@link #setWriteExecutor(Executor) write executor} is set.
+     *
+     * @param handler callback receiving the proposition id, or null to hide Delete
+     */
     public void setOnDelete(Consumer<String> handler) {
         this.onDelete = handler;
+        cardWiringGeneration++;
     }
 
+    /**
+     * Set the handler that saves an edited memory. The card shows the new text first and goes back
+     * to the old one if the handler throws. Runs on the request thread unless a
+     * {@link #setWriteExecutor(Executor) write executor} is set.
+     *
+     * @param handler callback receiving the updated proposition, or null to disable editing
+     */
     public void setOnEdit(Consumer<Proposition> handler) {
         this.onEdit = handler;
+        cardWiringGeneration++;
     }
 
     /**
@@ -1272,6 +2459,7 @@ public class PropositionsPanel extends VerticalLayout {
      */
     public void setLineageProvider(LineageProvider lineageProvider) {
         this.lineageProvider = lineageProvider;
+        cardWiringGeneration++;
     }
 
     /**
@@ -1283,6 +2471,7 @@ public class PropositionsPanel extends VerticalLayout {
      */
     public void setRelatedPropositionsLoader(Function<String, List<Proposition>> relatedPropositionsLoader) {
         this.relatedPropositionsLoader = relatedPropositionsLoader;
+        cardWiringGeneration++;
     }
 
     /**
@@ -1294,16 +2483,20 @@ public class PropositionsPanel extends VerticalLayout {
      */
     public void setRelatedRecordsLoader(Function<String, EntityPanel.RelatedRecords> relatedRecordsLoader) {
         this.relatedRecordsLoader = relatedRecordsLoader;
+        cardWiringGeneration++;
     }
 
     /**
      * Set the handler to invoke when an "Undo this merge" button is clicked in a lineage section.
      *
+     * Runs on the request thread unless a {@link #setWriteExecutor(Executor) write executor} is set.
+     *
      * @param onUndoMember callback receiving (survivorId, retiredMemberId) when undo is clicked,
      *                     or null to disable undo functionality
      */
     public void setOnUndoMember(BiConsumer<String, String> onUndoMember) {
         this.onUndoMember = onUndoMember;
+        cardWiringGeneration++;
     }
 
     /**
@@ -1315,6 +2508,35 @@ public class PropositionsPanel extends VerticalLayout {
      */
     public void setOnAfterUndo(BiConsumer<String, String> onAfterUndo) {
         this.onAfterUndo = onAfterUndo;
+        cardWiringGeneration++;
+    }
+
+    /**
+     * Restore a whole collapse in one call instead of one {@link #setOnUndoMember(BiConsumer)} call
+     * per retired member — a survivor that absorbed 40 duplicates then costs the host one
+     * transaction, not 40. The "Undo merge" link uses it for every retired member at once, and
+     * lineage sections use it for their per-member and "Undo all" buttons. The per-member callback
+     * remains the fallback when this isn't set. Runs on the request thread unless a
+     * {@link #setWriteExecutor(Executor) write executor} is set.
+     *
+     * @param onUndoMembers callback receiving (survivorId, retiredMemberIds), or null to fall back
+     *                      to the per-member callback
+     */
+    public void setOnUndoMembers(BiConsumer<String, List<String>> onUndoMembers) {
+        this.onUndoMembers = onUndoMembers;
+        cardWiringGeneration++;
+    }
+
+    /**
+     * Batch counterpart of {@link #setOnAfterUndo(BiConsumer)}: fired once per undo with every
+     * restored member, after the re-render. The per-member handler remains the fallback.
+     *
+     * @param onAfterUndoMembers callback receiving (survivorId, retiredMemberIds) after the undo
+     *                           lands, or null to fall back to the per-member handler
+     */
+    public void setOnAfterUndoMembers(BiConsumer<String, List<String>> onAfterUndoMembers) {
+        this.onAfterUndoMembers = onAfterUndoMembers;
+        cardWiringGeneration++;
     }
 
     /**
@@ -1325,6 +2547,7 @@ public class PropositionsPanel extends VerticalLayout {
      */
     public void setOnOpenRef(Consumer<String> onOpenRef) {
         this.onOpenRef = onOpenRef;
+        cardWiringGeneration++;
     }
 
     /**
@@ -1334,6 +2557,7 @@ public class PropositionsPanel extends VerticalLayout {
      */
     public void setOpenable(Predicate<String> openable) {
         this.openable = openable;
+        cardWiringGeneration++;
     }
 
     public void setContextId(String contextId) {
@@ -1346,6 +2570,133 @@ public class PropositionsPanel extends VerticalLayout {
         clusterToggle.setVisible(true);
     }
 
+    /**
+     * Page the flat list through the host's store instead of loading the whole context. When set,
+     * flat mode shows a virtualized list that fetches newest-first pages on scroll and only builds
+     * cards for rows near the viewport; clustered and scored modes are unaffected. The instant
+     * filter has no local cards to hide in this mode, so it only applies to the other modes.
+     *
+     * @param propositionPager fetches pages and counts for a context query, or null to load the
+     *                         whole context as before
+     */
+    public void setPropositionPager(PropositionPager propositionPager) {
+        this.propositionPager = propositionPager;
+        if (propositionPager != null && pagedList == null) {
+            pagedList = new VirtualList<>();
+            pagedList.addClassName("memory-virtual-list");
+            pagedList.setSizeFull();
+            pagedList.setRenderer(new ComponentRenderer<Component, Proposition>(this::renderPagedRow));
+            pagedList.setVisible(false);
+            add(pagedList);
+            setFlexGrow(1, pagedList);
+        }
+        if (propositionPager == null) {
+            showPagedList(false);
+        }
+    }
+
+    /**
+     * Render the paged list's rows as {@link MemoryCard}s: one browser-rendered element per memory,
+     * fed a compact JSON payload, instead of a {@link PropositionCard} tree of server components.
+     * Meant for contexts with thousands of memories, where per-card session state and UIDL add up.
+     * Delete, edit, pills and the lineage and merge dialogs behave as on a full card; the "Undo
+     * merge" link and Link… affordances are only offered by full cards. Only the paged list is
+     * affected — the other modes keep full cards, which the instant filter and in-place updates need.
+     *
+     * @param lightweightCards true for browser-rendered rows, false for full cards
+     */
+    public void setLightweightCards(boolean lightweightCards) {
+        if (this.lightweightCards == lightweightCards) {
+            return;
+        }
+        this.lightweightCards = lightweightCards;
+        if (pagedList != null) {
+            pagedList.getDataProvider().refreshAll();
+        }
+    }
+
+    /**
+     * Load refreshes on the given executor instead of the request thread. The store queries, the
+     * host's providers and the view-model work then run there while the panel shows a loading
+     * skeleton, and the result is applied through {@code ui.access} — so the UI needs push (or a
+     * poll) for it to reach the browser promptly. A refresh before the panel is attached still
+     * runs synchronously, since there's no UI to hand the result back to.
+     *
+     * @param backgroundExecutor where refresh loads run, or null to refresh synchronously
+     */
+    public void setBackgroundExecutor(Executor backgroundExecutor) {
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    /**
+     * Run the host's store writes — the {@link #setOnDelete delete}, {@link #setOnEdit edit} and
+     * {@link #setOnUndoMembers undo} callbacks — on the given executor instead of the request
+     * thread. The card changes at once and is put back if the write throws. The callbacks then run
+     * <em>without</em> the session lock, so they must not touch components except through
+     * {@code ui.access}. Separate from {@link #setBackgroundExecutor(Executor)}, which only moves
+     * loads, so hosts whose callbacks update the UI keep working unless they opt in here.
+     *
+     * @param writeExecutor where the write callbacks run, or null to run them on the request thread
+     */
+    public void setWriteExecutor(Executor writeExecutor) {
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Tell the panel how to recognise an unchanged store. The Clusters view caches its similarity
+     * sweep per context, status filter and threshold; with a revision marker (a change counter, a
+     * last-modified timestamp — anything whose {@code equals} changes when the memories do) the
+     * marker becomes part of that key, so even {@link #refresh()} reuses a clustering while the
+     * revision stands. Without one, refresh() drops the cache and only the List/Clusters toggle and
+     * status filter reuse it. The panel's own delete, edit and undo always drop it.
+     *
+     * @param repositoryRevision supplies the store's current revision, or null if there isn't one
+     */
+    public void setRepositoryRevision(Supplier<?> repositoryRevision) {
+        this.repositoryRevision = repositoryRevision;
+    }
+
+    /**
+     * Load the Clusters view through the host's store in one round trip — clusters, unclustered
+     * memories and the total together — instead of {@code findClusters} followed by a second query
+     * over the whole context to find what no cluster claimed. Results are cached exactly as the
+     * fallback's are. Ignored while a {@link #setClustersProvider(Supplier) clusters provider} is set.
+     *
+     * @param clusteredViewLoader loads a context's clustered view, or null to use the repository
+     */
+    public void setClusteredViewLoader(ClusteredViewLoader clusteredViewLoader) {
+        this.clusteredViewLoader = clusteredViewLoader;
+        clusterCache.invalidateAll();
+    }
+
+    /**
+     * Drop every cached clustering, for hosts that change memories behind the panel's back and
+     * don't provide a {@link #setRepositoryRevision(Supplier) revision marker}.
+     */
+    public void invalidateClusterCache() {
+        clusterCache.invalidateAll();
+    }
+
+    /**
+     * Collapse near-duplicate scored results, not just identical ones. Semantic search tends to
+     * return several paraphrases of one memory ("Alice has a cat" / "Alice owns a cat"), which
+     * crowd the rest out of the top results; with a threshold below 1, results whose distinct
+     * words overlap by at least that Jaccard similarity (estimated from MinHash signatures) fold
+     * into the highest-scored one and count towards its "+N similar" badge. Around 0.5 catches a
+     * one-word paraphrase of a short memory — that pair overlaps at 0.6. The index is tuned so a
+     * pair over the threshold is all but always compared; what misses remain are pairs whose
+     * estimate lands under it, a few in a hundred just above it. Applies from the next scored
+     * render.
+     *
+     * @param nearDuplicateThreshold similarity in (0, 1]; 1 (the default) collapses identical text only
+     */
+    public void setNearDuplicateThreshold(double nearDuplicateThreshold) {
+        if (!(nearDuplicateThreshold > 0.0 && nearDuplicateThreshold <= 1.0)) {
+            throw new IllegalArgumentException("nearDuplicateThreshold must be in (0, 1]: " + nearDuplicateThreshold);
+        }
+        this.nearDuplicateThreshold = nearDuplicateThreshold;
+    }
+
     public void setScoredResultsSupplier(Supplier<List<SimilarityResult<Proposition>>> supplier) {
         this.scoredResultsSupplier = supplier;
     }
@@ -1354,6 +2705,8 @@ public class PropositionsPanel extends VerticalLayout {
      * Hand over a pre-computed clustering for Clusters mode. When set, clustered mode renders
      * exactly what the supplier returns (edge rail, provenance, "Link…" affordances) instead of
      * the panel's internal similarity-based clustering. Pass null to restore internal behavior.
+     * After a mutation the host can {@link #applyClusterDeltas(List) push what changed} instead
+     * of refreshing, so the supplier is only asked again on a real reload.
      *
      * @param clustersProvider supplies the current clusters + unclustered memories, or null
      */
@@ -1373,9 +2726,13 @@ public class PropositionsPanel extends VerticalLayout {
 
     /**
      * Set the search function driving the Link… popover's live target list: called with the
-     * search box's text on every value change (including empty, for the host's default
-     * ordering — clusters, then unclustered memories, then top entities). When unset, the panel
-     * falls back to the static clusters + unclustered memories from the provider snapshot.
+     * search box's text once typing pauses (including empty, for the host's default
+     * ordering — clusters, then unclustered memories, then top entities). Results are cached per
+     * query until the Clusters view is next rendered, and with a
+     * {@link #setBackgroundExecutor(Executor) background executor} the function runs there, a
+     * newer query cancelling an older one still in flight — so it must be safe to call off the
+     * request thread. When unset, the panel matches the query against the clusters and unclustered
+     * memories from the provider snapshot itself.
      *
      * @param linkTargetSearch function from query text to the targets to show, or null to fall back
      */
@@ -1431,20 +2788,20 @@ public class PropositionsPanel extends VerticalLayout {
         this.onMergeCluster = onMergeCluster;
     }
 
+    /**
+     * Refresh after a fixed delay, for hosts that can't tell when their write lands. A host that
+     * can should hand {@link MemorySection} a {@link MemoryJob} instead, which refreshes the
+     * moment the job completes. The wait runs on the {@link UiScheduler#shared() shared
+     * scheduler}: requests made while one is already waiting are served by it, and a pending
+     * refresh is dropped if the panel is detached first.
+     */
     public void scheduleRefresh(com.vaadin.flow.component.UI ui, long delayMs) {
-        new Thread(() -> {
-            try {
-                Thread.sleep(delayMs);
-                ui.access(this::refresh);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }).start();
+        UiScheduler.shared().scheduleCoalesced(this, SCHEDULED_REFRESH, () -> ui.access(this::refresh), delayMs);
     }
 
     /**
      * Open the inline editor for a memory card by its proposition ID.
-     * Walks the rendered cards to find one matching the given ID and opens its editor.
+     * Looks the card up in the panel's id-to-card registry and opens its editor.
      *
      * @param propositionId the ID of the proposition to edit
      * @return true if a card with the given ID was found and editor opened, false otherwise
@@ -1459,12 +2816,7 @@ public class PropositionsPanel extends VerticalLayout {
     }
 
     private java.util.Optional<PropositionCard> findCardByPropositionId(String propositionId) {
-        // Walk all children of propositionsContent (flat, clustered, or scored mode) to find matching card
-        return allComponents(propositionsContent).stream()
-                .filter(c -> c instanceof PropositionCard)
-                .map(c -> (PropositionCard) c)
-                .filter(card -> card.getProposition().getId().equals(propositionId))
-                .findFirst();
+        return java.util.Optional.ofNullable(cardsById.get(propositionId));
     }
 
     private static java.util.List<Component> allComponents(Component root) {
@@ -1477,17 +2829,4 @@ public class PropositionsPanel extends VerticalLayout {
         out.add(c);
         c.getChildren().forEach(child -> collect(child, out));
     }
-
-    /** Walks up the component tree from {@code start} looking for the nearest ancestor with {@code className}. */
-    private static Component findAncestorWithClass(Component start, String className) {
-        var current = start.getParent();
-        while (current.isPresent()) {
-            var c = current.get();
-            if (c.hasClassName(className)) {
-                return c;
-            }
-            current = c.getParent();
-        }
-        return null;
-    }
 }
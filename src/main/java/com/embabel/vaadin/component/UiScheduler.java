@@ -0,0 +1,264 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.shared.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where the library's components run work off the request thread: delayed refreshes, ingestion,
+ * settling memory jobs. Tasks run on virtual threads, and delays wait on one timer thread rather
+ * than on a sleeping thread each.
+ *
+ * <p>A task can be owned by a component. Owned tasks that haven't started when their owner is
+ * detached — the user navigated away, the UI closed — are cancelled; one already running is left
+ * to finish, so a host's write isn't torn half way. Scheduling an owned task, like anything else
+ * touching the component, happens on the UI thread; unowned tasks can be scheduled from anywhere.
+ * {@link #scheduleCoalesced} collapses repeated requests for the same thing ("refresh this
+ * panel") into the one already waiting.
+ *
+ * <p>{@link #shared()} is the instance the components use; {@link #queuedTasks()} and
+ * {@link #runningTasks()} report what it's doing.
+ */
+public final class UiScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UiScheduler.class);
+
+    private static final class Shared {
+        static final UiScheduler INSTANCE = create();
+
+        private static UiScheduler create() {
+            var timer = new ScheduledThreadPoolExecutor(1,
+                    Thread.ofPlatform().name("embabel-ui-timer").daemon(true).factory());
+            // A cancelled refresh shouldn't sit in the timer's queue until it would have been due.
+            timer.setRemoveOnCancelPolicy(true);
+            return new UiScheduler(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("embabel-ui-task-", 0).factory()),
+                    timer);
+        }
+    }
+
+    /** The tasks an owner has pending, cancelled together when it detaches. */
+    private static final class Scope {
+        final Set<Task> tasks = ConcurrentHashMap.newKeySet();
+        final Map<Object, Task> coalesced = new ConcurrentHashMap<>();
+        Registration detachRegistration;
+    }
+
+    private final Executor workers;
+    private final ScheduledExecutorService timer;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+
+    /** @return the scheduler every component in the library uses */
+    public static UiScheduler shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * @param workers runs tasks; a virtual-thread executor or a bounded pool
+     * @param timer   holds delayed tasks until they're due, then hands them to {@code workers}
+     */
+    UiScheduler(Executor workers, ScheduledExecutorService timer) {
+        this.workers = workers;
+        this.timer = timer;
+    }
+
+    /**
+     * Runs {@code task} as soon as a worker is free.
+     *
+     * @param owner the component whose detach cancels the task, or null for none
+     * @param task  the work; reaches back into the UI through {@code ui.access}
+     * @return the pending task, for cancelling it
+     */
+    public Future<?> submit(Component owner, Runnable task) {
+        return schedule(owner, task, 0);
+    }
+
+    /**
+     * Runs {@code task} after {@code delayMs}, without holding a thread while it waits.
+     *
+     * @param owner   the component whose detach cancels the task, or null for none
+     * @param task    the work; reaches back into the UI through {@code ui.access}
+     * @param delayMs how long to wait; 0 or less for no wait
+     * @return the pending task, for cancelling it
+     */
+    public Future<?> schedule(Component owner, Runnable task, long delayMs) {
+        var scope = owner == null ? null : scopeOf(owner);
+        return start(new Task(task, scope, null), delayMs);
+    }
+
+    /**
+     * Like {@link #schedule}, unless {@code owner} already has a task for {@code key} that hasn't
+     * started yet: then that one stands for this request too, and is returned instead. Five
+     * "refresh in 5 s" requests in a row cost one refresh.
+     *
+     * @param owner   the component the request is for; its detach cancels the task
+     * @param key     what the task does, e.g. "refresh"
+     * @param task    the work, used only if nothing is already waiting for {@code key}
+     * @param delayMs how long to wait; 0 or less for no wait
+     * @return the task that will serve this request
+     */
+    public Future<?> scheduleCoalesced(Component owner, Object key, Runnable task, long delayMs) {
+        var scope = scopeOf(owner);
+        var created = new AtomicBoolean();
+        var pending = scope.coalesced.computeIfAbsent(key, k -> {
+            created.set(true);
+            return new Task(task, scope, k);
+        });
+        return created.get() ? start(pending, delayMs) : pending;
+    }
+
+    /** @return tasks waiting for their delay or for a worker */
+    public int queuedTasks() {
+        return queued.get();
+    }
+
+    /** @return tasks running now */
+    public int runningTasks() {
+        return running.get();
+    }
+
+    /** @return tasks that have finished running, normally or not */
+    public long completedTasks() {
+        return completed.sum();
+    }
+
+    private Task start(Task task, long delayMs) {
+        queued.incrementAndGet();
+        if (task.scope != null) {
+            task.scope.tasks.add(task);
+        }
+        try {
+            if (delayMs <= 0) {
+                workers.execute(task);
+            } else {
+                task.timer = timer.schedule(() -> hand(task), delayMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+            throw e;
+        }
+        return task;
+    }
+
+    private void hand(Task task) {
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("UI scheduler workers rejected a due task; dropping it", e);
+            task.cancel(false);
+        }
+    }
+
+    /** The owner's scope, created — with the detach listener that cancels it — on first use. */
+    private static Scope scopeOf(Component owner) {
+        var scope = ComponentUtil.getData(owner, Scope.class);
+        if (scope == null) {
+            var created = new Scope();
+            created.detachRegistration = owner.addDetachListener(e -> {
+                ComponentUtil.setData(owner, Scope.class, null);
+                created.detachRegistration.remove();
+                created.tasks.forEach(task -> task.cancel(false));
+            });
+            ComponentUtil.setData(owner, Scope.class, created);
+            scope = created;
+        }
+        return scope;
+    }
+
+    private final class Task extends FutureTask<Void> {
+
+        private final Scope scope;
+        private final Object coalesceKey;
+        private final AtomicBoolean leftQueue = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timer;
+
+        Task(Runnable body, Scope scope, Object coalesceKey) {
+            super(body, null);
+            this.scope = scope;
+            this.coalesceKey = coalesceKey;
+        }
+
+        @Override
+        public void run() {
+            // Once started, a later request for the same key needs a task of its own.
+            forgetKey();
+            leaveQueue();
+            if (isDone()) {
+                return;
+            }
+            running.incrementAndGet();
+            try {
+                super.run();
+            } finally {
+                running.decrementAndGet();
+                completed.increment();
+            }
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            logger.error("UI task failed", t);
+            super.setException(t);
+        }
+
+        @Override
+        protected void done() {
+            leaveQueue();
+            forgetKey();
+            if (scope != null) {
+                scope.tasks.remove(this);
+            }
+            var pendingTimer = timer;
+            if (isCancelled() && pendingTimer != null) {
+                pendingTimer.cancel(false);
+            }
+        }
+
+        private void leaveQueue() {
+            if (leftQueue.compareAndSet(false, true)) {
+                queued.decrementAndGet();
+            }
+        }
+
+        private void forgetKey() {
+            if (coalesceKey != null) {
+                scope.coalesced.remove(coalesceKey, this);
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.embabel.vaadin.document;
 
+import com.embabel.vaadin.component.UiScheduler;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.Span;
@@ -94,7 +95,7 @@ public class HtmlIngestSection extends VerticalLayout {
         var finalHtml = html.trim();
         var ui = getUI().orElse(null);
 
-        new Thread(() -> {
+        UiScheduler.shared().submit(this, () -> {
             try {
                 onIngestHtml.accept(finalHtml, finalTitle);
 
@@ -122,6 +123,6 @@ public class HtmlIngestSection extends VerticalLayout {
                     });
                 }
             }
-        }).start();
+        });
     }
 }
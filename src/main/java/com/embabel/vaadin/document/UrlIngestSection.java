@@ -15,6 +15,7 @@
  */
 package com.embabel.vaadin.document;
 
+import com.embabel.vaadin.component.UiScheduler;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.Span;
@@ -82,7 +83,7 @@ public class UrlIngestSection extends VerticalLayout {
         var finalUrl = url;
         var ui = getUI().orElse(null);
 
-        new Thread(() -> {
+        UiScheduler.shared().submit(this, () -> {
             try {
                 onIngestUrl.accept(finalUrl);
 
@@ -107,6 +108,6 @@ public class UrlIngestSection extends VerticalLayout {
                     });
                 }
             }
-        }).start();
+        });
     }
 }
@@ -0,0 +1,129 @@
+/**
+ * <memory-card>: the browser half of MemoryCard.
+ *
+ * The server sets one `card` property — id, text, confidence, created time, pills and badges —
+ * and this element draws the same markup and classes PropositionCard builds on the server, in
+ * light DOM so the shared card stylesheet applies. Editing happens entirely here; only semantic
+ * actions go back, as a single `memory-card-action` event whose detail is {action, value}. The
+ * relative time is kept current by the shared ticker in relative-time.js.
+ */
+import { LitElement, html, nothing } from 'lit';
+import { formatRelativeTime } from './relative-time.js';
+
+const MAX_VISIBLE_PILLS = 4;
+
+function confidenceLevel(percent) {
+    if (percent >= 80) {
+        return 'high';
+    }
+    return percent >= 50 ? 'medium' : 'low';
+}
+
+class MemoryCard extends LitElement {
+
+    static properties = {
+        card: { type: Object },
+        _editing: { state: true },
+        _allPills: { state: true }
+    };
+
+    createRenderRoot() {
+        return this;
+    }
+
+    connectedCallback() {
+        super.connectedCallback();
+        this.classList.add('proposition-card', 'proposition-card-full-width');
+    }
+
+    _fire(action, value) {
+        this.dispatchEvent(new CustomEvent('memory-card-action', {
+            detail: { action, value: value == null ? '' : String(value) }
+        }));
+    }
+
+    _save() {
+        const text = this.querySelector('.proposition-edit-area').value.trim();
+        this._editing = false;
+        if (text && text !== this.card.text) {
+            // Show the new text straight away; the server patches the payload to match, or back.
+            this.card = { ...this.card, text };
+            this._fire('edit', text);
+        }
+    }
+
+    _renderHeader(card) {
+        if (this._editing) {
+            return html`
+                <div class="proposition-edit-container">
+                    <textarea class="proposition-edit-area" .value=${card.text}></textarea>
+                    <div class="proposition-edit-buttons">
+                        <vaadin-button theme="primary small" @click=${() => this._save()}>Save</vaadin-button>
+                        <vaadin-button theme="tertiary small" @click=${() => { this._editing = false; }}>Cancel</vaadin-button>
+                    </div>
+                </div>`;
+        }
+        return html`
+            <div class="proposition-header">
+                <span class="proposition-text">${card.text}</span>
+                ${card.editable ? html`
+                    <vaadin-button class="proposition-edit" theme="tertiary small" title="Edit this memory"
+                                   @click=${() => { this._editing = true; }}>
+                        <vaadin-icon icon="vaadin:edit"></vaadin-icon>
+                    </vaadin-button>` : nothing}
+                ${card.deletable ? html`
+                    <vaadin-button class="proposition-delete" theme="tertiary small error" title="Delete this memory"
+                                   @click=${() => this._fire('delete')}>
+                        <vaadin-icon icon="vaadin:trash"></vaadin-icon>
+                    </vaadin-button>` : nothing}
+            </div>`;
+    }
+
+    _renderPills(card) {
+        if (!card.pills.length) {
+            return nothing;
+        }
+        const visible = this._allPills ? card.pills : card.pills.slice(0, MAX_VISIBLE_PILLS);
+        const hidden = card.pills.length - visible.length;
+        return html`
+            <div class="proposition-entities">
+                ${visible.map((pill, index) => html`
+                    <span class="mention-badge ${pill.resolved ? '' : 'unresolved'} ${pill.clickable ? 'clickable' : ''}"
+                          @click=${pill.clickable ? () => this._fire('pill', index) : null}>
+                        ${pill.resolved ? pill.name : pill.name + ' ?'}
+                    </span>`)}
+                ${hidden > 0 ? html`
+                    <vaadin-button class="proposition-pill-overflow" theme="tertiary small"
+                                   @click=${() => { this._allPills = true; }}>+${hidden} more</vaadin-button>` : nothing}
+            </div>`;
+    }
+
+    render() {
+        const card = this.card;
+        if (!card) {
+            return nothing;
+        }
+        return html`
+            ${this._renderHeader(card)}
+            <div class="proposition-meta">
+                <span class="proposition-confidence ${confidenceLevel(card.confidence)}">${card.confidence}% confidence</span>
+                ${card.merged ? html`
+                    <vaadin-button class="collapse-explanation-badge" theme="tertiary small"
+                                   title="Show why these memories were merged" @click=${() => this._fire('merged')}>
+                        <vaadin-icon icon="vaadin:compress-square" slot="prefix"></vaadin-icon>
+                        Merged ${card.merged} duplicate${card.merged === 1 ? '' : 's'}
+                    </vaadin-button>` : nothing}
+                ${card.lineage ? html`
+                    <vaadin-button class="lineage-badge" theme="tertiary small"
+                                   title="Show where this memory came from" @click=${() => this._fire('lineage')}>
+                        <vaadin-icon icon="vaadin:connect" slot="prefix"></vaadin-icon>
+                        Lineage
+                    </vaadin-button>` : nothing}
+            </div>
+            ${this._renderPills(card)}
+            <span class="proposition-relative-time" title=${card.time} data-created=${card.created}
+                  .textContent=${formatRelativeTime(Date.parse(card.created))}></span>`;
+    }
+}
+
+customElements.define('memory-card', MemoryCard);
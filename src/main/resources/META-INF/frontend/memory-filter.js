@@ -0,0 +1,66 @@
+/**
+ * Browser-side instant filter for the Memory tab (PropositionsPanel client-side filter mode).
+ *
+ * Every card carries its searchable text — lowercased memory text plus entity names — in a
+ * data-search attribute. Typing filters those cards right here, with the same rules the server
+ * filter uses; the server only hears the settled query (the search field syncs lazily) and works
+ * out the visible count from its own index.
+ */
+
+/**
+ * Wire the search field's input events to the local filter. Safe to call on every attach: the
+ * listener is added once per field and does nothing while the panel has client-side filtering off.
+ */
+window.memoryFilterAttach = function(panel, field, content) {
+    if (field.__memoryFilterAttached) {
+        return;
+    }
+    field.__memoryFilterAttached = true;
+    field.addEventListener('input', () => {
+        if (panel.hasAttribute('data-client-filter')) {
+            window.memoryFilterApply(panel, content, field.value);
+        }
+    });
+};
+
+/**
+ * Show the cards whose data-search contains the query (case-insensitive) and hide the rest,
+ * mirroring PropositionsPanel.applyInstantFilter: scored wrappers are hidden instead of their
+ * card, rail members are dimmed rather than hidden, and a cluster container is hidden when none
+ * of its cards matched. Updates the panel's count and returns how many cards matched.
+ */
+window.memoryFilterApply = function(panel, content, query) {
+    const q = (query || '').trim().toLowerCase();
+    const clusterHits = new Map();
+    let shown = 0;
+    content.querySelectorAll('[data-search]').forEach(card => {
+        const hit = q === '' || card.dataset.search.includes(q);
+        const parent = card.parentElement;
+        const cluster = card.closest('.cluster-container');
+        if (parent && parent.classList.contains('scored-card-wrapper')) {
+            parent.hidden = !hit;
+        } else if (parent && parent.classList.contains('member')) {
+            parent.classList.toggle('dim', !hit);
+            card.hidden = false;
+            if (cluster) {
+                clusterHits.set(cluster, clusterHits.get(cluster) || hit);
+            }
+        } else if (cluster) {
+            card.hidden = !hit;
+            clusterHits.set(cluster, clusterHits.get(cluster) || hit);
+        } else {
+            card.hidden = !hit;
+        }
+        if (hit) {
+            shown++;
+        }
+    });
+    clusterHits.forEach((hit, cluster) => {
+        cluster.hidden = !hit;
+    });
+    const count = panel.querySelector('.panel-count');
+    if (count) {
+        count.textContent = '(' + shown + (shown === 1 ? ' memory)' : ' memories)');
+    }
+    return shown;
+};
@@ -0,0 +1,59 @@
+/**
+ * Shared ticker for memory cards' relative timestamps ("5m ago").
+ *
+ * Each card's .proposition-relative-time label carries its creation time as an ISO timestamp in
+ * data-created (the absolute time stays in its title). One timer per page re-labels every such
+ * element in place, so the labels stay current without any server round trip or re-render of the
+ * memory list.
+ */
+
+const TICK_MILLIS = 30000;
+
+/** Same buckets as PropositionCard.formatRelativeTime. */
+export function formatRelativeTime(created) {
+    const seconds = Math.floor((Date.now() - created) / 1000);
+    if (seconds < 60) {
+        return 'just now';
+    }
+    const minutes = Math.floor(seconds / 60);
+    if (minutes < 60) {
+        return minutes + 'm ago';
+    }
+    const hours = Math.floor(minutes / 60);
+    if (hours < 24) {
+        return hours + 'h ago';
+    }
+    const days = Math.floor(hours / 24);
+    if (days < 7) {
+        return days + 'd ago';
+    }
+    return Math.floor(days / 7) + 'w ago';
+}
+
+function tick() {
+    document.querySelectorAll('.proposition-relative-time[data-created]').forEach(label => {
+        const created = Date.parse(label.dataset.created);
+        if (Number.isNaN(created)) {
+            return;
+        }
+        const text = formatRelativeTime(created);
+        // Only touch labels whose bucket changed, so a tick over thousands of cards is mostly reads.
+        if (label.textContent !== text) {
+            label.textContent = text;
+        }
+    });
+}
+
+if (!window.__memoryRelativeTimeTicker) {
+    window.__memoryRelativeTimeTicker = setInterval(() => {
+        if (!document.hidden) {
+            tick();
+        }
+    }, TICK_MILLIS);
+    // A tab coming back from the background may have missed several ticks.
+    document.addEventListener('visibilitychange', () => {
+        if (!document.hidden) {
+            tick();
+        }
+    });
+}
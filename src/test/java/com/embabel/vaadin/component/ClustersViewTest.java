@@ -28,9 +28,7 @@ import com.embabel.vaadin.component.MemoryClusters.EdgeProvenance;
 import com.embabel.vaadin.component.MemoryClusters.EntityLinkRequest;
 import com.embabel.vaadin.component.MemoryClusters.MemoryClusterView;
 import com.embabel.vaadin.component.MemoryClusters.RemoveEdgeRequest;
-import com.vaadin.flow.component.ClickEvent;
 import com.vaadin.flow.component.Component;
-import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.Span;
@@ -44,6 +42,7 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
+import static com.embabel.vaadin.component.ComponentTestSupport.click;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -85,10 +84,6 @@ class ClustersViewTest {
         click(toggle);
     }
 
-    private static void click(Button button) {
-        ComponentUtil.fireEvent(button, new ClickEvent<>(button));
-    }
-
     private static List<Component> allComponents(Component root) {
         var out = new ArrayList<Component>();
         collect(root, out);
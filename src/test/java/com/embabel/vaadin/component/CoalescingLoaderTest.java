@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.vaadin.component.LineageProvider.Lineage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Covers coalescing single-id lookups into batch calls: lookups from several threads within one
+ * window share a single batch, each caller gets its own result, and a failed batch fails them all.
+ */
+class CoalescingLoaderTest {
+
+    private final List<Collection<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private Map<String, String> upperCase(Collection<String> ids) {
+        batches.add(ids);
+        var out = new HashMap<String, String>();
+        ids.stream().filter(id -> !id.startsWith("missing")).forEach(id -> out.put(id, id.toUpperCase()));
+        return out;
+    }
+
+    private static <T> List<T> runConcurrently(List<Callable<T>> calls) throws Exception {
+        var pool = Executors.newFixedThreadPool(calls.size());
+        try {
+            var futures = new ArrayList<Future<T>>();
+            for (var call : calls) {
+                futures.add(pool.submit(call));
+            }
+            var out = new ArrayList<T>();
+            for (var future : futures) {
+                out.add(future.get());
+            }
+            return out;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void lookupsWithinOneWindowShareOneBatch() throws Exception {
+        var loader = new CoalescingLoader<String, String>(this::upperCase, Duration.ofMillis(300));
+
+        var results = runConcurrently(List.<Callable<String>>of(
+                () -> loader.apply("a"), () -> loader.apply("b"), () -> loader.apply("a"),
+                () -> loader.apply("missing"), () -> loader.apply("c")));
+
+        assertEquals(Arrays.asList("A", "B", "A", null, "C"), results);
+        assertEquals(1, batches.size(), "one window, one batch call");
+        assertEquals(Set.of("a", "b", "c", "missing"), new HashSet<>(batches.get(0)));
+        assertEquals(4, batches.get(0).size(), "an id asked twice is looked up once");
+    }
+
+    @Test
+    void lookupsAfterTheWindowStartANewBatch() {
+        var loader = new CoalescingLoader<String, String>(this::upperCase, Duration.ZERO);
+
+        assertEquals("A", loader.apply("a"));
+        assertNull(loader.apply("missing-b"));
+
+        assertEquals(List.of(List.of("a"), List.of("missing-b")), batches);
+    }
+
+    @Test
+    void aFailedBatchFailsEveryCallerOfItsWindow() throws Exception {
+        var failure = new IllegalStateException("store down");
+        var loader = new CoalescingLoader<String, String>(ids -> {
+            batches.add(ids);
+            throw failure;
+        }, Duration.ofMillis(300));
+
+        var outcomes = runConcurrently(List.<Callable<Throwable>>of(
+                () -> assertThrows(IllegalStateException.class, () -> loader.apply("a")),
+                () -> assertThrows(IllegalStateException.class, () -> loader.apply("b"))));
+
+        assertEquals(1, batches.size());
+        outcomes.forEach(thrown -> assertSame(failure, thrown));
+    }
+
+    @Test
+    void lineageLookupsGoThroughTheProvidersBatchMethod() {
+        var lineage = new Lineage(List.of("chunk-1"), List.of(), Optional.empty());
+        var provider = new LineageProvider() {
+            @Override
+            public Optional<Lineage> lineageFor(String propositionId) {
+                throw new AssertionError("the coalesced provider must batch");
+            }
+
+            @Override
+            public Map<String, Lineage> lineageForAll(Collection<String> propositionIds) {
+                batches.add(propositionIds);
+                return propositionIds.contains("p1") ? Map.of("p1", lineage) : Map.of();
+            }
+        };
+        var coalesced = CoalescingLoader.lineage(provider);
+
+        assertSame(lineage, coalesced.lineageFor("p1").orElseThrow());
+        assertTrue(coalesced.lineageFor("p2").isEmpty());
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void defaultBatchMethodLoopsOverSingleLookups() {
+        LineageProvider provider = id -> id.equals("p1")
+                ? Optional.of(new Lineage(List.of(), List.of(), Optional.empty()))
+                : Optional.empty();
+
+        var all = provider.lineageForAll(List.of("p1", "p2"));
+
+        assertEquals(Set.of("p1"), all.keySet());
+        assertInstanceOf(Lineage.class, all.get("p1"));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.vaadin.flow.component.button.Button;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Helpers the component tests share, for what the browser or the frontend build would
+ * otherwise do for them.
+ */
+final class ComponentTestSupport {
+
+    private ComponentTestSupport() {
+    }
+
+    /** Holds submitted work until the test runs it, standing in for a real thread pool. */
+    static final class QueuedExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        /** Runs what's queued now; anything those tasks submit waits for the next call. */
+        void runAll() {
+            var pending = new ArrayList<>(tasks);
+            tasks.clear();
+            pending.forEach(Runnable::run);
+        }
+
+        /** Runs until nothing is left, including what the tasks themselves submit. */
+        void drain() {
+            while (!tasks.isEmpty()) {
+                runAll();
+            }
+        }
+    }
+
+    /**
+     * Clicks a control the way the browser does: card controls tagged with {@code data-action}
+     * reach the enclosing panel's delegated listener, everything else its own click listener.
+     */
+    static void click(Button button) {
+        if (button.getElement().hasAttribute("data-action")) {
+            var panel = button.getParent();
+            while (panel.isPresent() && !(panel.get() instanceof PropositionsPanel)) {
+                panel = panel.get().getParent();
+            }
+            ((PropositionsPanel) panel.orElseThrow()).dispatchAction(button.getElement());
+        } else {
+            button.click();
+        }
+    }
+
+    /** Reads a {@code @CssImport}/{@code @JsModule} path the way the frontend build resolves it. */
+    static String frontendResource(String path) {
+        var name = "META-INF/frontend/" + path.replaceFirst("^\\./", "");
+        try (var in = ComponentTestSupport.class.getClassLoader().getResourceAsStream(name)) {
+            assertNotNull(in, "missing frontend resource " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Covers the shared entity cache: repeat lookups stay off the wrapped resolver until the entry
+ * expires, is invalidated or is pushed out, and batch lookups only pass on the ids it lacks.
+ */
+class EntityCacheTest {
+
+    private final Map<String, NamedEntity> store = new LinkedHashMap<>();
+    private final List<String> single = new ArrayList<>();
+    private final List<Collection<String>> batches = new ArrayList<>();
+    private final MutableClock clock = new MutableClock();
+
+    private final EntityResolver resolver = new EntityResolver() {
+        @Override
+        public NamedEntity apply(String entityId) {
+            single.add(entityId);
+            return store.get(entityId);
+        }
+
+        @Override
+        public Map<String, NamedEntity> resolveAll(Collection<String> entityIds) {
+            batches.add(List.copyOf(entityIds));
+            var out = new LinkedHashMap<String, NamedEntity>();
+            entityIds.stream().filter(store::containsKey).forEach(id -> out.put(id, store.get(id)));
+            return out;
+        }
+    };
+
+    private static final class MutableClock extends Clock {
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private EntityCache cache(int maxSize) {
+        return new EntityCache(resolver, maxSize, Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    void repeatLookupsAreAnsweredFromTheCacheUntilTheyExpire() {
+        var ana = mock(NamedEntity.class);
+        store.put("ana", ana);
+        var cache = cache(10);
+
+        assertSame(ana, cache.apply("ana"));
+        assertSame(ana, cache.apply("ana"));
+        assertNull(cache.apply("nobody"));
+        assertNull(cache.apply("nobody"));
+
+        assertEquals(List.of("ana", "nobody"), single, "unresolved ids are remembered too");
+        assertEquals(2, cache.hitCount());
+        assertEquals(2, cache.missCount());
+
+        clock.now = clock.now.plus(Duration.ofMinutes(1));
+        cache.apply("ana");
+        assertEquals(List.of("ana", "nobody", "ana"), single);
+    }
+
+    @Test
+    void invalidatedEntitiesAreLookedUpAgain() {
+        var ana = mock(NamedEntity.class);
+        var renamed = mock(NamedEntity.class);
+        store.put("ana", ana);
+        var cache = cache(10);
+        cache.apply("ana");
+        cache.apply("new");
+
+        store.put("ana", renamed);
+        store.put("new", ana);
+        cache.invalidate("ana");
+        cache.invalidate("new");
+
+        assertSame(renamed, cache.apply("ana"));
+        assertSame(ana, cache.apply("new"));
+        assertEquals(4, cache.missCount());
+    }
+
+    @Test
+    void batchLookupsOnlyPassOnWhatIsMissing() {
+        store.put("a", mock(NamedEntity.class));
+        store.put("b", mock(NamedEntity.class));
+        var cache = cache(10);
+        cache.apply("a");
+
+        var found = cache.resolveAll(List.of("b", "a", "x"));
+
+        assertEquals(List.of("b", "a"), List.copyOf(found.keySet()), "in the order asked");
+        assertEquals(List.of(List.of("b", "x")), batches);
+        assertEquals(List.of("b", "a"), List.copyOf(cache.resolveAll(List.of("b", "a", "x")).keySet()));
+        assertEquals(1, batches.size(), "the second render is all hits");
+        assertEquals(4, cache.hitCount());
+        assertEquals(3, cache.missCount());
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesArePushedOut() {
+        var cache = cache(2);
+        cache.apply("a");
+        cache.apply("b");
+        cache.apply("a");
+        cache.apply("c");
+
+        assertEquals(2, cache.size());
+        cache.apply("a");
+        cache.apply("b");
+        assertEquals(List.of("a", "b", "c", "b"), single);
+    }
+}
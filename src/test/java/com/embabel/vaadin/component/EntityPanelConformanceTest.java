@@ -19,6 +19,7 @@ import com.embabel.agent.rag.model.NamedEntity;
 import com.embabel.dice.proposition.Proposition;
 import com.embabel.dice.proposition.PropositionStatus;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.details.Details;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
@@ -29,6 +30,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import static com.embabel.vaadin.component.ComponentTestSupport.frontendResource;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -134,15 +137,14 @@ class EntityPanelConformanceTest {
         assertTrue(panel.getElement().getClassList().contains("entity-panel-360"),
                 "Panel should have entity-panel-360 class for spec styling");
 
-        // The panel must inject a real <style> element carrying both the light-mode custom
-        // property definitions AND a prefers-color-scheme: dark override block that redefines
-        // them — not just a client-only executeJs call that a unit test can't observe.
-        var styleElements = panel.getElement().getChildren()
-                .filter(el -> "style".equals(el.getTag()))
-                .toList();
-        assertTrue(!styleElements.isEmpty(), "Panel must inject a <style> element with dark-mode custom properties");
-
-        var cssText = styleElements.get(0).getText();
+        // The dark-mode override ships once per page in the panel's stylesheet module, not as a
+        // <style> element per instance: the module must carry both the light-mode custom property
+        // definitions AND a prefers-color-scheme: dark block that redefines them.
+        assertTrue(panel.getElement().getChildren().noneMatch(el -> "style".equals(el.getTag())),
+                "Panel must not inject its own <style> element");
+        var cssImport = EntityPanel.class.getAnnotation(CssImport.class);
+        assertNotNull(cssImport, "Panel must import its stylesheet module");
+        var cssText = frontendResource(cssImport.value());
         assertTrue(cssText.contains("--entity-amber"), "must define --entity-amber custom property");
         assertTrue(cssText.contains("--entity-violet"), "must define --entity-violet custom property");
         assertTrue(cssText.contains("--entity-green"), "must define --entity-green custom property");
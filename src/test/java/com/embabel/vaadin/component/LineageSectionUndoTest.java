@@ -114,6 +114,55 @@ class LineageSectionUndoTest {
         assertEquals("survivor-xyz:retired-beta", capturedCalls.get(1));
     }
 
+    @Test
+    void undoAllRestoresTheWholeCollapseInOneBatchCall() {
+        var member1 = new CollapseExplanation.RetiredMember(
+                "retired-alpha", "Alice", "STALE", List.of(), List.of(), List.of());
+        var member2 = new CollapseExplanation.RetiredMember(
+                "retired-beta", "Bob", "STALE", List.of(), List.of(), List.of());
+        var explanation = new CollapseExplanation(
+                "component-1", "survivor-xyz", "Alice or Bob", "MERGE", List.of(member1, member2), List.of());
+        var lineage = new LineageProvider.Lineage(List.of(), List.of(), Optional.of(explanation));
+
+        var batches = new ArrayList<String>();
+        var afterBatches = new ArrayList<String>();
+        var perMemberCalls = new ArrayList<String>();
+
+        var section = new LineageSection(id -> Optional.of(lineage));
+        section.setOnUndoMember((survivorId, retiredId) -> perMemberCalls.add(retiredId));
+        section.setOnUndoMembers((survivorId, retiredIds) -> batches.add(survivorId + ":" + retiredIds));
+        section.setOnAfterUndoMembers((survivorId, retiredIds) -> afterBatches.add(survivorId + ":" + retiredIds));
+        section.show("survivor-xyz");
+
+        var undoAll = findButtonsByClass(section, "lineage-undo-all");
+        assertEquals(1, undoAll.size(), "a multi-member collapse gets one Undo all button");
+        undoAll.get(0).click();
+
+        assertEquals(List.of("survivor-xyz:[retired-alpha, retired-beta]"), batches);
+        assertEquals(List.of("survivor-xyz:[retired-alpha, retired-beta]"), afterBatches);
+        assertTrue(perMemberCalls.isEmpty(), "the batch callback replaces the per-member one");
+    }
+
+    @Test
+    void perMemberUndoGoesThroughTheBatchCallbackWhenSet() {
+        var member = new CollapseExplanation.RetiredMember(
+                "retired-1", "Jim works in Melbourne", "STALE", List.of(), List.of(), List.of());
+        var explanation = new CollapseExplanation(
+                "component-1", "survivor-1", "Jim lives in Brisbane", "MERGE", List.of(member), List.of());
+        var lineage = new LineageProvider.Lineage(List.of(), List.of(), Optional.of(explanation));
+
+        var batches = new ArrayList<List<String>>();
+        var section = new LineageSection(id -> Optional.of(lineage));
+        section.setOnUndoMembers((survivorId, retiredIds) -> batches.add(retiredIds));
+        section.show("survivor-1");
+
+        assertTrue(findButtonsByClass(section, "lineage-undo-all").isEmpty(),
+                "a single-member collapse doesn't need Undo all");
+        findButtonsByClass(section, "lineage-undo-member").get(0).click();
+
+        assertEquals(List.of(List.of("retired-1")), batches);
+    }
+
     @Test
     void noUndoButtonWhenCallbackNotSet() {
         var member = new CollapseExplanation.RetiredMember(
@@ -47,6 +47,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import static com.embabel.vaadin.component.ComponentTestSupport.click;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -116,7 +117,7 @@ class MemoriesPageConformanceTest {
                 .filter(c -> c instanceof PropositionCard)
                 .map(c -> (PropositionCard) c)
                 .filter(Component::isVisible)
-                .map(c -> c.getProposition().getId())
+                .map(c -> c.getView().id())
                 .toList();
         assertEquals(List.of("ben-1"), visibleCards, "only the matching card stays visible");
 
@@ -141,7 +142,7 @@ class MemoriesPageConformanceTest {
                 .filter(c -> c instanceof PropositionCard)
                 .map(c -> (PropositionCard) c)
                 .filter(Component::isVisible)
-                .map(c -> c.getProposition().getId())
+                .map(c -> c.getView().id())
                 .toList();
         assertEquals(List.of("priya-1"), visibleIds, "entity mention text must be searchable too");
     }
@@ -161,7 +162,7 @@ class MemoriesPageConformanceTest {
                 .filter(c -> c instanceof PropositionCard)
                 .map(c -> (PropositionCard) c)
                 .filter(Component::isVisible)
-                .map(c -> c.getProposition().getId())
+                .map(c -> c.getView().id())
                 .toList();
         assertEquals(List.of("mentor-1"), visibleIds,
                 "lowercase query must match mixed-case text like 'Mentorship'");
@@ -355,7 +356,7 @@ class MemoriesPageConformanceTest {
 
         var memberIds = allComponents(container).stream()
                 .filter(c -> c instanceof PropositionCard)
-                .map(c -> ((PropositionCard) c).getProposition().getId())
+                .map(c -> ((PropositionCard) c).getView().id())
                 .toList();
         assertEquals(List.of("anchor-1", "similar-1"), memberIds, "container must hold both member cards");
     }
@@ -421,7 +422,7 @@ class MemoriesPageConformanceTest {
             assertTrue(undoLink.isVisible(), "Undo merge link must be visible (not hover-only)");
             assertEquals("Undo merge", undoLink.getText());
 
-            undoLink.click();
+            click(undoLink);
 
             assertEquals("survivor-1", capturedSurvivorId.get(), "undo link must fire the host callback with the survivor id");
             assertEquals("retired-1", capturedRetiredId.get(), "undo link must fire the host callback with the retired id");
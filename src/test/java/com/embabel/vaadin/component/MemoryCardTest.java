@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.MentionRole;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionStatus;
+import elemental.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the browser-rendered memory card's server half: the JSON payload it hands the
+ * {@code <memory-card>} element, and how the semantic actions coming back are dispatched.
+ */
+class MemoryCardTest {
+
+    private static final String CTX = "ctx-1";
+
+    private Proposition prop(String id, String text, EntityMention... mentions) {
+        var now = Instant.now();
+        return Proposition.create(
+                id, CTX, text, List.of(mentions), 0.85, 0.0, 0.5, null, List.of(),
+                now, now, PropositionStatus.ACTIVE);
+    }
+
+    private static EntityMention mention(String span, String resolvedId) {
+        return new EntityMention(span, "Person", resolvedId, MentionRole.SUBJECT, Map.of());
+    }
+
+    private static JsonObject payload(MemoryCard card) {
+        return (JsonObject) card.getElement().getPropertyRaw("card");
+    }
+
+    @Test
+    void payloadCarriesTheCardAndOnlyTheAffordancesThatAreWired() {
+        var ana = mock(NamedEntity.class);
+        when(ana.getName()).thenReturn("Ana Lima");
+        var card = new MemoryCard(
+                prop("p1", "Ana likes tea", mention("Ana", "e1"), mention("tea", null)),
+                id -> "e1".equals(id) ? ana : null, null);
+
+        var json = payload(card);
+        assertEquals("p1", json.getString("id"));
+        assertEquals("Ana likes tea", json.getString("text"));
+        assertEquals(85, (int) json.getNumber("confidence"));
+        assertEquals(2, json.getArray("pills").length());
+        assertEquals("Ana Lima", json.getArray("pills").getObject(0).getString("name"));
+        assertTrue(json.getArray("pills").getObject(0).getBoolean("resolved"));
+        assertEquals("tea", json.getArray("pills").getObject(1).getString("name"));
+        assertFalse(json.getArray("pills").getObject(1).getBoolean("resolved"));
+        assertFalse(json.getBoolean("editable"));
+        assertFalse(json.getBoolean("deletable"));
+        assertFalse(json.getBoolean("lineage"));
+
+        card.setOnDelete(p -> { });
+        assertTrue(payload(card).getBoolean("deletable"));
+    }
+
+    @Test
+    void aSingleElementStandsInForTheWholeCard() {
+        var card = new MemoryCard(prop("p1", "Ana likes tea", mention("Ana", null)), null, null);
+        card.setOnDelete(p -> { });
+        card.setOnEdit(p -> { });
+
+        assertEquals("memory-card", card.getElement().getTag());
+        assertEquals(0, card.getElement().getChildCount(), "the browser draws the markup, not the server");
+    }
+
+    @Test
+    void editPatchesThePayloadAndHandsBothVersionsBack() {
+        var original = prop("p1", "Ana likes tea");
+        var card = new MemoryCard(original, null, null);
+        var calls = new ArrayList<Proposition[]>();
+        card.setOnEditFrom((previous, updated) -> calls.add(new Proposition[]{previous, updated}));
+
+        card.dispatch("edit", "  Ana likes green tea ");
+        card.dispatch("edit", "Ana likes green tea");
+
+        assertEquals(1, calls.size(), "unchanged text must not save");
+        assertSame(original, calls.get(0)[0]);
+        assertEquals("Ana likes green tea", calls.get(0)[1].getText());
+        assertEquals("Ana likes green tea", payload(card).getString("text"));
+
+        assertTrue(card.patch(original));
+        assertEquals("Ana likes tea", payload(card).getString("text"));
+    }
+
+    @Test
+    void pillClickOpensResolvedEntitiesAndReportsTheDisplayName() {
+        var ana = mock(NamedEntity.class);
+        when(ana.getName()).thenReturn("Ana Lima");
+        var card = new MemoryCard(
+                prop("p1", "Ana likes tea", mention("Ana", "e1"), mention("tea", null)),
+                id -> ana, null);
+        var opened = new ArrayList<NamedEntity>();
+        var names = new ArrayList<String>();
+        card.setOnOpenEntity(opened::add);
+        card.setOnEntityPillClick(names::add);
+
+        card.dispatch("pill", "0");
+        card.dispatch("pill", "1");
+
+        assertEquals(List.of(ana), opened);
+        assertEquals(List.of("Ana Lima", "tea"), names);
+    }
+
+    @Test
+    void mergeBadgeCarriesTheCountAndOpensTheExplanation() {
+        var explanation = new CollapseExplanation("c1", "p1", "Ana likes tea", "MERGE",
+                List.of(new CollapseExplanation.RetiredMember("p2", "Ana enjoys tea", "ACTIVE",
+                        List.of(), List.of(), List.of())),
+                List.of());
+        var card = new MemoryCard(prop("p1", "Ana likes tea"), null, id -> Optional.of(explanation));
+        assertFalse(payload(card).hasKey("merged"), "no badge until something handles the click");
+
+        var opened = new ArrayList<CollapseExplanation>();
+        card.setOnOpenCollapse(opened::add);
+        card.dispatch("merged", "");
+
+        assertEquals(1, (int) payload(card).getNumber("merged"));
+        assertEquals(List.of(explanation), opened);
+    }
+}
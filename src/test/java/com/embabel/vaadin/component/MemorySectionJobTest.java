@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers memory jobs, driven through Analyze: progress shows in the status row, the trigger stays
+ * disabled while the job runs, and the list refreshes when the job completes rather than after a
+ * fixed delay.
+ */
+class MemorySectionJobTest {
+
+    private static final String CTX = "ctx-1";
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+    private final List<Proposition> pool = new ArrayList<>();
+
+    @AfterEach
+    void clearUi() {
+        UI.setCurrent(null);
+    }
+
+    private Proposition prop(String id, String text) {
+        var now = Instant.now();
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                now, now, PropositionStatus.ACTIVE);
+    }
+
+    private MemorySection section(UI ui) {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> List.copyOf(pool));
+        var memorySection = new MemorySection(repo, entityResolver, () -> CTX, null, null, null);
+        ui.add(memorySection);
+        memorySection.refresh();
+        return memorySection;
+    }
+
+    @Test
+    void analyzeRefreshesWhenTheJobCompletes() {
+        var ui = withUi();
+        var memorySection = section(ui);
+        var done = new CompletableFuture<Void>();
+        var contextIds = new ArrayList<String>();
+        memorySection.setAnalyzeJob((contextId, progress) -> {
+            contextIds.add(contextId);
+            progress.accept(new MemoryJob.Progress("Extracted 1 of 2 chunks", 0.5));
+            pool.add(prop("p1", "Ana prefers window seats"));
+            pool.add(prop("p2", "Ana flies out of Lisbon"));
+            return done;
+        });
+        var analyze = button(memorySection, "Analyze");
+        assertTrue(analyze.isVisible(), "setting a job shows the button");
+
+        analyze.click();
+
+        assertEquals(List.of(CTX), contextIds);
+        assertTrue(statusRow(memorySection).isVisible());
+        assertEquals("Extracted 1 of 2 chunks", statusLabel(memorySection).getText());
+        assertFalse(analyze.isEnabled(), "Analyze can't be started twice");
+        assertEquals("(0 memories)", countText(memorySection), "no refresh until the job is done");
+
+        done.complete(null);
+
+        assertEquals("(2 memories)", countText(memorySection));
+        assertFalse(statusRow(memorySection).isVisible());
+        assertTrue(analyze.isEnabled());
+    }
+
+    @Test
+    void failedJobReportsTheErrorAndStillRefreshes() {
+        var ui = withUi();
+        var memorySection = section(ui);
+        memorySection.setAnalyzeJob((contextId, progress) -> {
+            pool.add(prop("p1", "Stored before the failure"));
+            pool.add(prop("p2", "Also stored before the failure"));
+            return CompletableFuture.failedFuture(new IllegalStateException("model unavailable"));
+        });
+
+        button(memorySection, "Analyze").click();
+
+        assertTrue(statusRow(memorySection).isVisible());
+        assertEquals("Error: model unavailable", statusLabel(memorySection).getText());
+        assertEquals("(2 memories)", countText(memorySection));
+    }
+
+    @Test
+    void jobsStartOnTheJobExecutor() {
+        var ui = withUi();
+        var memorySection = section(ui);
+        var queued = new AtomicReference<Runnable>();
+        Executor executor = queued::set;
+        memorySection.setJobExecutor(executor);
+        var started = new ArrayList<String>();
+        memorySection.setAnalyzeJob((contextId, progress) -> {
+            started.add(contextId);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        button(memorySection, "Analyze").click();
+
+        assertTrue(started.isEmpty(), "nothing runs on the request thread");
+        assertEquals("Analyzing conversation", statusLabel(memorySection).getText());
+        queued.get().run();
+        assertEquals(List.of(CTX), started);
+        assertFalse(statusRow(memorySection).isVisible());
+    }
+
+    @Test
+    void nullJobHidesTheButton() {
+        var ui = withUi();
+        var memorySection = section(ui);
+        memorySection.setAnalyzeJob((contextId, progress) -> CompletableFuture.completedFuture(null));
+        memorySection.setAnalyzeJob(null);
+
+        assertFalse(button(memorySection, "Analyze").isVisible());
+    }
+
+    // --- helpers ---------------------------------------------------------------------------
+
+    private static UI withUi() {
+        var ui = new UI();
+        var session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.hasLock()).thenReturn(true);
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    private static Button button(Component root, String text) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof Button && text.equals(((Button) c).getText()))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("expected a " + text + " button"));
+    }
+
+    private static HorizontalLayout statusRow(Component root) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof HorizontalLayout && c.hasClassName("learn-status-row"))
+                .map(c -> (HorizontalLayout) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("status row not found"));
+    }
+
+    private static Span statusLabel(Component root) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("learn-status-label"))
+                .map(c -> (Span) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("status label not found"));
+    }
+
+    private static String countText(Component root) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("panel-count"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("count badge span not found"));
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Covers the near-duplicate index's banding: bands are sized from the threshold, and pairs over
+ * the threshold almost never slip past the candidate search.
+ */
+class NearDuplicateIndexTest {
+
+    @Test
+    void bandsNarrowAsTheThresholdDrops() {
+        assertEquals(5, NearDuplicateIndex.rowsPerBand(0.8));
+        assertEquals(3, NearDuplicateIndex.rowsPerBand(0.6));
+        assertEquals(2, NearDuplicateIndex.rowsPerBand(0.5));
+        assertEquals(1, NearDuplicateIndex.rowsPerBand(0.3));
+    }
+
+    @Test
+    void pairsOverTheThresholdAreGrouped() {
+        // Seven shared words and two of their own each: Jaccard 7/11, about 0.64.
+        var random = new Random(7);
+        int grouped = 0;
+        for (int i = 0; i < 1000; i++) {
+            var shared = new StringBuilder();
+            for (int w = 0; w < 7; w++) {
+                shared.append('w').append(random.nextInt(1_000_000)).append(' ');
+            }
+            var first = shared + "x" + random.nextInt(1_000_000) + " y" + random.nextInt(1_000_000);
+            var second = shared + "x" + random.nextInt(1_000_000) + " y" + random.nextInt(1_000_000);
+            var index = new NearDuplicateIndex(0.5);
+            if (index.assign(first) == index.assign(second)) {
+                grouped++;
+            }
+        }
+        // 16 fixed bands of 4 rows grouped about 93% of these; what's left is estimate noise.
+        assertTrue(grouped >= 970, "grouped " + grouped + " of 1000");
+    }
+
+    @Test
+    void identicalTextOnlyAtThresholdOne() {
+        var index = new NearDuplicateIndex(1.0);
+
+        assertEquals(0, index.assign("alice has a cat"));
+        assertEquals(1, index.assign("alice owns a cat"));
+        assertEquals(0, index.assign("alice has a cat"));
+    }
+}
@@ -38,6 +38,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import static com.embabel.vaadin.component.ComponentTestSupport.click;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -159,7 +160,7 @@ class PanelAfterUndoForwardingTest {
             assertEquals(1, lineageBadges.size(), "must have one lineage badge");
 
             var badge = lineageBadges.get(0);
-            badge.click();
+            click(badge);
             // Dialog attachment is deferred to the "before client response" phase
             ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
 
@@ -244,7 +245,7 @@ class PanelAfterUndoForwardingTest {
                     .toList();
 
             var badge = lineageBadges.get(0);
-            badge.click();
+            click(badge);
             ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
 
             var dialog = allComponents(ui).stream()
@@ -331,7 +332,7 @@ class PanelAfterUndoForwardingTest {
                     .toList();
 
             var badge = lineageBadges.get(0);
-            badge.click();
+            click(badge);
             ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
 
             var dialog = allComponents(ui).stream()
@@ -129,7 +129,7 @@ class PanelOpenEditorTest {
 
             // Find the second card (prop-2)
             var card2 = allCards.stream()
-                    .filter(c -> c.getProposition().getId().equals("prop-2"))
+                    .filter(c -> c.getView().id().equals("prop-2"))
                     .findFirst()
                     .orElseThrow(() -> new AssertionError("expected to find card for prop-2"));
 
@@ -148,14 +148,14 @@ class PanelOpenEditorTest {
 
             // Verify other cards are NOT in edit state
             var otherCards = allCards.stream()
-                    .filter(c -> !c.getProposition().getId().equals("prop-2"))
+                    .filter(c -> !c.getView().id().equals("prop-2"))
                     .toList();
             for (var otherCard : otherCards) {
                 var otherEditAreas = allComponents(otherCard).stream()
                         .filter(c -> c instanceof TextArea && c.hasClassName("proposition-edit-area"))
                         .toList();
                 assertEquals(0, otherEditAreas.size(),
-                        "other cards must NOT have edit area: " + otherCard.getProposition().getId());
+                        "other cards must NOT have edit area: " + otherCard.getView().id());
             }
         } finally {
             UI.setCurrent(null);
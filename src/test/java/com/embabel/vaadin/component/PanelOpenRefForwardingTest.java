@@ -37,6 +37,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import static com.embabel.vaadin.component.ComponentTestSupport.click;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -143,7 +144,7 @@ class PanelOpenRefForwardingTest {
             assertEquals(1, lineageBadges.size(), "must have one lineage badge");
 
             var badge = lineageBadges.get(0);
-            badge.click();
+            click(badge);
             // Dialog attachment is deferred to the "before client response" phase
             ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
 
@@ -220,7 +221,7 @@ class PanelOpenRefForwardingTest {
                     .toList();
 
             var badge = lineageBadges.get(0);
-            badge.click();
+            click(badge);
             ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
 
             var dialog = allComponents(ui).stream()
@@ -289,7 +290,7 @@ class PanelOpenRefForwardingTest {
                     .map(c -> (Button) c)
                     .toList();
 
-            lineageBadges.get(0).click();
+            click(lineageBadges.get(0));
             ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
 
             var dialog = allComponents(ui).stream()
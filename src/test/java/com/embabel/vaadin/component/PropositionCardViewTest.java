@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.MentionRole;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.PropositionView.MentionView;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.textfield.TextArea;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers cards built from a {@link PropositionView}: they render and filter from the view alone,
+ * and load the full proposition from the store only when an edit is saved.
+ */
+class PropositionCardViewTest {
+
+    private static final String CTX = "ctx-1";
+
+    private static Proposition prop(String id, String text) {
+        return Proposition.create(
+                id, CTX, text, List.of(new EntityMention("Ana", "Person", "ana-1", MentionRole.SUBJECT, Map.of())),
+                0.9, 0.0, 0.5, "said so at lunch", List.of("chunk-7"), Instant.now(), Instant.now(), PropositionStatus.ACTIVE);
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static void saveEdit(PropositionCard card, String newText) {
+        card.openEditor();
+        allComponents(card).stream()
+                .filter(c -> c instanceof TextArea)
+                .map(c -> (TextArea) c)
+                .findFirst()
+                .orElseThrow()
+                .setValue(newText);
+        var save = allComponents(card).stream()
+                .filter(c -> c instanceof Button && "Save".equals(((Button) c).getText()))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow();
+        ComponentUtil.fireEvent(save, new ClickEvent<>(save));
+    }
+
+    @Test
+    void viewKeepsOnlyWhatTheCardShows() {
+        var view = PropositionView.of(prop("a", "Ana likes tea"));
+
+        assertEquals("a", view.id());
+        assertEquals("Ana likes tea", view.text());
+        assertEquals(List.of(new MentionView("Ana", "Person", "ana-1")), view.mentions());
+    }
+
+    @Test
+    void panelRendersWithoutLoadingAndEditSavesTheFullProposition() {
+        var stored = prop("a", "Ana likes tea");
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenReturn(List.of(stored));
+        when(repo.findById("a")).thenReturn(stored);
+        var panel = new PropositionsPanel(repo, id -> null);
+        var saved = new ArrayList<Proposition>();
+        panel.setOnEdit(saved::add);
+        panel.setContextId(CTX);
+        panel.refresh();
+        verify(repo, never()).findById(any());
+
+        var card = allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .findFirst()
+                .orElseThrow();
+        saveEdit(card, "Ana loves tea");
+
+        assertEquals(1, saved.size());
+        assertEquals("Ana loves tea", saved.get(0).getText());
+        assertEquals(List.of("chunk-7"), saved.get(0).getGrounding(), "the edit keeps what the card never held");
+        assertEquals("said so at lunch", saved.get(0).getReasoning());
+        assertEquals("Ana loves tea", card.getView().text());
+    }
+
+    @Test
+    void editOfAMemoryGoneFromTheStoreIsReportedInTheEditor() {
+        var loads = new AtomicInteger();
+        var card = new PropositionCard(PropositionView.of(prop("a", "Ana likes tea")), id -> {
+            loads.incrementAndGet();
+            return null;
+        }, id -> null, null, null, false);
+        var edits = new ArrayList<Proposition>();
+        card.setOnEdit(edits::add);
+
+        saveEdit(card, "Ana loves tea");
+
+        assertEquals(1, loads.get());
+        assertTrue(edits.isEmpty());
+        assertEquals("Ana likes tea", card.getView().text());
+        var editor = allComponents(card).stream()
+                .filter(c -> c instanceof TextArea)
+                .map(c -> (TextArea) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("the editor stays open so the text isn't lost"));
+        assertTrue(editor.isInvalid());
+        assertEquals(PropositionCard.MEMORY_GONE_MESSAGE, editor.getErrorMessage());
+        assertEquals("Ana loves tea", editor.getValue());
+    }
+}
@@ -233,7 +233,7 @@ class PropositionsPanelActiveFilterTest {
     private static List<String> renderedCardIds(Component root) {
         return allComponents(root).stream()
                 .filter(c -> c instanceof PropositionCard)
-                .map(c -> ((PropositionCard) c).getProposition().getId())
+                .map(c -> ((PropositionCard) c).getView().id())
                 .toList();
     }
 
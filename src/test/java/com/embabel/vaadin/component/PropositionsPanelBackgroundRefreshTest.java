@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.common.core.types.SimilarityResult;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.ComponentTestSupport.QueuedExecutor;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers background refresh: with an executor set, the store is queried on the executor, a
+ * skeleton shows until the result is applied through {@code ui.access}, and a newer refresh (or
+ * scored results pushed in directly) supersedes an older load so stale results never land.
+ */
+class PropositionsPanelBackgroundRefreshTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+    private final AtomicReference<List<Proposition>> pool = new AtomicReference<>(List.of());
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @AfterEach
+    void clearUi() {
+        UI.setCurrent(null);
+    }
+
+    private Proposition prop(String id, String text, int minutesAfterBase) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionRepository repo() {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> {
+            queries.incrementAndGet();
+            return pool.get();
+        });
+        return repo;
+    }
+
+    /** A UI whose session runs {@code access} commands straight away, as if the lock were free. */
+    private static UI withUi() {
+        var ui = new UI();
+        var session = Mockito.mock(VaadinSession.class);
+        when(session.hasLock()).thenReturn(true);
+        when(session.access(any(Command.class))).thenAnswer(inv -> {
+            inv.<Command>getArgument(0).execute();
+            return null;
+        });
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    private PropositionsPanel attachedPanel(Executor executor) {
+        var panel = new PropositionsPanel(repo(), entityResolver);
+        panel.setContextId(CTX);
+        panel.setBackgroundExecutor(executor);
+        withUi().add(panel);
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static List<String> cardIds(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> ((PropositionCard) c).getView().id())
+                .toList();
+    }
+
+    private static boolean skeletonShowing(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .anyMatch(c -> c.hasClassName("memory-loading-skeleton") && c.isVisible());
+    }
+
+    @Test
+    void loadRunsOnTheExecutorBehindASkeleton() {
+        var executor = new QueuedExecutor();
+        var panel = attachedPanel(executor);
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+
+        panel.refresh();
+
+        assertEquals(0, queries.get(), "the store must not be queried on the request thread");
+        assertTrue(skeletonShowing(panel));
+        assertTrue(cardIds(panel).isEmpty());
+
+        executor.runAll();
+
+        assertEquals(1, queries.get());
+        assertFalse(skeletonShowing(panel));
+        assertEquals(List.of("b", "a"), cardIds(panel));
+    }
+
+    @Test
+    void newerRefreshCancelsTheOlderLoad() {
+        var executor = new QueuedExecutor();
+        var panel = attachedPanel(executor);
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        executor.runAll();
+
+        assertEquals(1, queries.get(), "the superseded load must never reach the store");
+        assertEquals(List.of("b", "a"), cardIds(panel));
+    }
+
+    @Test
+    void staleLoadFinishingLastIsIgnored() {
+        var executor = new QueuedExecutor();
+        var panel = attachedPanel(executor);
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+        var stale = executor.tasks.remove(0);
+        pool.set(List.of(prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        executor.runAll();
+        stale.run();
+
+        assertEquals(List.of("b"), cardIds(panel));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scoredResultsPushedInSupersedeAPendingRefresh() {
+        var executor = new QueuedExecutor();
+        var panel = attachedPanel(executor);
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+
+        SimilarityResult<Proposition> scored = mock(SimilarityResult.class);
+        when(scored.getMatch()).thenReturn(prop("s", "Scored memory", 3));
+        when(scored.getScore()).thenReturn(0.9);
+        panel.showScoredPropositions(List.of(scored));
+        executor.runAll();
+
+        assertEquals(List.of("s"), cardIds(panel));
+        assertFalse(skeletonShowing(panel));
+    }
+
+    @Test
+    void failedLoadShowsAMessageInsteadOfStaleCards() {
+        var executor = new QueuedExecutor();
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenThrow(new IllegalStateException("store down"));
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        panel.setBackgroundExecutor(executor);
+        withUi().add(panel);
+
+        panel.refresh();
+        executor.runAll();
+
+        assertFalse(skeletonShowing(panel));
+        assertTrue(allComponents(panel).stream()
+                .anyMatch(c -> c instanceof Span && ((Span) c).getText().startsWith("Couldn't load memories")));
+    }
+
+    @Test
+    void detachedPanelStillRefreshesSynchronously() {
+        var executor = new QueuedExecutor();
+        var panel = new PropositionsPanel(repo(), entityResolver);
+        panel.setContextId(CTX);
+        panel.setBackgroundExecutor(executor);
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+
+        panel.refresh();
+
+        assertTrue(executor.tasks.isEmpty());
+        assertEquals(List.of("a"), cardIds(panel));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.agent.rag.service.Cluster;
+import com.embabel.common.core.types.SimilarityResult;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.ClusteredViewLoader.ClusteredView;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.button.Button;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the panel's id-to-card registry: {@code openEditor} reaches the card currently in the
+ * content in every view, follows flat-list reconciliation (cards swapped or dropped), and the
+ * card hands out its collapse badge and meta row directly.
+ */
+class PropositionsPanelCardRegistryTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+    private final AtomicReference<List<Proposition>> pool = new AtomicReference<>(List.of());
+
+    private static Proposition prop(String id, String text, int minutesAfterBase, PropositionStatus status) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, status);
+    }
+
+    private static Proposition prop(String id, String text, int minutesAfterBase) {
+        return prop(id, text, minutesAfterBase, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionsPanel newPanel() {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> pool.get());
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static PropositionCard editingCard(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .filter(card -> allComponents(card).stream().anyMatch(c -> c.hasClassName("proposition-edit-container")))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Test
+    void droppedCardsLeaveTheRegistry() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        pool.set(List.of(prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        assertFalse(panel.openEditor("a"));
+        assertTrue(panel.openEditor("b"));
+    }
+
+    @Test
+    void swappedCardIsTheOneOpened() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+
+        // A status change can't be patched in place, so the flat list swaps in a fresh card.
+        var before = allComponents(panel).stream().filter(c -> c instanceof PropositionCard).findFirst().orElseThrow();
+        pool.set(List.of(prop("a", "Ana likes tea", 1, PropositionStatus.CONTRADICTED)));
+        panel.refresh();
+        var after = allComponents(panel).stream().filter(c -> c instanceof PropositionCard).findFirst().orElseThrow();
+
+        assertNotSame(before, after, "the card should have been replaced");
+        assertTrue(panel.openEditor("a"));
+        assertSame(after, editingCard(panel));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void clusteredCardsAreRegistered() {
+        var anchor = prop("a", "Ana runs the guild", 1);
+        var similar = prop("b", "Ana leads the guild", 2);
+        var loner = prop("c", "Ben likes coffee", 3);
+        SimilarityResult<Proposition> sim = mock(SimilarityResult.class);
+        when(sim.getMatch()).thenReturn(similar);
+        when(sim.getScore()).thenReturn(0.9);
+        var view = new ClusteredView(List.of(new Cluster<>(anchor, List.of(sim))), List.of(loner), 3);
+        var panel = newPanel();
+        panel.setClusteredViewLoader((query, threshold, topK) -> view);
+        var toggle = allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("cluster-toggle"))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow();
+        ComponentUtil.fireEvent(toggle, new ClickEvent<>(toggle));
+
+        assertTrue(panel.openEditor("b"));
+        assertEquals("b", editingCard(panel).getView().id());
+        assertTrue(panel.openEditor("c"));
+    }
+
+    @Test
+    void cardExposesItsMetaRowAndCollapseBadge() {
+        var survivor = prop("a", "Ana likes tea", 1);
+        var explanation = new CollapseExplanation("group-1", "a", "Ana likes tea", "MERGE",
+                List.of(new CollapseExplanation.RetiredMember("r", "Ana likes green tea", "ACTIVE",
+                        List.of(), List.of(), List.of())),
+                List.of());
+        var merged = new PropositionCard(survivor, entityResolver, id -> java.util.Optional.of(explanation));
+        var plain = new PropositionCard(survivor, entityResolver);
+
+        assertNotNull(merged.getCollapseBadge());
+        assertTrue(merged.getCollapseBadge().hasClassName("collapse-explanation-badge"));
+        assertSame(merged.getMetaRow(), merged.getCollapseBadge().getParent().orElseThrow());
+        assertNull(plain.getCollapseBadge());
+        assertTrue(plain.getMetaRow().hasClassName("proposition-meta"));
+    }
+}
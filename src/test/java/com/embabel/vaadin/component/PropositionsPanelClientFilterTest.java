@@ -0,0 +1,192 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.MentionRole;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers client-side filter mode: cards carry their searchable text for memory-filter.js, the
+ * server never toggles card visibility for a query, and the count still follows the query.
+ */
+class PropositionsPanelClientFilterTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final AtomicReference<List<Proposition>> pool = new AtomicReference<>(List.of());
+
+    private Proposition prop(String id, String text, int minutesAfterBase, EntityMention... mentions) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(mentions), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionsPanel newPanel() {
+        var priya = mock(NamedEntity.class);
+        when(priya.getId()).thenReturn("ent-1");
+        when(priya.getName()).thenReturn("Priya Sharma");
+        Function<String, NamedEntity> resolver = id -> "ent-1".equals(id) ? priya : null;
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> pool.get());
+        var panel = new PropositionsPanel(repo, resolver);
+        panel.setContextId(CTX);
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static List<PropositionCard> cards(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .toList();
+    }
+
+    private static PropositionCard card(PropositionsPanel panel, String id) {
+        return cards(panel).stream()
+                .filter(c -> c.getView().id().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no card for " + id));
+    }
+
+    private static TextField searchField(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof TextField && c.hasClassName("memory-search-field"))
+                .map(c -> (TextField) c)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String countText(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("panel-count"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void cardsCarryLowercasedTextAndEntityNames() {
+        var panel = newPanel();
+        panel.setClientSideFilter(true);
+        var mention = new EntityMention("Priya", "Person", "ent-1", MentionRole.SUBJECT, Map.of());
+        pool.set(List.of(prop("a", "Organizes the Guild lunch", 1, mention)));
+        panel.refresh();
+
+        assertEquals("organizes the guild lunch\npriya sharma",
+                card(panel, "a").getElement().getAttribute("data-search"));
+        assertEquals(ValueChangeMode.LAZY, searchField(panel).getValueChangeMode(),
+                "the field must stop syncing every keystroke");
+        assertTrue(panel.getElement().hasAttribute("data-client-filter"));
+    }
+
+    @Test
+    void enablingTagsCardsAlreadyOnScreen() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+        assertNull(card(panel, "a").getElement().getAttribute("data-search"));
+
+        panel.setClientSideFilter(true);
+
+        assertEquals("ana likes tea", card(panel, "a").getElement().getAttribute("data-search"));
+    }
+
+    @Test
+    void queryUpdatesTheCountButLeavesVisibilityToTheBrowser() {
+        var panel = newPanel();
+        panel.setClientSideFilter(true);
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        panel.setSearchQuery("coffee");
+
+        assertTrue(cards(panel).stream().allMatch(Component::isVisible),
+                "the server must not hide cards the browser is filtering");
+        assertEquals("(1 memory)", countText(panel));
+
+        panel.handleClientFilter("likes");
+        assertEquals("(2 memories)", countText(panel));
+    }
+
+    @Test
+    void patchedTextRefreshesTheSearchAttribute() {
+        var panel = newPanel();
+        panel.setClientSideFilter(true);
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+        var before = card(panel, "a");
+
+        pool.set(List.of(prop("a", "Ana likes matcha", 1)));
+        panel.refresh();
+
+        assertEquals(before, card(panel, "a"));
+        assertEquals("ana likes matcha", before.getElement().getAttribute("data-search"));
+    }
+
+    @Test
+    void disablingReturnsToTheServerFilter() {
+        var panel = newPanel();
+        panel.setClientSideFilter(true);
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        panel.setClientSideFilter(false);
+        panel.setSearchQuery("coffee");
+
+        assertEquals(ValueChangeMode.EAGER, searchField(panel).getValueChangeMode());
+        assertNull(card(panel, "a").getElement().getAttribute("data-search"));
+        assertEquals(List.of("b"), cards(panel).stream()
+                .filter(Component::isVisible)
+                .map(c -> c.getView().id())
+                .toList());
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.agent.rag.service.Cluster;
+import com.embabel.common.core.types.SimilarityResult;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.select.Select;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the Clusters-view cache: switching views and filters reuses a clustering already
+ * computed for the same context, filter and revision, while an external refresh without a
+ * revision marker, a revision change, or the panel's own delete all force a fresh sweep the
+ * next time the Clusters view loads.
+ */
+class PropositionsPanelClusterCacheTest {
+
+    private static final String CTX = "ctx-1";
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+
+    private Proposition prop(String id, String text) {
+        var now = Instant.now();
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                now, now, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionRepository repo() {
+        var props = List.of(prop("a", "Ana likes tea"), prop("b", "Ben likes coffee"));
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenReturn(props);
+        when(repo.findClusters(anyDouble(), anyInt(), any(PropositionQuery.class)))
+                .thenReturn(List.of(new Cluster<>(props.get(0), List.<SimilarityResult<Proposition>>of())));
+        return repo;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static void click(PropositionsPanel panel, String className) {
+        var button = allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName(className))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no button ." + className));
+        ComponentTestSupport.click(button);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Select<Object> statusSelect(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Select<?> && c.hasClassName("status-filter"))
+                .map(c -> (Select<Object>) c)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private PropositionsPanel panel(PropositionRepository repo) {
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        panel.refresh();
+        return panel;
+    }
+
+    @Test
+    void togglingBackToClustersReusesTheSweep() {
+        var repo = repo();
+        var panel = panel(repo);
+
+        click(panel, "cluster-toggle");
+        click(panel, "cluster-toggle");
+        click(panel, "cluster-toggle");
+
+        verify(repo, times(1)).findClusters(anyDouble(), anyInt(), any(PropositionQuery.class));
+    }
+
+    @Test
+    void statusFilterRoundTripOnlySweepsEachFilterOnce() {
+        var repo = repo();
+        var panel = panel(repo);
+        click(panel, "cluster-toggle");
+        var select = statusSelect(panel);
+        var active = select.getValue();
+        var all = select.getListDataView().getItems().toList().get(1);
+
+        select.setValue(all);
+        select.setValue(active);
+        select.setValue(all);
+
+        verify(repo, times(2)).findClusters(anyDouble(), anyInt(), any(PropositionQuery.class));
+    }
+
+    @Test
+    void externalRefreshWithoutARevisionSweepsAgain() {
+        var repo = repo();
+        var panel = panel(repo);
+        click(panel, "cluster-toggle");
+
+        panel.refresh();
+
+        verify(repo, times(2)).findClusters(anyDouble(), anyInt(), any(PropositionQuery.class));
+    }
+
+    @Test
+    void revisionMarkerLetsRefreshReuseUntilItChanges() {
+        var repo = repo();
+        var revision = new AtomicLong(1);
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        panel.setRepositoryRevision(revision::get);
+        click(panel, "cluster-toggle");
+
+        panel.refresh();
+        verify(repo, times(1)).findClusters(anyDouble(), anyInt(), any(PropositionQuery.class));
+
+        revision.incrementAndGet();
+        panel.refresh();
+        verify(repo, times(2)).findClusters(anyDouble(), anyInt(), any(PropositionQuery.class));
+    }
+
+    @Test
+    void deletingFromTheClustersViewInvalidatesEvenWithAStableRevision() {
+        var repo = repo();
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        panel.setRepositoryRevision(() -> 1L);
+        panel.setOnDelete(id -> { });
+        click(panel, "cluster-toggle");
+
+        click(panel, "proposition-delete");
+        click(panel, "cluster-toggle");
+        click(panel, "cluster-toggle");
+
+        verify(repo, times(2)).findClusters(anyDouble(), anyInt(), any(PropositionQuery.class));
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.MemoryClusters.ClusterAdded;
+import com.embabel.vaadin.component.MemoryClusters.ClusterKind;
+import com.embabel.vaadin.component.MemoryClusters.ClusterMemberView;
+import com.embabel.vaadin.component.MemoryClusters.ClusterRemoved;
+import com.embabel.vaadin.component.MemoryClusters.ClusteredMemories;
+import com.embabel.vaadin.component.MemoryClusters.EdgeProvenance;
+import com.embabel.vaadin.component.MemoryClusters.EdgeProvenanceChanged;
+import com.embabel.vaadin.component.MemoryClusters.MemberAdded;
+import com.embabel.vaadin.component.MemoryClusters.MemberRemoved;
+import com.embabel.vaadin.component.MemoryClusters.MemoryClusterView;
+import com.embabel.vaadin.component.MemoryClusters.MemoryRemoved;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.embabel.vaadin.component.ComponentTestSupport.click;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Covers cluster deltas in provider-driven Clusters mode: a host-pushed change rebuilds only the
+ * containers it touches and moves memories in and out of the Unclustered section, without asking
+ * the clusters provider again — and a delta that doesn't fit falls back to a full reload.
+ */
+class PropositionsPanelClusterDeltasTest {
+
+    private static final String CTX = "ctx-1";
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+    private final AtomicInteger providerCalls = new AtomicInteger();
+
+    private final Proposition m1 = prop("m1", "Ben likes mountain hiking");
+    private final Proposition m2 = prop("m2", "Ben enjoys mountain hiking on weekdays");
+    private final Proposition m3 = prop("m3", "Ben likes walking through the Alps");
+    private final Proposition u1 = prop("u1", "Ben's favorite mountain range is the Rockies");
+    private final Proposition u2 = prop("u2", "Ben mentors junior hikers");
+
+    private Proposition prop(String id, String text) {
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                Instant.now(), Instant.now(), PropositionStatus.ACTIVE);
+    }
+
+    private ClusteredMemories snapshot() {
+        return new ClusteredMemories(List.of(
+                new MemoryClusterView("c1", "Mountain hiking", ClusterKind.AUTO, List.of(
+                        new ClusterMemberView(m1, EdgeProvenance.AUTO, "similar"),
+                        new ClusterMemberView(m2, EdgeProvenance.AUTO, "similar"))),
+                new MemoryClusterView("c2", "Alps", ClusterKind.MANUAL, List.of(
+                        new ClusterMemberView(m3, EdgeProvenance.MANUAL, "related")))),
+                List.of(u1, u2));
+    }
+
+    private PropositionsPanel clusteredPanel() {
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setContextId(CTX);
+        panel.setClustersProvider(() -> {
+            providerCalls.incrementAndGet();
+            return snapshot();
+        });
+        allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("cluster-toggle"))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow()
+                .click();
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static void delete(PropositionsPanel panel, String id) {
+        click(allComponents(card(panel, id)).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("proposition-delete"))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow());
+    }
+
+    private static List<Component> containers(PropositionsPanel panel) {
+        return allComponents(panel).stream().filter(c -> c.hasClassName("cluster-container")).toList();
+    }
+
+    private static List<String> cardIds(Component root) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> ((PropositionCard) c).getView().id())
+                .toList();
+    }
+
+    private static PropositionCard card(PropositionsPanel panel, String id) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .filter(c -> c.getView().id().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static PropositionCard editingCard(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .filter(card -> allComponents(card).stream().anyMatch(c -> c.hasClassName("proposition-edit-container")))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> unclusteredIds(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c.hasClassName("unclustered-member"))
+                .flatMap(c -> cardIds(c).stream())
+                .toList();
+    }
+
+    private static String text(PropositionsPanel panel, String className) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName(className))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void linkingAMemoryRebuildsOnlyItsClusterWithoutAskingTheProvider() {
+        var panel = clusteredPanel();
+        var before = containers(panel);
+        var untouchedCard = card(panel, "m3");
+
+        panel.applyClusterDeltas(List.of(new MemberAdded("c1", new ClusterMemberView(u1, EdgeProvenance.MANUAL, "related"))));
+
+        var after = containers(panel);
+        assertEquals(1, providerCalls.get(), "a delta must not fetch a new snapshot");
+        assertNotSame(before.get(0), after.get(0));
+        assertSame(before.get(1), after.get(1), "clusters the delta didn't touch keep their components");
+        assertSame(untouchedCard, card(panel, "m3"));
+        assertEquals(List.of("m1", "m2", "u1"), cardIds(after.get(0)));
+        assertEquals(List.of("u2"), unclusteredIds(panel));
+        assertEquals("Unclustered — 1 memory", text(panel, "section-label"));
+        assertTrue(panel.openEditor("u1"));
+        assertTrue(editingCard(panel).getParent().orElseThrow().hasClassName("member"),
+                "the registry points at the rebuilt card, not the unclustered one");
+    }
+
+    @Test
+    void unlinkingTheLastClusterReleasesMembersToUnclustered() {
+        var panel = clusteredPanel();
+
+        panel.applyClusterDeltas(List.of(new ClusterRemoved("c2"), new MemberRemoved("c1", "m2")));
+
+        assertEquals(1, containers(panel).size());
+        assertEquals(List.of("m1"), cardIds(containers(panel).get(0)));
+        assertEquals(List.of("u1", "u2", "m3", "m2"), unclusteredIds(panel));
+        assertEquals("(5 memories, 1 clusters)", text(panel, "panel-count"));
+        assertEquals(1, providerCalls.get());
+    }
+
+    @Test
+    void newClustersGoAfterTheExistingOnesAndRetiredMemoriesDisappear() {
+        var panel = clusteredPanel();
+
+        panel.applyClusterDeltas(List.of(
+                new ClusterAdded(new MemoryClusterView("c3", "Mentoring", ClusterKind.MANUAL, List.of(
+                        new ClusterMemberView(u2, EdgeProvenance.MANUAL, "related")))),
+                new MemoryRemoved("m2"),
+                new EdgeProvenanceChanged("c1", "m1", EdgeProvenance.MANUAL, null)));
+
+        var containers = containers(panel);
+        assertEquals(3, containers.size());
+        assertEquals(List.of("u2"), cardIds(containers.get(2)));
+        assertEquals(List.of("m1"), cardIds(containers.get(0)));
+        assertTrue(allComponents(containers.get(0)).stream()
+                .anyMatch(c -> c.hasClassName("member") && c.hasClassName("manual-edge")));
+        assertEquals(List.of("u1"), unclusteredIds(panel));
+        assertFalse(panel.openEditor("m2"), "a retired memory leaves the registry");
+    }
+
+    @Test
+    void deltasThatDontFitTheRenderedViewReload() {
+        var panel = clusteredPanel();
+
+        panel.applyClusterDeltas(List.of(new MemberRemoved("c9", "m1")));
+
+        assertEquals(2, providerCalls.get(), "an unknown cluster means the host and panel disagree");
+        assertEquals(2, containers(panel).size());
+    }
+
+    @Test
+    void deletingAMemoryRegroupsOnlyWhatHeldIt() {
+        var panel = clusteredPanel();
+        var deleted = new ArrayList<String>();
+        panel.setOnDelete(deleted::add);
+        panel.refresh();
+        int calls = providerCalls.get();
+        var untouched = containers(panel).get(1);
+
+        delete(panel, "m2");
+        delete(panel, "u1");
+
+        assertEquals(List.of("m2", "u1"), deleted);
+        assertEquals(calls, providerCalls.get(), "a delete must not fetch a new snapshot");
+        assertEquals(List.of("m1"), cardIds(containers(panel).get(0)));
+        assertSame(untouched, containers(panel).get(1));
+        assertEquals(List.of("u2"), unclusteredIds(panel));
+        assertEquals("Unclustered — 1 memory", text(panel, "section-label"));
+        assertEquals("(3 memories, 2 clusters)", text(panel, "panel-count"));
+        assertFalse(panel.openEditor("m2"));
+    }
+
+    @Test
+    void failedDeleteShowsTheMemoryWhereItWas() {
+        var panel = clusteredPanel();
+        panel.setOnDelete(id -> {
+            throw new IllegalStateException("store down");
+        });
+        panel.refresh();
+        var before = containers(panel);
+
+        delete(panel, "m2");
+
+        assertEquals(before, containers(panel));
+        assertTrue(card(panel, "m2").getParent().orElseThrow().isVisible());
+        assertEquals("(5 memories, 2 clusters)", text(panel, "panel-count"));
+    }
+
+    @Test
+    void deltasAreIgnoredOutsideTheProviderClustersView() {
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setContextId(CTX);
+        panel.setClustersProvider(() -> {
+            providerCalls.incrementAndGet();
+            return snapshot();
+        });
+
+        panel.applyClusterDeltas(List.of(new ClusterRemoved("c1")));
+
+        assertEquals(0, providerCalls.get());
+        assertFalse(allComponents(panel).stream().anyMatch(c -> c.hasClassName("cluster-container")));
+    }
+}
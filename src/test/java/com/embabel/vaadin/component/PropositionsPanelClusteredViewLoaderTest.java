@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.agent.rag.service.Cluster;
+import com.embabel.common.core.types.SimilarityResult;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.ClusteredViewLoader.ClusteredView;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the single-round-trip Clusters view: with a host loader set, the panel renders clusters,
+ * leftovers and the total from that one call and never goes back to the repository; without one,
+ * the repository fallback still picks the leftovers out of its query, newest first.
+ */
+class PropositionsPanelClusteredViewLoaderTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+
+    private static Proposition prop(String id, String text, int minutesAfterBase) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cluster<Proposition> cluster(Proposition anchor, Proposition similar) {
+        SimilarityResult<Proposition> sim = mock(SimilarityResult.class);
+        when(sim.getMatch()).thenReturn(similar);
+        when(sim.getScore()).thenReturn(0.9);
+        return new Cluster<>(anchor, List.of(sim));
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static void showClusters(PropositionsPanel panel) {
+        var toggle = allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("cluster-toggle"))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow();
+        ComponentUtil.fireEvent(toggle, new ClickEvent<>(toggle));
+    }
+
+    private static List<String> unclusteredIds(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c.hasClassName("unclustered-section"))
+                .flatMap(section -> allComponents(section).stream())
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> ((PropositionCard) c).getView().id())
+                .toList();
+    }
+
+    private static String countText(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("panel-count"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void hostLoaderReplacesBothRepositoryCalls() {
+        var repo = mock(PropositionRepository.class);
+        var a = prop("a", "Ana runs the guild", 1);
+        var b = prop("b", "Ana leads the guild", 2);
+        var c = prop("c", "Ben likes coffee", 3);
+        var loads = new AtomicInteger();
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        panel.setClusteredViewLoader((query, threshold, topK) -> {
+            loads.incrementAndGet();
+            return new ClusteredView(List.of(cluster(a, b)), List.of(c), 3);
+        });
+
+        showClusters(panel);
+
+        assertEquals(1, loads.get());
+        verify(repo, never()).findClusters(anyDouble(), anyInt(), any(PropositionQuery.class));
+        verify(repo, never()).query(any(PropositionQuery.class));
+        assertEquals(List.of("c"), unclusteredIds(panel));
+        assertEquals("(3 memories, 1 clusters)", countText(panel));
+    }
+
+    @Test
+    void repositoryFallbackFindsLeftoversNewestFirst() {
+        var a = prop("a", "Ana runs the guild", 1);
+        var b = prop("b", "Ana leads the guild", 2);
+        var c = prop("c", "Ben likes coffee", 3);
+        var d = prop("d", "Cy plays chess", 4);
+        var clusters = List.of(cluster(a, b));
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenReturn(List.of(a, b, c, d));
+        when(repo.findClusters(anyDouble(), anyInt(), any(PropositionQuery.class))).thenReturn(clusters);
+
+        var view = ClusteredViewLoader.of(repo).load(mock(PropositionQuery.class), 0.7, 10);
+
+        assertEquals(List.of(d, c), view.unclustered());
+        assertEquals(4, view.total());
+    }
+
+    @Test
+    void emptyViewFromTheLoaderShowsTheEmptyMessage() {
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setContextId(CTX);
+        panel.setClusteredViewLoader((query, threshold, topK) -> new ClusteredView(List.of(), List.of(), 0));
+
+        showClusters(panel);
+
+        assertEquals(List.of("No memories yet. Start a conversation and analyze it to build memories."),
+                allComponents(panel).stream()
+                        .filter(c -> c instanceof Span && c.hasClassName("panel-empty-message"))
+                        .map(c -> ((Span) c).getText())
+                        .toList());
+    }
+}
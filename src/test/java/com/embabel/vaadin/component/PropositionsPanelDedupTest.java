@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -38,7 +39,8 @@ import static org.mockito.Mockito.when;
 
 /**
  * Proves that scored display collapses near-identical texts (differing only by case,
- * whitespace, or trailing period) and renders dedup badges for collapsed results.
+ * whitespace, or trailing period) and renders dedup badges for collapsed results, and that a
+ * near-duplicate threshold extends the collapse to paraphrases.
  */
 class PropositionsPanelDedupTest {
 
@@ -175,6 +177,52 @@ class PropositionsPanelDedupTest {
                 "must show correct count for group with 3 items (survivor + 2 collapsed)");
     }
 
+    @Test
+    void nearDuplicateThresholdCollapsesParaphrases() {
+        var repo = mockRepo();
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setNearDuplicateThreshold(0.5);
+
+        var p1 = prop("p-1", "Alice has a cat named Tom", PropositionStatus.ACTIVE);
+        var p2 = prop("p-2", "Bob works in Melbourne", PropositionStatus.ACTIVE);
+        var p3 = prop("p-3", "Alice owns a cat named Tom.", PropositionStatus.ACTIVE);
+        var p4 = prop("p-4", "alice has a cat named tom", PropositionStatus.ACTIVE);
+
+        var results = List.of(
+                mockSimilarityResult(p1, 0.90),
+                mockSimilarityResult(p2, 0.85),
+                mockSimilarityResult(p3, 0.95),
+                mockSimilarityResult(p4, 0.80));
+
+        panel.showScoredPropositions(results);
+
+        assertEquals(List.of("p-3", "p-2"), renderedCardIds(panel),
+                "paraphrases fold into the highest-scored one, in the group's first position");
+        assertEquals(List.of("+2 similar"), dedupBadgeTexts(panel));
+    }
+
+    @Test
+    void paraphrasesStaySeparateByDefault() {
+        var repo = mockRepo();
+        var panel = new PropositionsPanel(repo, entityResolver);
+
+        var p1 = prop("p-1", "Alice has a cat named Tom", PropositionStatus.ACTIVE);
+        var p2 = prop("p-2", "Alice owns a cat named Tom", PropositionStatus.ACTIVE);
+
+        panel.showScoredPropositions(List.of(mockSimilarityResult(p1, 0.90), mockSimilarityResult(p2, 0.85)));
+
+        assertEquals(List.of("p-1", "p-2"), renderedCardIds(panel));
+        assertEquals(List.of(), dedupBadgeTexts(panel));
+    }
+
+    @Test
+    void nearDuplicateThresholdOutsideUnitIntervalIsRejected() {
+        var panel = new PropositionsPanel(mockRepo(), entityResolver);
+
+        assertThrows(IllegalArgumentException.class, () -> panel.setNearDuplicateThreshold(0.0));
+        assertThrows(IllegalArgumentException.class, () -> panel.setNearDuplicateThreshold(1.5));
+    }
+
     // --- mock helpers ---------------------------------------------------------------------------
 
     private static SimilarityResult<Proposition> mockSimilarityResult(Proposition proposition, double score) {
@@ -189,7 +237,7 @@ class PropositionsPanelDedupTest {
     private static List<String> renderedCardIds(Component root) {
         return allComponents(root).stream()
                 .filter(c -> c instanceof PropositionCard)
-                .map(c -> ((PropositionCard) c).getProposition().getId())
+                .map(c -> ((PropositionCard) c).getView().id())
                 .toList();
     }
 
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.MentionRole;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers click delegation: cards in the panel's content carry {@code data-id} and their controls
+ * {@code data-action} instead of click listeners of their own, and the panel's single listener
+ * dispatches to the right card — while a standalone card still handles its own clicks.
+ */
+class PropositionsPanelDelegatedClicksTest {
+
+    private static final String CTX = "ctx-1";
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+
+    private Proposition prop(String id, String text, EntityMention... mentions) {
+        var now = Instant.now();
+        return Proposition.create(
+                id, CTX, text, List.of(mentions), 0.9, 0.0, 0.5, null, List.of(),
+                now, now, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionsPanel panel(List<Proposition> props) {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenReturn(props);
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static PropositionCard card(PropositionsPanel panel, String id) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .filter(c -> c.getView().id().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Button button(Component root, String className) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof Button && c.hasClassName(className))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no button ." + className));
+    }
+
+    @Test
+    void cardsInTheContentCarryActionsInsteadOfListeners() {
+        var panel = panel(List.of(
+                prop("a", "Ana likes tea", new EntityMention("Ana", "Person", null, MentionRole.SUBJECT, Map.of())),
+                prop("b", "Ben likes coffee")));
+        panel.setOnDelete(id -> { });
+        panel.setOnEntityPillClick(name -> { });
+        panel.refresh();
+
+        var card = card(panel, "a");
+        var delete = button(card, "proposition-delete");
+        var pill = allComponents(card).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("mention-badge"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals("a", card.getElement().getAttribute("data-id"));
+        assertEquals("delete", delete.getElement().getAttribute("data-action"));
+        assertEquals("pill", pill.getElement().getAttribute("data-action"));
+        assertEquals("0", pill.getElement().getAttribute("data-value"));
+        assertTrue(pill.getElement().getNode().getFeatureIfInitialized(ElementListenerMap.class).isEmpty(),
+                "the panel's one listener handles the click, not the pill");
+    }
+
+    @Test
+    void dispatchReachesTheCardThatEnclosesTheControl() {
+        var deleted = new ArrayList<String>();
+        var pills = new ArrayList<String>();
+        var panel = panel(List.of(
+                prop("a", "Ana likes tea", new EntityMention("Ana", "Person", null, MentionRole.SUBJECT, Map.of())),
+                prop("b", "Ben likes coffee")));
+        panel.setOnDelete(deleted::add);
+        panel.setOnEntityPillClick(pills::add);
+        panel.refresh();
+
+        panel.dispatchAction(button(card(panel, "b"), "proposition-delete").getElement());
+        var pill = allComponents(card(panel, "a")).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("mention-badge"))
+                .findFirst()
+                .orElseThrow();
+        panel.dispatchAction(pill.getElement());
+
+        assertEquals(List.of("b"), deleted);
+        assertEquals(List.of("Ana"), pills);
+    }
+
+    @Test
+    void hiddenControlsIgnoreDispatchedClicks() {
+        var deleted = new ArrayList<String>();
+        var panel = panel(List.of(prop("a", "Ana likes tea")));
+        panel.setOnDelete(deleted::add);
+        panel.refresh();
+        var delete = button(card(panel, "a"), "proposition-delete");
+
+        delete.setVisible(false);
+        panel.dispatchAction(delete.getElement());
+
+        assertTrue(deleted.isEmpty(), "a client can't click what the server hid");
+    }
+
+    @Test
+    void standaloneCardsStillHandleTheirOwnClicks() {
+        var deleted = new ArrayList<String>();
+        var card = new PropositionCard(prop("a", "Ana likes tea"), entityResolver);
+        card.setOnDelete(p -> deleted.add(p.getId()));
+
+        var delete = button(card, "proposition-delete");
+        assertFalse(delete.getElement().hasAttribute("data-action"));
+        delete.click();
+
+        assertEquals(List.of("a"), deleted);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.agent.rag.service.Cluster;
+import com.embabel.common.core.types.SimilarityResult;
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.MentionRole;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers batch entity resolution: a render pass resolves every mentioned entity with one
+ * {@link EntityResolver#resolveAll} call, and pills, cluster headers and the instant filter all
+ * read from that batch instead of calling the resolver per mention.
+ */
+class PropositionsPanelEntityBatchTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    /** Resolves from a fixed map in batches only; a per-id call fails the test. */
+    private static final class BatchOnlyResolver implements EntityResolver {
+        final Map<String, NamedEntity> entities;
+        final List<Set<String>> batches = new ArrayList<>();
+
+        BatchOnlyResolver(Map<String, NamedEntity> entities) {
+            this.entities = entities;
+        }
+
+        @Override
+        public NamedEntity apply(String entityId) {
+            throw new AssertionError("resolver called per mention for " + entityId);
+        }
+
+        @Override
+        public Map<String, NamedEntity> resolveAll(Collection<String> entityIds) {
+            batches.add(Set.copyOf(entityIds));
+            var out = new java.util.HashMap<String, NamedEntity>();
+            entityIds.forEach(id -> {
+                if (entities.containsKey(id)) {
+                    out.put(id, entities.get(id));
+                }
+            });
+            return out;
+        }
+    }
+
+    private static NamedEntity entity(String id, String name) {
+        var entity = mock(NamedEntity.class);
+        when(entity.getId()).thenReturn(id);
+        when(entity.getName()).thenReturn(name);
+        return entity;
+    }
+
+    private static EntityMention mention(String span, String resolvedId) {
+        return new EntityMention(span, "Person", resolvedId, MentionRole.SUBJECT, Map.of());
+    }
+
+    private static Proposition prop(String id, String text, int minutesAfterBase, EntityMention... mentions) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(mentions), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    private static PropositionRepository repoWith(List<Proposition> props) {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenReturn(props);
+        return repo;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static List<String> textsWithClass(Component root, String className) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof Span && c.hasClassName(className))
+                .map(c -> ((Span) c).getText())
+                .toList();
+    }
+
+    @Test
+    void flatRenderResolvesEveryMentionInOneBatch() {
+        var resolver = new BatchOnlyResolver(Map.of("e1", entity("e1", "Priya Sharma"), "e2", entity("e2", "Ben Ortiz")));
+        var props = List.of(
+                prop("a", "Priya met Ben", 1, mention("Priya", "e1"), mention("Ben", "e2")),
+                prop("b", "Priya likes tea", 2, mention("Priya", "e1")),
+                prop("c", "Someone left", 3, mention("Ghost", "e9")));
+        var panel = new PropositionsPanel(repoWith(props), resolver);
+        panel.setContextId(CTX);
+
+        panel.refresh();
+
+        assertEquals(List.of(Set.of("e1", "e2", "e9")), resolver.batches);
+        assertTrue(textsWithClass(panel, "mention-badge").containsAll(List.of("Priya Sharma", "Ben Ortiz", "Ghost ?")));
+    }
+
+    @Test
+    void instantFilterMatchesNamesFromTheBatch() {
+        var resolver = new BatchOnlyResolver(Map.of("e1", entity("e1", "Priya Sharma")));
+        var props = List.of(
+                prop("a", "Organizes the guild lunch", 1, mention("Priya", "e1")),
+                prop("b", "Ben likes coffee", 2));
+        var panel = new PropositionsPanel(repoWith(props), resolver);
+        panel.setContextId(CTX);
+        panel.refresh();
+
+        panel.setSearchQuery("sharma");
+
+        var visible = allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard && c.isVisible())
+                .map(c -> ((PropositionCard) c).getView().id())
+                .toList();
+        assertEquals(List.of("a"), visible);
+        assertEquals(1, resolver.batches.size(), "filtering must not resolve anything again");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void clusterHeadersAndPillsShareOneBatch() {
+        var resolver = new BatchOnlyResolver(Map.of("e1", entity("e1", "Priya Sharma")));
+        var anchor = prop("a", "Priya runs the guild", 1, mention("Priya", "e1"));
+        var similar = prop("b", "Priya leads the guild", 2, mention("Priya", "e1"));
+        var loner = prop("c", "Ben likes coffee", 3);
+        var repo = repoWith(List.of(anchor, similar, loner));
+        SimilarityResult<Proposition> sim = mock(SimilarityResult.class);
+        when(sim.getMatch()).thenReturn(similar);
+        when(sim.getScore()).thenReturn(0.9);
+        when(repo.findClusters(anyDouble(), anyInt(), any(PropositionQuery.class)))
+                .thenReturn(List.of(new Cluster<>(anchor, List.of(sim))));
+        var panel = new PropositionsPanel(repo, resolver);
+        panel.setContextId(CTX);
+        var toggle = allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("cluster-toggle"))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow();
+
+        ComponentUtil.fireEvent(toggle, new ClickEvent<>(toggle));
+
+        assertEquals(List.of("Priya Sharma"), textsWithClass(panel, "cluster-head-chip"));
+        assertEquals(List.of(Set.of("e1")), resolver.batches);
+    }
+
+    @Test
+    void plainFunctionResolverStillWorks() {
+        var priya = entity("e1", "Priya Sharma");
+        Function<String, NamedEntity> resolver = id -> "e1".equals(id) ? priya : null;
+        var panel = new PropositionsPanel(repoWith(List.of(prop("a", "Priya met Ben", 1, mention("Priya", "e1")))), resolver);
+        panel.setContextId(CTX);
+
+        panel.refresh();
+
+        assertEquals(List.of("Priya Sharma"), textsWithClass(panel, "mention-badge"));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.MentionRole;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Span;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the keyed flat refresh: a refresh reconciles against the cards already on screen by
+ * proposition id — unchanged cards are the same instances afterwards, edited text is patched into
+ * the existing card, and only inserted or removed memories change the list.
+ */
+class PropositionsPanelKeyedRefreshTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+    private final AtomicReference<List<Proposition>> pool = new AtomicReference<>(List.of());
+
+    private Proposition prop(String id, String text, int minutesAfterBase) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    private Proposition propWithMention(String id, String text, int minutesAfterBase, String span) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        var mention = new EntityMention(span, "Person", null, MentionRole.SUBJECT, Map.of());
+        return Proposition.create(
+                id, CTX, text, List.of(mention), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionsPanel newPanel(CollapseExplanationProvider provider) {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> pool.get());
+        var panel = new PropositionsPanel(repo, entityResolver, provider);
+        panel.setContextId(CTX);
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static List<PropositionCard> cards(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .toList();
+    }
+
+    private static PropositionCard card(PropositionsPanel panel, String id) {
+        return cards(panel).stream()
+                .filter(c -> c.getView().id().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no card for " + id));
+    }
+
+    private static String text(PropositionCard card) {
+        return allComponents(card).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("proposition-text"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void unchangedRefreshKeepsEveryCardInstance() {
+        var panel = newPanel(null);
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+        var before = cards(panel);
+
+        panel.refresh();
+
+        var after = cards(panel);
+        assertEquals(2, after.size());
+        assertSame(before.get(0), after.get(0));
+        assertSame(before.get(1), after.get(1));
+    }
+
+    @Test
+    void deleteRemovesOnlyThatCardAndKeepsTheRest() {
+        var panel = newPanel(null);
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2), prop("c", "Cy likes juice", 3)));
+        panel.refresh();
+        var a = card(panel, "a");
+        var c = card(panel, "c");
+
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("c", "Cy likes juice", 3)));
+        panel.refresh();
+
+        var after = cards(panel);
+        assertEquals(2, after.size());
+        assertSame(c, after.get(0), "newest card stays first and is the same instance");
+        assertSame(a, after.get(1));
+    }
+
+    @Test
+    void newMemoryIsInsertedAtItsSortedPositionWithoutRebuildingOthers() {
+        var panel = newPanel(null);
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("c", "Cy likes juice", 3)));
+        panel.refresh();
+        var a = card(panel, "a");
+        var c = card(panel, "c");
+
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2), prop("c", "Cy likes juice", 3)));
+        panel.refresh();
+
+        var after = cards(panel);
+        assertEquals(List.of("c", "b", "a"), after.stream().map(x -> x.getView().id()).toList());
+        assertSame(c, after.get(0));
+        assertSame(a, after.get(2));
+    }
+
+    @Test
+    void editedTextIsPatchedIntoTheExistingCard() {
+        var panel = newPanel(null);
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+        var before = card(panel, "a");
+
+        pool.set(List.of(prop("a", "Ana loves green tea", 1)));
+        panel.refresh();
+
+        var after = card(panel, "a");
+        assertSame(before, after, "a text-only change must patch the card, not replace it");
+        assertEquals("Ana loves green tea", text(after));
+        assertEquals("Ana loves green tea", after.getView().text());
+    }
+
+    @Test
+    void changedMentionsReplaceTheCardAtTheSamePosition() {
+        var panel = newPanel(null);
+        pool.set(List.of(propWithMention("a", "Ana met Ben", 1, "Ben"), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+        var before = card(panel, "a");
+
+        pool.set(List.of(propWithMention("a", "Ana met Ben", 1, "Benjamin"), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        var after = cards(panel);
+        assertNotSame(before, after.get(1));
+        assertEquals("a", after.get(1).getView().id());
+    }
+
+    @Test
+    void changedCollapseExplanationRebuildsThatCard() {
+        var member = new CollapseExplanation.RetiredMember("r1", "retired", "ACTIVE", List.of(), List.of(), List.of());
+        var explanation = new CollapseExplanation("g1", "a", "Ana likes tea", "MERGE", List.of(member), List.of());
+        var explained = new AtomicReference<Optional<CollapseExplanation>>(Optional.empty());
+        var panel = newPanel(id -> "a".equals(id) ? explained.get() : Optional.empty());
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+        var a = card(panel, "a");
+        var b = card(panel, "b");
+
+        explained.set(Optional.of(explanation));
+        panel.refresh();
+
+        assertNotSame(a, card(panel, "a"), "a card must be rebuilt when its collapse badge would change");
+        assertSame(b, card(panel, "b"));
+    }
+
+    @Test
+    void changingCardWiringRebuildsInsteadOfReusingStaleHandlers() {
+        var panel = newPanel(null);
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+        var before = card(panel, "a");
+
+        panel.setOnDelete(id -> { });
+        panel.refresh();
+
+        assertNotSame(before, card(panel, "a"));
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.ComponentTestSupport.QueuedExecutor;
+import com.embabel.vaadin.component.MemoryClusters.ClusterKind;
+import com.embabel.vaadin.component.MemoryClusters.ClusterMemberView;
+import com.embabel.vaadin.component.MemoryClusters.ClusteredMemories;
+import com.embabel.vaadin.component.MemoryClusters.EdgeProvenance;
+import com.embabel.vaadin.component.MemoryClusters.LinkTarget;
+import com.embabel.vaadin.component.MemoryClusters.LinkTargetKind;
+import com.embabel.vaadin.component.MemoryClusters.MemoryClusterView;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the Link… popover's search: the built-in word-prefix match over the provider snapshot,
+ * per-query caching of the host's search, and host searches run on the background executor with
+ * newer queries cancelling older ones.
+ */
+class PropositionsPanelLinkSearchTest {
+
+    private static final String CTX = "ctx-1";
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+
+    @AfterEach
+    void clearUi() {
+        UI.setCurrent(null);
+    }
+
+    private Proposition prop(String id, String text) {
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                Instant.now(), Instant.now(), PropositionStatus.ACTIVE);
+    }
+
+    private ClusteredMemories snapshot(Proposition... unclustered) {
+        var cluster1 = new MemoryClusterView("c1", "Mountain hiking preferences", ClusterKind.AUTO, List.of(
+                new ClusterMemberView(prop("m1", "Ben likes mountain hiking"), EdgeProvenance.AUTO, "similar")));
+        var cluster2 = new MemoryClusterView("c2", "Alps trips", ClusterKind.MANUAL, List.of(
+                new ClusterMemberView(prop("m2", "Ben likes walking through the Alps"), EdgeProvenance.MANUAL, null)));
+        return new ClusteredMemories(List.of(cluster1, cluster2), List.of(unclustered));
+    }
+
+    private ClusteredMemories defaultSnapshot() {
+        return snapshot(
+                prop("u1", "Ben's favorite mountain range is the Rockies"),
+                prop("u2", "Ben mentors junior hikers"),
+                prop("u3", "Ana bought new hiking boots"));
+    }
+
+    private PropositionsPanel clusteredPanel(java.util.function.Supplier<ClusteredMemories> provider) {
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setContextId(CTX);
+        panel.setClustersProvider(provider);
+        allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("cluster-toggle"))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow()
+                .click();
+        return panel;
+    }
+
+    /** A UI whose session runs {@code access} commands straight away, as if the lock were free. */
+    private static void attach(PropositionsPanel panel) {
+        var ui = new UI();
+        var session = Mockito.mock(VaadinSession.class);
+        when(session.hasLock()).thenReturn(true);
+        when(session.access(any(Command.class))).thenAnswer(inv -> {
+            inv.<Command>getArgument(0).execute();
+            return null;
+        });
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        ui.add(panel);
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    /** Opens the Link… popover of the first unclustered card, the way the delegated click does. */
+    private static TextField openPopover(PropositionsPanel panel) {
+        var linkButton = allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("link-btn"))
+                .findFirst()
+                .orElseThrow();
+        panel.dispatchAction(linkButton.getElement());
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof TextField && c.hasClassName("p-search-input"))
+                .map(c -> (TextField) c)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> targetLabels(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("t-txt"))
+                .map(c -> ((Span) c).getText())
+                .toList();
+    }
+
+    @Test
+    void builtInSearchMatchesWordPrefixesInSnapshotOrder() {
+        var panel = clusteredPanel(this::defaultSnapshot);
+        var search = openPopover(panel);
+
+        assertEquals(List.of("Mountain hiking preferences (1 memories)", "Alps trips (1 memories)",
+                        "Ben mentors junior hikers", "Ana bought new hiking boots"),
+                targetLabels(panel), "a blank query offers everything but the memory itself");
+
+        search.setValue("HIK");
+        assertEquals(List.of("Mountain hiking preferences (1 memories)",
+                "Ben mentors junior hikers", "Ana bought new hiking boots"), targetLabels(panel));
+
+        search.setValue("hiking bo");
+        assertEquals(List.of("Ana bought new hiking boots"), targetLabels(panel),
+                "every query word must start some word of the target");
+
+        search.setValue("iking");
+        assertTrue(targetLabels(panel).isEmpty(), "matches start at word boundaries");
+    }
+
+    @Test
+    void builtInSearchShowsTheFirstRowsAndCountsTheRest() {
+        var memories = new ArrayList<Proposition>();
+        for (int i = 0; i < 120; i++) {
+            memories.add(prop("u" + i, "Memory number " + i));
+        }
+        var panel = clusteredPanel(() -> snapshot(memories.toArray(new Proposition[0])));
+        var search = openPopover(panel);
+
+        assertEquals(50, targetLabels(panel).size());
+        var more = allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("p-more"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+        assertTrue(more.startsWith("71 more"), more);
+
+        search.setValue("memory 11");
+        assertEquals(List.of("Memory number 11", "Memory number 110", "Memory number 111", "Memory number 112",
+                        "Memory number 113", "Memory number 114", "Memory number 115", "Memory number 116",
+                        "Memory number 117", "Memory number 118", "Memory number 119"),
+                targetLabels(panel));
+    }
+
+    @Test
+    void hostSearchIsAskedOncePerQueryUntilTheSnapshotChanges() {
+        var panel = clusteredPanel(this::defaultSnapshot);
+        var queries = new ArrayList<String>();
+        panel.setLinkTargetSearch(q -> {
+            queries.add(q);
+            return List.of(new LinkTarget(LinkTargetKind.ENTITY, "e-" + q, "Entity for " + q));
+        });
+        var search = openPopover(panel);
+        search.setValue("hik");
+        search.setValue("");
+        search.setValue("hik");
+
+        assertEquals(List.of("", "hik"), queries);
+        assertEquals(List.of("Entity for hik"), targetLabels(panel));
+
+        panel.refresh();
+        openPopover(panel).setValue("hik");
+        assertEquals(List.of("", "hik", "", "hik"), queries, "a new snapshot starts a fresh cache");
+    }
+
+    @Test
+    void backgroundHostSearchKeepsOnlyTheNewestQuery() {
+        var panel = clusteredPanel(this::defaultSnapshot);
+        attach(panel);
+        var executor = new QueuedExecutor();
+        panel.setBackgroundExecutor(executor);
+        var queries = new ArrayList<String>();
+        panel.setLinkTargetSearch(q -> {
+            queries.add(q);
+            return List.of(new LinkTarget(LinkTargetKind.ENTITY, "e-" + q, "Entity for " + q));
+        });
+
+        var search = openPopover(panel);
+        search.setValue("hi");
+        search.setValue("hik");
+        var rows = allComponents(panel).stream().filter(c -> c.hasClassName("p-targets")).findFirst().orElseThrow();
+        assertTrue(rows.hasClassName("searching"));
+        assertTrue(queries.isEmpty(), "the host's search must not run on the request thread");
+
+        executor.runAll();
+
+        assertEquals(List.of("hik"), queries, "superseded searches are cancelled before they start");
+        assertEquals(List.of("Entity for hik"), targetLabels(panel));
+        assertFalse(rows.hasClassName("searching"));
+
+        search.setValue("hi");
+        executor.runAll();
+        search.setValue("hik");
+        assertTrue(executor.tasks.isEmpty(), "a cached query answers straight away");
+        assertEquals(List.of("Entity for hik"), targetLabels(panel));
+    }
+}
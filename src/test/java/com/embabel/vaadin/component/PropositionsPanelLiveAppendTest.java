@@ -0,0 +1,268 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.select.Select;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers live append: memories pushed while extraction runs become cards at their newest-first
+ * place in the flat list, the count follows, and the store isn't queried again.
+ */
+class PropositionsPanelLiveAppendTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+    private final AtomicReference<List<Proposition>> pool = new AtomicReference<>(List.of());
+    private final PropositionRepository repo = mock(PropositionRepository.class);
+
+    private Proposition prop(String id, int minutesAfterBase, PropositionStatus status) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, "Memory " + id, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, status);
+    }
+
+    private Proposition prop(String id, int minutesAfterBase) {
+        return prop(id, minutesAfterBase, PropositionStatus.ACTIVE);
+    }
+
+    @AfterEach
+    void clearUi() {
+        UI.setCurrent(null);
+    }
+
+    private PropositionsPanel newPanel() {
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> pool.get());
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        return panel;
+    }
+
+    @Test
+    void appendedMemoriesLandInNewestFirstOrderWithoutARequery() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", 1), prop("c", 3)));
+        panel.refresh();
+        var existing = cards(panel);
+
+        panel.appendPropositions(List.of(prop("b", 2), prop("d", 4)));
+
+        assertEquals(List.of("d", "c", "b", "a"), ids(panel));
+        assertSame(existing.get(0), card(panel, "c"), "cards already showing stay as they are");
+        assertSame(existing.get(1), card(panel, "a"));
+        assertEquals("(4 memories)", countText(panel));
+        verify(repo, times(1)).query(any(PropositionQuery.class));
+    }
+
+    @Test
+    void firstAppendReplacesTheEmptyState() {
+        var panel = newPanel();
+        panel.refresh();
+
+        panel.appendPropositions(List.of(prop("a", 1)));
+
+        assertEquals(List.of("a"), ids(panel));
+        assertTrue(allComponents(panel).stream().noneMatch(c -> c.hasClassName("panel-empty-message")));
+    }
+
+    @Test
+    void shownAndFilteredOutMemoriesAreSkipped() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", 1)));
+        panel.refresh();
+
+        panel.appendPropositions(List.of(prop("a", 1), prop("s", 2, PropositionStatus.STALE)));
+
+        assertEquals(List.of("a"), ids(panel));
+    }
+
+    @Test
+    void allViewTakesMemoriesOfAnyStatus() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", 1)));
+        panel.refresh();
+        selectView(panel, "All");
+
+        panel.appendPropositions(List.of(prop("s", 2, PropositionStatus.STALE), prop("b", 3)));
+
+        assertEquals(List.of("b", "s", "a"), ids(panel));
+        assertEquals("(3 memories)", countText(panel));
+    }
+
+    @Test
+    void memorySectionAppendsWhatAPublisherEmits() {
+        var ui = withUi();
+        var section = memorySection();
+        ui.add(section);
+        var publisher = new ManualPublisher();
+
+        section.appendFrom(publisher);
+        publisher.subscriber.onNext(prop("a", 1));
+        publisher.subscriber.onNext(prop("b", 2));
+        publisher.subscriber.onComplete();
+
+        assertEquals(List.of("b", "a"), ids(section));
+        assertEquals("(2 memories)", countText(section));
+    }
+
+    @Test
+    void itemsEmittedBeforeAttachWaitForTheUi() {
+        var section = memorySection();
+        var publisher = new ManualPublisher();
+
+        section.appendFrom(publisher);
+        publisher.subscriber.onNext(prop("a", 1));
+        publisher.subscriber.onComplete();
+
+        assertEquals(List.of(), ids(section), "nothing touches the section before it has a UI");
+
+        withUi().add(section);
+
+        assertEquals(List.of("a"), ids(section));
+    }
+
+    @Test
+    void detachCancelsTheSubscription() {
+        var ui = withUi();
+        var section = memorySection();
+        ui.add(section);
+        var publisher = new ManualPublisher();
+        section.appendFrom(publisher);
+
+        ui.remove(section);
+
+        assertTrue(publisher.cancelled);
+    }
+
+    private MemorySection memorySection() {
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> pool.get());
+        var section = new MemorySection(repo, entityResolver, () -> CTX, null, null, null);
+        section.refresh();
+        return section;
+    }
+
+    /** A publisher the test drives by hand, on the test thread. */
+    private static final class ManualPublisher implements Flow.Publisher<Proposition> {
+        Flow.Subscriber<? super Proposition> subscriber;
+        boolean cancelled;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Proposition> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    // --- helpers ---------------------------------------------------------------------------
+
+    private static UI withUi() {
+        var ui = new UI();
+        var session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.hasLock()).thenReturn(true);
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void selectView(Component root, String label) {
+        var select = allComponents(root).stream()
+                .filter(c -> c instanceof Select && c.hasClassName("status-filter"))
+                .map(c -> (Select<Object>) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("status-filter Select not found"));
+        select.setValue(select.getListDataView().getItems()
+                .filter(i -> label.equals(select.getItemLabelGenerator().apply(i)))
+                .findFirst()
+                .orElseThrow());
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static List<PropositionCard> cards(Component root) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .toList();
+    }
+
+    private static PropositionCard card(Component root, String id) {
+        return cards(root).stream()
+                .filter(c -> c.getView().id().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no card for " + id));
+    }
+
+    private static List<String> ids(Component root) {
+        return cards(root).stream().map(c -> c.getView().id()).toList();
+    }
+
+    private static String countText(Component root) {
+        return allComponents(root).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("panel-count"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("count badge span not found"));
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.common.core.types.SimilarityResult;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.ComponentTestSupport.QueuedExecutor;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.textfield.TextArea;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers optimistic mutations: delete and edit change the card at once without re-querying or
+ * rebuilding the rest of the list, the write can run on the background executor, and a failed
+ * write puts the card back the way it was. Undo merge hides its affordance straight away and
+ * restores it if the undo fails.
+ */
+class PropositionsPanelOptimisticMutationTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @AfterEach
+    void clearUi() {
+        UI.setCurrent(null);
+    }
+
+    private static Proposition prop(String id, String text, int minutesAfterBase) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionsPanel panel(CollapseExplanationProvider provider, Proposition... props) {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> {
+            queries.incrementAndGet();
+            return List.of(props);
+        });
+        when(repo.findById(any())).thenAnswer(inv -> Arrays.stream(props)
+                .filter(p -> p.getId().equals(inv.getArgument(0)))
+                .findFirst()
+                .orElse(null));
+        var panel = new PropositionsPanel(repo, entityResolver, provider);
+        panel.setContextId(CTX);
+        return panel;
+    }
+
+    /** A UI whose session runs {@code access} commands straight away, as if the lock were free. */
+    private static UI withUi() {
+        var ui = new UI();
+        var session = Mockito.mock(VaadinSession.class);
+        when(session.hasLock()).thenReturn(true);
+        when(session.access(any(Command.class))).thenAnswer(inv -> {
+            inv.<Command>getArgument(0).execute();
+            return null;
+        });
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static List<PropositionCard> cards(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard)
+                .map(c -> (PropositionCard) c)
+                .toList();
+    }
+
+    private static PropositionCard card(PropositionsPanel panel, String id) {
+        return cards(panel).stream()
+                .filter(c -> c.getView().id().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void click(Component root, String className) {
+        var button = allComponents(root).stream()
+                .filter(c -> c instanceof Button && c.hasClassName(className))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no button ." + className));
+        ComponentTestSupport.click(button);
+    }
+
+    private static String countText(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("panel-count"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void saveEdit(PropositionCard card, String newText) {
+        card.openEditor();
+        allComponents(card).stream()
+                .filter(c -> c instanceof TextArea)
+                .map(c -> (TextArea) c)
+                .findFirst()
+                .orElseThrow()
+                .setValue(newText);
+        var save = allComponents(card).stream()
+                .filter(c -> c instanceof Button && "Save".equals(((Button) c).getText()))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow();
+        ComponentUtil.fireEvent(save, new ClickEvent<>(save));
+    }
+
+    @Test
+    void deleteRemovesOnlyThatCardWithoutRequerying() {
+        var panel = panel(null, prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2),
+                prop("c", "Cy plays chess", 3));
+        var deleted = new ArrayList<String>();
+        panel.setOnDelete(deleted::add);
+        panel.refresh();
+        var a = card(panel, "a");
+        var c = card(panel, "c");
+
+        click(card(panel, "b"), "proposition-delete");
+
+        assertEquals(List.of("b"), deleted);
+        assertEquals(1, queries.get(), "a delete must not re-query the store");
+        assertEquals(List.of(c, a), cards(panel));
+        assertEquals("(2 memories)", countText(panel));
+        assertFalse(panel.openEditor("b"));
+    }
+
+    @Test
+    void failedDeletePutsTheCardBackWhereItWas() {
+        var panel = panel(null, prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2),
+                prop("c", "Cy plays chess", 3));
+        panel.setOnDelete(id -> {
+            throw new IllegalStateException("store down");
+        });
+        panel.refresh();
+        var before = cards(panel);
+
+        click(card(panel, "b"), "proposition-delete");
+
+        assertEquals(before, cards(panel));
+        assertEquals("(3 memories)", countText(panel));
+        assertTrue(panel.openEditor("b"));
+    }
+
+    @Test
+    void deleteThatThrowsAnErrorStillPutsTheCardBack() {
+        var panel = panel(null, prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2));
+        panel.setOnDelete(id -> {
+            throw new Error("store crashed");
+        });
+        panel.refresh();
+
+        assertThrows(Error.class, () -> click(card(panel, "b"), "proposition-delete"));
+
+        assertTrue(panel.openEditor("b"));
+        assertEquals("(2 memories)", countText(panel));
+    }
+
+    @Test
+    void backgroundDeleteRemovesTheCardBeforeTheWriteRuns() {
+        var executor = new QueuedExecutor();
+        var panel = panel(null, prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2));
+        var deleted = new ArrayList<String>();
+        panel.setOnDelete(deleted::add);
+        panel.refresh();
+        panel.setWriteExecutor(executor);
+        withUi().add(panel);
+
+        click(card(panel, "b"), "proposition-delete");
+
+        assertTrue(deleted.isEmpty(), "the write must not run on the request thread");
+        assertEquals(List.of("a"), cards(panel).stream().map(c -> c.getView().id()).toList());
+
+        executor.runAll();
+
+        assertEquals(List.of("b"), deleted);
+        assertEquals(List.of("a"), cards(panel).stream().map(c -> c.getView().id()).toList());
+    }
+
+    @Test
+    void backgroundLoadExecutorAloneKeepsWritesOnTheRequestThread() {
+        var executor = new QueuedExecutor();
+        var panel = panel(null, prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2));
+        var deleted = new ArrayList<String>();
+        panel.setOnDelete(deleted::add);
+        panel.refresh();
+        panel.setBackgroundExecutor(executor);
+        withUi().add(panel);
+
+        click(card(panel, "b"), "proposition-delete");
+
+        assertEquals(List.of("b"), deleted, "writes only leave the request thread with a write executor");
+        assertTrue(executor.tasks.isEmpty());
+    }
+
+    @Test
+    void failedBackgroundDeleteRestoresTheCard() {
+        var executor = new QueuedExecutor();
+        var panel = panel(null, prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2));
+        panel.setOnDelete(id -> {
+            throw new IllegalStateException("store down");
+        });
+        panel.refresh();
+        var before = cards(panel);
+        panel.setWriteExecutor(executor);
+        withUi().add(panel);
+
+        click(card(panel, "b"), "proposition-delete");
+        executor.runAll();
+
+        assertEquals(before, cards(panel));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scoredDeleteTakesTheWrapperWithIt() {
+        var panel = panel(null);
+        panel.setOnDelete(id -> { });
+        SimilarityResult<Proposition> first = mock(SimilarityResult.class);
+        when(first.getMatch()).thenReturn(prop("a", "Ana likes tea", 1));
+        when(first.getScore()).thenReturn(0.9);
+        SimilarityResult<Proposition> second = mock(SimilarityResult.class);
+        when(second.getMatch()).thenReturn(prop("b", "Ben likes coffee", 2));
+        when(second.getScore()).thenReturn(0.8);
+        panel.showScoredPropositions(List.of(first, second));
+
+        click(card(panel, "a"), "proposition-delete");
+
+        assertEquals(1, allComponents(panel).stream().filter(c -> c.hasClassName("scored-card-wrapper")).count());
+        assertEquals("(1 relevant)", countText(panel));
+    }
+
+    @Test
+    void failedEditPatchesTheOldTextBack() {
+        var panel = panel(null, prop("a", "Ana likes tea", 1));
+        panel.setOnEdit(p -> {
+            throw new IllegalStateException("store down");
+        });
+        panel.refresh();
+        var card = card(panel, "a");
+
+        saveEdit(card, "Ana loves tea");
+
+        assertSame(card, card(panel, "a"));
+        assertEquals("Ana likes tea", card.getView().text());
+    }
+
+    @Test
+    void savedEditKeepsTheNewTextWithoutRequerying() {
+        var panel = panel(null, prop("a", "Ana likes tea", 1));
+        var saved = new ArrayList<String>();
+        panel.setOnEdit(p -> saved.add(p.getText()));
+        panel.refresh();
+        var card = card(panel, "a");
+
+        saveEdit(card, "Ana loves tea");
+
+        assertEquals(List.of("Ana loves tea"), saved);
+        assertEquals("Ana loves tea", card.getView().text());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void editOfAMemoryThatMovedOnInTheStoreReRendersIt() {
+        var shown = prop("a", "Ana likes tea", 1);
+        var stored = new AtomicReference<>(shown);
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> {
+            queries.incrementAndGet();
+            return List.of(stored.get());
+        });
+        when(repo.findById("a")).thenAnswer(inv -> stored.get());
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setContextId(CTX);
+        panel.setOnEdit(stored::set);
+        panel.refresh();
+        // Re-extracted since the card was rendered: same memory, newer created time.
+        stored.set(prop("a", "Ana likes tea", 5));
+
+        saveEdit(card(panel, "a"), "Ana loves tea");
+
+        assertEquals("Ana loves tea", stored.get().getText());
+        assertEquals(2, queries.get(), "the card couldn't be patched, so the list re-renders");
+        assertEquals(stored.get().getCreated(), card(panel, "a").getView().created());
+        assertEquals("Ana loves tea", card(panel, "a").getView().text());
+    }
+
+    @Test
+    void failedUndoMergeBringsTheAffordanceBack() {
+        var explanation = new CollapseExplanation("group-1", "a", "Ana likes tea", "MERGE",
+                List.of(new CollapseExplanation.RetiredMember("r", "Ana likes green tea", "ACTIVE",
+                        List.of(), List.of(), List.of())),
+                List.of());
+        CollapseExplanationProvider provider = id -> "a".equals(id) ? Optional.of(explanation) : Optional.empty();
+        var panel = panel(provider, prop("a", "Ana likes tea", 1));
+        panel.setOnUndoMember((survivor, retired) -> {
+            throw new IllegalStateException("store down");
+        });
+        panel.refresh();
+        var card = card(panel, "a");
+
+        click(card, "undo-merge-link");
+
+        assertTrue(card.getCollapseBadge().isVisible());
+        assertTrue(allComponents(card).stream()
+                .anyMatch(c -> c.hasClassName("undo-merge-link") && c.isVisible()));
+        assertEquals(1, queries.get(), "a failed undo must not reload");
+    }
+
+    @Test
+    void undoMergeLinkUsesOneBatchCallAndOneAfterUndoEvent() {
+        var explanation = new CollapseExplanation("group-1", "a", "Ana likes tea", "MERGE",
+                List.of(new CollapseExplanation.RetiredMember("r1", "Ana likes green tea", "ACTIVE",
+                                List.of(), List.of(), List.of()),
+                        new CollapseExplanation.RetiredMember("r2", "Ana enjoys tea", "ACTIVE",
+                                List.of(), List.of(), List.of())),
+                List.of());
+        CollapseExplanationProvider provider = id -> "a".equals(id) ? Optional.of(explanation) : Optional.empty();
+        var panel = panel(provider, prop("a", "Ana likes tea", 1));
+        var perMember = new ArrayList<String>();
+        var batches = new ArrayList<List<String>>();
+        var afterBatches = new ArrayList<List<String>>();
+        panel.setOnUndoMember((survivor, retired) -> perMember.add(retired));
+        panel.setOnUndoMembers((survivor, retired) -> batches.add(retired));
+        panel.setOnAfterUndoMembers((survivor, retired) -> afterBatches.add(retired));
+        panel.refresh();
+
+        click(card(panel, "a"), "undo-merge-link");
+
+        assertEquals(List.of(List.of("r1", "r2")), batches);
+        assertEquals(List.of(List.of("r1", "r2")), afterBatches);
+        assertTrue(perMember.isEmpty());
+        assertEquals(2, queries.get(), "one reload after the whole collapse is restored");
+    }
+}
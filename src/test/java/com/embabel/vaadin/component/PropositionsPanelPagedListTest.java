@@ -0,0 +1,251 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.provider.Query;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the paged flat mode: with a {@link PropositionPager} set, refresh must never load the
+ * whole context through {@code PropositionRepository.query}, the header count must come from the
+ * pager's store-side count, and pages must be fetched with the window the list asks for.
+ */
+class PropositionsPanelPagedListTest {
+
+    private static final String CTX = "ctx-1";
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+
+    private Proposition prop(String id, String text) {
+        var now = Instant.now();
+        return Proposition.create(
+                id, CTX, text, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                now, now, PropositionStatus.ACTIVE);
+    }
+
+    /** Serves pages out of a fixed newest-first list and records every request it was handed. */
+    private static final class RecordingPager implements PropositionPager {
+        final List<Proposition> rows;
+        final List<PageRequest> requests = new ArrayList<>();
+        int countCalls;
+
+        RecordingPager(List<Proposition> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public List<Proposition> page(PageRequest request) {
+            requests.add(request);
+            int from = Math.min(request.offset(), rows.size());
+            int to = Math.min(request.offset() + request.limit(), rows.size());
+            return rows.subList(from, to);
+        }
+
+        @Override
+        public int count(PropositionQuery query) {
+            countCalls++;
+            return rows.size();
+        }
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VirtualList<Proposition> pagedList(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof VirtualList<?>)
+                .map(c -> (VirtualList<Proposition>) c)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("expected a virtual list once a pager is set"));
+    }
+
+    private static String countText(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("panel-count"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void refreshUsesStoreCountAndNeverLoadsTheWholeContext() {
+        var repo = mock(PropositionRepository.class);
+        var pager = new RecordingPager(List.of(prop("p1", "newest"), prop("p2", "middle"), prop("p3", "oldest")));
+
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setPropositionPager(pager);
+        panel.setContextId(CTX);
+        panel.refresh();
+
+        verify(repo, never()).query(any(PropositionQuery.class));
+        assertEquals(1, pager.countCalls);
+        assertEquals("(3 memories)", countText(panel));
+        assertTrue(pagedList(panel).isVisible(), "paged flat mode must show the virtual list");
+        assertTrue(allComponents(panel).stream().noneMatch(c -> c instanceof PropositionCard),
+                "no card may be built before the list asks for a row");
+    }
+
+    @Test
+    void listFetchesTheRequestedWindowWithTheStatusFilterOnTheQuery() {
+        var rows = List.of(prop("p1", "one"), prop("p2", "two"), prop("p3", "three"), prop("p4", "four"));
+        var pager = new RecordingPager(rows);
+
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setPropositionPager(pager);
+        panel.setContextId(CTX);
+        panel.refresh();
+
+        var fetched = pagedList(panel).getDataProvider()
+                .fetch(new Query<>(1, 2, List.of(), null, null))
+                .toList();
+
+        assertEquals(List.of("p2", "p3"), fetched.stream().map(Proposition::getId).toList());
+        var request = pager.requests.get(pager.requests.size() - 1);
+        assertEquals(1, request.offset());
+        assertEquals(2, request.limit());
+        assertEquals(Set.of(PropositionStatus.ACTIVE), request.query().getStatuses(),
+                "the page query must carry the panel's status filter so the store applies it");
+    }
+
+    @Test
+    void explanationsAreResolvedOncePerFetchedPage() {
+        var pager = new RecordingPager(List.of(prop("p1", "one"), prop("p2", "two"), prop("p3", "three")));
+        var batches = new ArrayList<List<String>>();
+        var provider = new CollapseExplanationProvider() {
+            @Override
+            public Optional<CollapseExplanation> explain(String propositionId) {
+                throw new AssertionError("explain must not be called from the paged render path");
+            }
+
+            @Override
+            public Map<String, CollapseExplanation> explainAll(Collection<String> propositionIds) {
+                batches.add(List.copyOf(propositionIds));
+                return Map.of();
+            }
+        };
+
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver, provider);
+        panel.setPropositionPager(pager);
+        panel.setContextId(CTX);
+        panel.refresh();
+        pagedList(panel).getDataProvider().fetch(new Query<>(0, 2, List.of(), null, null)).toList();
+
+        assertEquals(List.of(List.of("p1", "p2")), batches);
+    }
+
+    @Test
+    void emptyCountShowsTheEmptyMessageInsteadOfTheList() {
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setPropositionPager(new RecordingPager(List.of()));
+        panel.setContextId(CTX);
+        panel.refresh();
+
+        assertEquals("(0 memories)", countText(panel));
+        assertFalse(pagedList(panel).isVisible());
+        assertTrue(allComponents(panel).stream()
+                .anyMatch(c -> c instanceof Span && c.hasClassName("panel-empty-message") && c.isVisible()));
+    }
+
+    @Test
+    void clearingThePagerFallsBackToTheFullFlatList() {
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class)))
+                .thenReturn(List.of(prop("p1", "one"), prop("p2", "two")));
+
+        var panel = new PropositionsPanel(repo, entityResolver);
+        panel.setPropositionPager(new RecordingPager(List.of(prop("x", "paged"))));
+        panel.setContextId(CTX);
+        panel.refresh();
+        panel.setPropositionPager(null);
+        panel.refresh();
+
+        assertFalse(pagedList(panel).isVisible());
+        assertEquals(2, allComponents(panel).stream().filter(c -> c instanceof PropositionCard).count());
+    }
+
+    @Test
+    void lightweightCardsRenderPagedRowsAsMemoryCardsWiredToThePanel() {
+        var rows = List.of(prop("p1", "one"), prop("p2", "two"));
+        var deleted = new ArrayList<String>();
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setPropositionPager(new RecordingPager(rows));
+        panel.setOnDelete(deleted::add);
+        panel.setContextId(CTX);
+        panel.refresh();
+
+        assertTrue(panel.renderPagedRow(rows.get(0)) instanceof PropositionCard);
+
+        panel.setLightweightCards(true);
+        var row = panel.renderPagedRow(rows.get(0));
+
+        assertTrue(row instanceof MemoryCard);
+        ((MemoryCard) row).dispatch("delete", "");
+        assertEquals(List.of("p1"), deleted);
+    }
+
+    @Test
+    void failedLightweightDeleteShowsTheHiddenRowAgain() {
+        var rows = List.of(prop("p1", "one"));
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setPropositionPager(new RecordingPager(rows));
+        panel.setOnDelete(id -> {
+            throw new IllegalStateException("store down");
+        });
+        panel.setContextId(CTX);
+        panel.refresh();
+        panel.setLightweightCards(true);
+        var row = (MemoryCard) panel.renderPagedRow(rows.get(0));
+
+        row.dispatch("delete", "");
+
+        assertTrue(row.isVisible(), "the row is put back, as the notification says");
+    }
+}
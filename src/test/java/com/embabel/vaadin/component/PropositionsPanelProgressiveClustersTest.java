@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.agent.rag.service.Cluster;
+import com.embabel.common.core.types.SimilarityResult;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.embabel.vaadin.component.ClusteredViewLoader.ClusteredView;
+import com.embabel.vaadin.component.ComponentTestSupport.QueuedExecutor;
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers progressive Clusters rendering: with a background executor, a big view shows its first
+ * screenful of clusters straight away behind a "loading more" marker and streams the rest in
+ * later {@code ui.access} batches; a newer refresh stops a stream; without an executor the whole
+ * view still renders at once.
+ */
+class PropositionsPanelProgressiveClustersTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+    private static final int CLUSTERS = 30;
+
+    private final Function<String, NamedEntity> entityResolver = id -> null;
+
+    @AfterEach
+    void clearUi() {
+        UI.setCurrent(null);
+    }
+
+    private static Proposition prop(String id, int minutesAfterBase) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, "Memory " + id, List.of(), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ClusteredView bigView() {
+        var clusters = new ArrayList<Cluster<Proposition>>();
+        for (int i = 0; i < CLUSTERS; i++) {
+            SimilarityResult<Proposition> sim = mock(SimilarityResult.class);
+            when(sim.getMatch()).thenReturn(prop("s" + i, i));
+            when(sim.getScore()).thenReturn(0.9);
+            clusters.add(new Cluster<>(prop("a" + i, i), List.of(sim)));
+        }
+        return new ClusteredView(clusters, List.of(prop("loner", 99)), CLUSTERS * 2 + 1);
+    }
+
+    /** A UI whose session runs {@code access} commands straight away, as if the lock were free. */
+    private static UI withUi() {
+        var ui = new UI();
+        var session = Mockito.mock(VaadinSession.class);
+        when(session.hasLock()).thenReturn(true);
+        when(session.access(any(Command.class))).thenAnswer(inv -> {
+            inv.<Command>getArgument(0).execute();
+            return null;
+        });
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    private PropositionsPanel panel(Executor executor) {
+        var view = bigView();
+        var panel = new PropositionsPanel(mock(PropositionRepository.class), entityResolver);
+        panel.setContextId(CTX);
+        panel.setClusteredViewLoader((query, threshold, topK) -> view);
+        panel.setBackgroundExecutor(executor);
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static long count(PropositionsPanel panel, String className) {
+        return allComponents(panel).stream().filter(c -> c.hasClassName(className)).count();
+    }
+
+    private static void toggleClusters(PropositionsPanel panel) {
+        var toggle = allComponents(panel).stream()
+                .filter(c -> c instanceof Button && c.hasClassName("cluster-toggle"))
+                .map(c -> (Button) c)
+                .findFirst()
+                .orElseThrow();
+        ComponentUtil.fireEvent(toggle, new ClickEvent<>(toggle));
+    }
+
+    @Test
+    void firstScreenfulLandsBeforeTheRestStreamsIn() {
+        var executor = new QueuedExecutor();
+        var panel = panel(executor);
+        withUi().add(panel);
+
+        toggleClusters(panel);
+        executor.runAll();
+
+        long firstScreen = count(panel, "cluster-container");
+        assertTrue(firstScreen > 0 && firstScreen < CLUSTERS, "only the first screenful, got " + firstScreen);
+        assertEquals(1, count(panel, "cluster-stream-marker"));
+        assertEquals(0, count(panel, "unclustered-section"));
+
+        executor.drain();
+
+        assertEquals(CLUSTERS, count(panel, "cluster-container"));
+        assertEquals(1, count(panel, "unclustered-section"));
+        assertEquals(0, count(panel, "cluster-stream-marker"));
+    }
+
+    @Test
+    void newerRefreshStopsAStream() {
+        var executor = new QueuedExecutor();
+        var panel = panel(executor);
+        withUi().add(panel);
+        toggleClusters(panel);
+        executor.runAll();
+        var pendingBatch = new ArrayList<>(executor.tasks);
+        executor.tasks.clear();
+
+        toggleClusters(panel);
+        executor.drain();
+        pendingBatch.forEach(Runnable::run);
+
+        assertEquals(0, count(panel, "cluster-container"));
+        assertEquals(0, count(panel, "cluster-stream-marker"));
+    }
+
+    @Test
+    void withoutAnExecutorEverythingRendersAtOnce() {
+        var panel = panel(null);
+        withUi().add(panel);
+
+        toggleClusters(panel);
+
+        assertEquals(CLUSTERS, count(panel, "cluster-container"));
+        assertEquals(1, count(panel, "unclustered-section"));
+        assertFalse(count(panel, "cluster-stream-marker") > 0);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.embabel.agent.rag.model.NamedEntity;
+import com.embabel.dice.proposition.EntityMention;
+import com.embabel.dice.proposition.MentionRole;
+import com.embabel.dice.proposition.Proposition;
+import com.embabel.dice.proposition.PropositionQuery;
+import com.embabel.dice.proposition.PropositionRepository;
+import com.embabel.dice.proposition.PropositionStatus;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Span;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the instant filter's search index: keystrokes must not call back into the entity
+ * resolver, matching must stay a plain case-insensitive substring test over text and entity
+ * names, and a refresh must rebuild the index so new text is searchable.
+ */
+class PropositionsPanelSearchIndexTest {
+
+    private static final String CTX = "ctx-1";
+    private static final Instant BASE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final AtomicInteger resolverCalls = new AtomicInteger();
+    private final AtomicReference<List<Proposition>> pool = new AtomicReference<>(List.of());
+
+    private Proposition prop(String id, String text, int minutesAfterBase, EntityMention... mentions) {
+        var created = BASE.plusSeconds(minutesAfterBase * 60L);
+        return Proposition.create(
+                id, CTX, text, List.of(mentions), 0.9, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+    }
+
+    private PropositionsPanel newPanel() {
+        var priya = mock(NamedEntity.class);
+        when(priya.getId()).thenReturn("ent-1");
+        when(priya.getName()).thenReturn("Priya Sharma");
+        Function<String, NamedEntity> resolver = id -> {
+            resolverCalls.incrementAndGet();
+            return "ent-1".equals(id) ? priya : null;
+        };
+        var repo = mock(PropositionRepository.class);
+        when(repo.query(any(PropositionQuery.class))).thenAnswer(inv -> pool.get());
+        var panel = new PropositionsPanel(repo, resolver);
+        panel.setContextId(CTX);
+        return panel;
+    }
+
+    private static List<Component> allComponents(Component root) {
+        var out = new ArrayList<Component>();
+        collect(root, out);
+        return out;
+    }
+
+    private static void collect(Component c, List<Component> out) {
+        out.add(c);
+        c.getChildren().forEach(child -> collect(child, out));
+    }
+
+    private static List<String> visibleIds(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof PropositionCard && c.isVisible())
+                .map(c -> ((PropositionCard) c).getView().id())
+                .toList();
+    }
+
+    private static String countText(PropositionsPanel panel) {
+        return allComponents(panel).stream()
+                .filter(c -> c instanceof Span && c.hasClassName("panel-count"))
+                .map(c -> ((Span) c).getText())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void keystrokesAfterTheFirstNeverCallTheEntityResolver() {
+        var panel = newPanel();
+        var mention = new EntityMention("Priya", "Person", "ent-1", MentionRole.SUBJECT, Map.of());
+        pool.set(List.of(prop("a", "Organizes the guild lunch", 1, mention), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        panel.setSearchQuery("s");
+        int afterFirstKeystroke = resolverCalls.get();
+        panel.setSearchQuery("sh");
+        panel.setSearchQuery("sha");
+        panel.setSearchQuery("shar");
+
+        assertEquals(afterFirstKeystroke, resolverCalls.get());
+        assertEquals(List.of("a"), visibleIds(panel), "the resolved entity name must still match");
+        assertEquals("(1 memory)", countText(panel));
+    }
+
+    @Test
+    void trigramCandidatesAreConfirmedAsRealSubstrings() {
+        var panel = newPanel();
+        // "abcd" shares every trigram with "abc bcd" but isn't a substring of it.
+        pool.set(List.of(prop("a", "abc bcd", 1), prop("b", "xx ABCD yy", 2)));
+        panel.refresh();
+
+        panel.setSearchQuery("abcd");
+
+        assertEquals(List.of("b"), visibleIds(panel));
+    }
+
+    @Test
+    void shortQueriesAndBlankQueryBehaveAsBefore() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        panel.setSearchQuery("Te");
+        assertEquals(List.of("a"), visibleIds(panel));
+
+        panel.setSearchQuery("   ");
+        assertEquals(List.of("b", "a"), visibleIds(panel));
+        assertEquals("(2 memories)", countText(panel));
+    }
+
+    @Test
+    void refreshRebuildsTheIndexSoNewTextIsSearchable() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", "Ana likes tea", 1)));
+        panel.refresh();
+        panel.setSearchQuery("matcha");
+        assertTrue(visibleIds(panel).isEmpty());
+
+        pool.set(List.of(prop("a", "Ana likes matcha", 1), prop("b", "Ben likes matcha lattes", 2)));
+        panel.refresh();
+
+        assertEquals(List.of("b", "a"), visibleIds(panel),
+                "a refresh with a query in the field must filter against the new text");
+    }
+
+    @Test
+    void openEditorFindsRenderedCardsById() {
+        var panel = newPanel();
+        pool.set(List.of(prop("a", "Ana likes tea", 1), prop("b", "Ben likes coffee", 2)));
+        panel.refresh();
+
+        assertTrue(panel.openEditor("a"));
+        assertTrue(allComponents(panel).stream().anyMatch(c -> c.hasClassName("proposition-edit-container")));
+        assertFalse(panel.openEditor("missing"));
+    }
+}
@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 
+import static com.embabel.vaadin.component.ComponentTestSupport.frontendResource;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -191,6 +192,23 @@ class SidePanelCardConformanceTest {
         assertTrue(titleAttr.contains(":"), "Absolute time in tooltip should contain time format");
     }
 
+    @Test
+    void testRelativeTimeCarriesIsoTimestampForTheBrowserTicker() {
+        var created = Instant.parse("2026-03-04T05:06:07.123456789Z");
+        var prop = Proposition.create(
+                "t1", CTX, "Timed memory", List.of(), 0.8, 0.0, 0.5, null, List.of(),
+                created, created, PropositionStatus.ACTIVE);
+        var card = new PropositionCard(prop, entityResolver);
+
+        var label = findByClassName(card, "proposition-relative-time").get(0).getElement();
+        assertEquals("2026-03-04T05:06:07.123Z", label.getAttribute("data-created"),
+                "relative-time.js re-labels from this ISO timestamp, truncated to what Date.parse reads");
+        assertNotNull(label.getAttribute("title"), "absolute time stays the tooltip");
+        var module = PropositionCard.class.getAnnotation(com.vaadin.flow.component.dependency.JsModule.class);
+        assertNotNull(module);
+        assertEquals("./relative-time.js", module.value());
+    }
+
     @Test
     void testCardAnatomyOrder() {
         var prop = prop("p1", "Test", PropositionStatus.ACTIVE);
@@ -314,35 +332,38 @@ class SidePanelCardConformanceTest {
     }
 
     @Test
-    void testEachCardCarriesItsOwnStyleElementEvenAfterAnEarlierCardIsRemoved() {
-        // Regression for a bug where a single shared <style> element, attached to whichever
-        // card happened to be created first, went with that card when it was removed (refresh,
-        // undo, filter) — silently unstyling every card created after it. Each card must inject
-        // its own style element, independent of any other card's lifecycle.
+    void testCardStylesShipOncePerPageNotPerCard() {
+        // Card CSS used to ride along as a <style> virtual child of every card, so a 2k-card
+        // list serialized the same rules 2k times. It now lives in a stylesheet module the page
+        // loads once; removing a card can't take the styling for other cards with it either.
         var container = new com.vaadin.flow.component.html.Div();
-
         var firstCard = new PropositionCard(prop("first", "First memory", PropositionStatus.ACTIVE), entityResolver);
         container.add(firstCard);
-
         container.remove(firstCard);
-
         var secondCard = new PropositionCard(prop("second", "Second memory", PropositionStatus.ACTIVE), entityResolver);
         container.add(secondCard);
 
-        // The injected <style> is attached via Element.appendVirtualChild, which does NOT show
-        // up in getElement().getChildren() (that only lists the normal child list) — it lives in
-        // the element's VirtualChildrenList node feature instead. That's the same low-level list
-        // Vaadin itself walks to serialize virtual children to the client, so reading it is the
-        // real assertion, not a proxy for one.
         var virtualChildren = secondCard.getElement().getNode()
                 .getFeatureIfInitialized(com.vaadin.flow.internal.nodefeature.VirtualChildrenList.class);
-        assertTrue(virtualChildren.isPresent(), "Second card must have injected a virtual style child");
-        assertEquals(1, virtualChildren.get().size(), "Second card should carry exactly one injected style element");
+        assertTrue(virtualChildren.isEmpty() || virtualChildren.get().size() == 0,
+                "Card must not carry an injected style element");
 
-        var styleElement = com.vaadin.flow.dom.Element.get(virtualChildren.get().get(0));
-        assertEquals("style", styleElement.getTag());
-        assertTrue(styleElement.getText().contains(".proposition-card-full-width"),
-                "Injected style must contain the card's own CSS");
+        var cssImport = PropositionCard.class.getAnnotation(com.vaadin.flow.component.dependency.CssImport.class);
+        assertNotNull(cssImport, "Card must import its stylesheet module");
+        assertTrue(frontendResource(cssImport.value()).contains(".proposition-card-full-width"),
+                "Module must contain the card's CSS");
+    }
+
+    @Test
+    void testCardPayloadStaysSmall() {
+        // Guards the per-card DOM cost: a plain card is markup and attributes only. Pasting a
+        // stylesheet or script back into every card would blow straight past this budget.
+        var card = new PropositionCard(prop("p1", "Alice prefers window seats on long flights", PropositionStatus.ACTIVE),
+                entityResolver);
+
+        var html = card.getElement().getOuterHTML();
+        assertFalse(html.contains("<style"), "Card markup must not embed a stylesheet");
+        assertTrue(html.length() < 2048, "Card payload should stay under 2 KB, was " + html.length() + " bytes");
     }
 
     @Test
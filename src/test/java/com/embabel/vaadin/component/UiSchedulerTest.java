@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024-2026 Embabel Pty Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.embabel.vaadin.component;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Covers the shared UI scheduler: delayed tasks don't hold a thread, duplicate requests share
+ * the one already waiting, an owner's detach cancels its pending tasks, and the counters follow.
+ */
+class UiSchedulerTest {
+
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final UiScheduler scheduler = new UiScheduler(workers, timer);
+
+    @AfterEach
+    void shutDown() {
+        workers.shutdownNow();
+        timer.shutdownNow();
+        UI.setCurrent(null);
+    }
+
+    @Test
+    void repeatedRequestsShareThePendingTask() throws Exception {
+        var owner = new Div();
+        var runs = new AtomicInteger();
+        var ran = new CountDownLatch(1);
+        Runnable refresh = () -> {
+            runs.incrementAndGet();
+            ran.countDown();
+        };
+
+        var first = scheduler.scheduleCoalesced(owner, "refresh", refresh, 100);
+        var second = scheduler.scheduleCoalesced(owner, "refresh", refresh, 100);
+        var third = scheduler.scheduleCoalesced(owner, "refresh", refresh, 100);
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(1, scheduler.queuedTasks());
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(1, runs.get());
+        assertEquals(0, scheduler.queuedTasks());
+
+        var later = scheduler.scheduleCoalesced(owner, "refresh", refresh, 0);
+        later.get(5, TimeUnit.SECONDS);
+        assertEquals(2, runs.get(), "a request after the run gets a run of its own");
+    }
+
+    @Test
+    void detachingTheOwnerCancelsItsPendingTasks() {
+        var ui = withUi();
+        var owner = new Div();
+        ui.add(owner);
+        var runs = new AtomicInteger();
+
+        var pending = scheduler.schedule(owner, runs::incrementAndGet, 60_000);
+        var unowned = scheduler.schedule(null, runs::incrementAndGet, 60_000);
+        assertEquals(2, scheduler.queuedTasks());
+
+        ui.remove(owner);
+
+        assertTrue(pending.isCancelled());
+        assertTrue(!unowned.isCancelled(), "only the owner's tasks go");
+        assertEquals(1, scheduler.queuedTasks());
+        unowned.cancel(false);
+        assertEquals(0, scheduler.queuedTasks());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void countersFollowARunningTask() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var task = scheduler.submit(null, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.runningTasks());
+        assertEquals(0, scheduler.queuedTasks());
+        release.countDown();
+        task.get(5, TimeUnit.SECONDS);
+        // The counters settle just after the task's own result is published.
+        for (int i = 0; i < 100 && scheduler.completedTasks() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, scheduler.runningTasks());
+        assertEquals(1, scheduler.completedTasks());
+    }
+
+    private static UI withUi() {
+        var ui = new UI();
+        var session = Mockito.mock(VaadinSession.class);
+        Mockito.when(session.hasLock()).thenReturn(true);
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+}